@@ -57,6 +57,7 @@ public class Zebedee {
     public static final String APPLICATION_KEYS = "application-keys";
     public static final String SERVICES = "services";
     public static final String KEYRING = "keyring";
+    public static final String DATA_INDEX = "data-index.tsv";
 
     private final Path publishedCollectionsPath;
     private final Path collectionsPath;
@@ -145,54 +146,34 @@ public class Zebedee {
      * @throws IOException
      */
     public int isBeingEdited(String uri) throws IOException {
-        int result = 0;
-
-        // Is this URI present anywhere else?
-        for (Collection collection : collections.list()) {
-            if (collection.isInCollection(uri)) {
-                result++;
-            }
-        }
-
-        return result;
+        return collections.getOwnershipIndex().findCollectionsContaining(uri).size();
     }
 
     public Optional<Collection> checkForCollectionBlockingChange(Collection workingCollection, String uri) throws IOException {
-        return collections.list()
+        String workingCollectionId = workingCollection.getDescription().getId();
+        return collections.getOwnershipIndex().findCollectionsContaining(uri)
                 .stream()
-                .filter(c -> c.isInCollection(uri) && !workingCollection.getDescription().getId()
-                        .equals(c.getDescription().getId()))
+                .filter(c -> !workingCollectionId.equals(c.getDescription().getId()))
                 .findFirst();
     }
 
     public Optional<Collection> checkForCollectionBlockingChange(String uri) throws IOException {
-        return collections.list()
+        return collections.getOwnershipIndex().findCollectionsContaining(uri)
                 .stream()
-                .filter(c -> c.isInCollection(uri))
                 .findFirst();
     }
 
     public void checkAllCollectionsForDeleteMarker(String uri) throws IOException, DeleteContentRequestDeniedException {
-        Path searchValue = Paths.get(uri);
-
-        for (Collection collection : collections.list()) {
-            if (collection.getDescription().getPendingDeletes()
-                    .stream()
-                    .filter(existingDeleteRoot -> searchValue.startsWith(Paths.get(existingDeleteRoot.getRoot()
-                            .contentPath)))
-                    .findFirst().isPresent()) {
-                throw markedDeleteInAnotherCollectionError(collection, uri);
-            }
+        Optional<Collection> markedBy = collections.getOwnershipIndex().findCollectionWithDeleteMarker(uri);
+        if (markedBy.isPresent()) {
+            throw markedDeleteInAnotherCollectionError(markedBy.get(), uri);
         }
     }
 
     public void isBeingEditedInAnotherCollection(Collection workingCollection, String uri, Session session) throws
             IOException,
             ZebedeeException {
-        Optional<Collection> blockingCollection = collections.list()
-                .stream()
-                .filter(collection -> collection.isInCollection(uri))
-                .findFirst();
+        Optional<Collection> blockingCollection = checkForCollectionBlockingChange(uri);
         if (blockingCollection.isPresent()) {
             String title = new ZebedeeCollectionReader(this, blockingCollection.get(), session)
                     .getContent(uri).getDescription().getTitle();
@@ -85,6 +85,7 @@ import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.warn;
 import static com.github.onsdigital.zebedee.Zebedee.COLLECTIONS;
+import static com.github.onsdigital.zebedee.Zebedee.DATA_INDEX;
 import static com.github.onsdigital.zebedee.Zebedee.KEYRING;
 import static com.github.onsdigital.zebedee.Zebedee.PERMISSIONS;
 import static com.github.onsdigital.zebedee.Zebedee.PUBLISHED;
@@ -170,7 +171,7 @@ public class ZebedeeConfiguration {
         }
 
         // Create the services and objects...
-        this.dataIndex = new DataIndex(new FileSystemContentReader(publishedContentPath));
+        this.dataIndex = new DataIndex(new FileSystemContentReader(publishedContentPath), zebedeePath.resolve(DATA_INDEX));
         this.publishedCollections = new PublishedCollections(publishedCollectionsPath);
         this.encryptionKeyFactory = new EncryptionKeyFactoryImpl();
 
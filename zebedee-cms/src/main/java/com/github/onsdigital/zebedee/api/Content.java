@@ -43,7 +43,7 @@ public class Content {
     @GET
     public void read(HttpServletRequest request, HttpServletResponse response) throws IOException, ZebedeeException {
         try (Resource resource = RequestUtils.getResource(request)) {
-            ReaderResponseResponseUtils.sendResponse(resource, response);
+            ReaderResponseResponseUtils.sendResponse(resource, request, response);
         }
     }
 
@@ -23,7 +23,7 @@ public class File {
     public Object post(@Context HttpServletRequest request, @Context HttpServletResponse response) throws IOException, ZebedeeException {
         try(Resource resource = RequestUtils.getResource(request)) {
             response.setHeader("Content-Disposition", "attachment; filename=\"" + resource.getName() + "\"");
-            ReaderResponseResponseUtils.sendResponse(resource, response);
+            ReaderResponseResponseUtils.sendResponse(resource, request, response);
             return null;
         }
     }
@@ -1,6 +1,7 @@
 package com.github.onsdigital.zebedee.api;
 
 import com.github.davidcarboni.restolino.framework.Api;
+import com.github.onsdigital.zebedee.reader.PublishedContentCache;
 import com.github.onsdigital.zebedee.util.ContentTree;
 import org.eclipse.jetty.http.HttpStatus;
 
@@ -23,6 +24,7 @@ public class OnPublishComplete {
 
         info().log("onPublishComplete post endpoint: clearing browser tree cache");
         ContentTree.dropCache();
+        PublishedContentCache.dropCache();
         response.setStatus(HttpStatus.OK_200);
         return "OnPublishComplete handler finished";
     }
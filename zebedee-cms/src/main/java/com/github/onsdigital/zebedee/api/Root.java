@@ -81,12 +81,19 @@ public class Root {
         System.setProperty(ZEBEDEE_ROOT, root.toString());
 
         try {
-            Collections.CollectionList collections = zebedee.getCollections().list();
+            // the scheduler modifies the collections it publishes, so it must not be given the shared list() instances.
+            Collections.CollectionList collections = zebedee.getCollections().loadAll();
             loadExistingCollectionsIntoScheduler(collections);
         } catch (IOException ex) {
             throw new RuntimeException("failed to load collections list on startup", ex);
         }
 
+        try {
+            zebedee.getCollections().getOwnershipIndex().rebuild();
+        } catch (IOException ex) {
+            throw new RuntimeException("failed to build collection ownership index on startup", ex);
+        }
+
         boolean notificationSuccessful = false;
         try {
             notificationSuccessful = zebedee.getStartUpNotifier().notifyStartUpComplete();
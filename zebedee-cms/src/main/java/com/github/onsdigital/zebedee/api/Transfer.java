@@ -4,6 +4,7 @@ import com.github.davidcarboni.restolino.framework.Api;
 import com.github.onsdigital.zebedee.audit.Audit;
 import com.github.onsdigital.zebedee.json.TransferRequest;
 import com.github.onsdigital.zebedee.model.Collection;
+import com.github.onsdigital.zebedee.model.CollectionOwnershipIndex;
 import com.github.onsdigital.zebedee.model.PathUtils;
 import com.github.onsdigital.zebedee.session.model.Session;
 import org.eclipse.jetty.http.HttpStatus;
@@ -86,6 +87,9 @@ public class Transfer {
         }
 
         PathUtils.moveFilesInDirectory(sourcePath, destinationPath);
+        CollectionOwnershipIndex ownershipIndex = Root.zebedee.getCollections().getOwnershipIndex();
+        ownershipIndex.refresh(source);
+        ownershipIndex.refresh(destination);
 
         Audit.Event.COLLECTION_TRANSFERRED.parameters()
                 .host(request)
@@ -12,6 +12,8 @@ public class CMSFeatureFlags {
 
     public static final String ENABLE_DATASET_IMPORT = "ENABLE_DATASET_IMPORT";
     public static final String ENABLE_VERIFY_PUBLISH_CONTENT = "ENABLE_VERIFY_PUBLISH_CONTENT";
+    public static final String ENABLE_BATCH_VERIFY_PUBLISH_CONTENT = "ENABLE_BATCH_VERIFY_PUBLISH_CONTENT";
+    public static final String ENABLE_PRE_STAGE_PUBLISH_CONTENT = "ENABLE_PRE_STAGE_PUBLISH_CONTENT";
     public static final String ENABLE_IMAGE_PUBLISHING = "ENABLE_IMAGE_PUBLISHING";
     private static final String ENABLE_JWT_SESSIONS = "ENABLE_JWT_SESSIONS";
     private static final String ENABLE_PERMISSIONS_API = "ENABLE_PERMISSIONS_API";
@@ -26,6 +28,8 @@ public class CMSFeatureFlags {
     private static CMSFeatureFlags instance = null;
     private final boolean isDatasetImportEnabled;
     private final boolean isVerifyPublishEnabled;
+    private final boolean isBatchVerifyPublishEnabled;
+    private final boolean isPreStagePublishEnabled;
     private final boolean isImagePublishingEnabled;
     private final boolean isJwtSessionsEnabled;
     private final boolean isPermissionsAPIEnabled;
@@ -39,6 +43,8 @@ public class CMSFeatureFlags {
     private CMSFeatureFlags() {
         this.isDatasetImportEnabled = Boolean.valueOf(getConfigValue(ENABLE_DATASET_IMPORT));
         this.isVerifyPublishEnabled = Boolean.valueOf(getConfigValue(ENABLE_VERIFY_PUBLISH_CONTENT));
+        this.isBatchVerifyPublishEnabled = Boolean.valueOf(getConfigValue(ENABLE_BATCH_VERIFY_PUBLISH_CONTENT));
+        this.isPreStagePublishEnabled = Boolean.valueOf(getConfigValue(ENABLE_PRE_STAGE_PUBLISH_CONTENT));
         this.isImagePublishingEnabled = Boolean.valueOf(getConfigValue(ENABLE_IMAGE_PUBLISHING));
         this.isJwtSessionsEnabled = Boolean.valueOf(getConfigValue(ENABLE_JWT_SESSIONS));
         this.isPermissionsAPIEnabled = Boolean.valueOf(getConfigValue(ENABLE_PERMISSIONS_API));
@@ -49,6 +55,8 @@ public class CMSFeatureFlags {
 
         info().data(ENABLE_DATASET_IMPORT, isDatasetImportEnabled)
                 .data(ENABLE_VERIFY_PUBLISH_CONTENT, isVerifyPublishEnabled)
+                .data(ENABLE_BATCH_VERIFY_PUBLISH_CONTENT, isBatchVerifyPublishEnabled)
+                .data(ENABLE_PRE_STAGE_PUBLISH_CONTENT, isPreStagePublishEnabled)
                 .data(ENABLE_IMAGE_PUBLISHING, isImagePublishingEnabled)
                 .data(ENABLE_JWT_SESSIONS, isJwtSessionsEnabled)
                 .data(ENABLE_PERMISSIONS_API, isPermissionsAPIEnabled)
@@ -80,6 +88,22 @@ public class CMSFeatureFlags {
         return this.isVerifyPublishEnabled;
     }
 
+    /**
+     * @return true if published content should be verified with one batched request per publishing transaction
+     * instead of a request per file, false (default) otherwise.
+     */
+    public boolean isBatchVerifyPublishEnabled() {
+        return this.isBatchVerifyPublishEnabled;
+    }
+
+    /**
+     * @return true if scheduled collection content should be sent to the publishing transactions during pre-publish,
+     * leaving only the changes since and the commit to do at the publish time, false (default) otherwise.
+     */
+    public boolean isPreStagePublishEnabled() {
+        return this.isPreStagePublishEnabled;
+    }
+
     public boolean isImagePublishingEnabled() {
         return isImagePublishingEnabled;
     }
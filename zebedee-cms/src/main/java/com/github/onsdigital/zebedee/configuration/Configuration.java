@@ -48,6 +48,7 @@ public class Configuration {
     private static final String DEFAULT_PERMISSIONS_API_URL = "http://localhost:25400";
     private static final int VERIFY_RETRY_DELAY = 5000; // milliseconds
     private static final int VERIFY_RETRY_COUNT = 10;
+    private static final int DEFAULT_VERIFY_BATCH_SIZE = 1000;
 
     // Default retry configs to handle fetching jwt keys from identity api failure
     private static final int DEFAULT_INITIAL_RETRY_INTERVAL = 500;
@@ -60,6 +61,28 @@ public class Configuration {
     // how many additional seconds after the publish
     private static final int DEFAULT_SECONDS_TO_CACHE_AFTER_SCHEDULED_PUBLISH = 30;
 
+    // publishing executor sizes, queue lengths and the number of files sent to a train host at once
+    private static final int DEFAULT_PUBLISHING_THREADS = 20;
+    private static final int DEFAULT_PUBLISHING_QUEUE_SIZE = 1000;
+    private static final int DEFAULT_PUBLISHING_API_THREADS = 5;
+    private static final int DEFAULT_PUBLISHING_API_QUEUE_SIZE = 100;
+    private static final int DEFAULT_PUBLISHING_FILES_PER_TRAIN_HOST = 20;
+    private static final int DEFAULT_PUBLISHING_STATS_INTERVAL_SECONDS = 10;
+    private static final int DEFAULT_PUBLISHING_MAX_CONNECTIONS_PER_HOST = 50;
+
+    // number of files copied into master and the archive at the same time after a publish
+    private static final int DEFAULT_POST_PUBLISH_THREADS = 10;
+
+    // number of collections that may be approved at the same time, one unless parallel approval is opted in to
+    private static final int DEFAULT_APPROVAL_THREADS = 1;
+
+    // maximum number of verified user access tokens held in memory
+    private static final int DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 10000;
+
+    // number of cache time updates sent to the legacy cache api at the same time, and attempts made to send each one
+    private static final int DEFAULT_LEGACY_CACHE_API_CONCURRENCY = 10;
+    private static final int DEFAULT_LEGACY_CACHE_API_MAX_ATTEMPTS = 3;
+
     private static final String RESUMABLE_TYPE = "text/plain";
     private static final String IS_PUBLISHABLE = "true";
     private static final String LICENCE = "Open Government Licence v3.0";
@@ -226,6 +249,78 @@ public class Configuration {
         return StringUtils.defaultIfBlank(getValue("brian_url"), DEFAULT_BRIAN_URL);
     }
 
+    public static int getPublishingThreads() {
+        return getIntWithDefault("PUBLISHING_THREADS", DEFAULT_PUBLISHING_THREADS);
+    }
+
+    public static int getPublishingQueueSize() {
+        return getIntWithDefault("PUBLISHING_QUEUE_SIZE", DEFAULT_PUBLISHING_QUEUE_SIZE);
+    }
+
+    public static int getPublishingApiThreads() {
+        return getIntWithDefault("PUBLISHING_API_THREADS", DEFAULT_PUBLISHING_API_THREADS);
+    }
+
+    public static int getPublishingApiQueueSize() {
+        return getIntWithDefault("PUBLISHING_API_QUEUE_SIZE", DEFAULT_PUBLISHING_API_QUEUE_SIZE);
+    }
+
+    /**
+     * the maximum number of files sent to a single train host at the same time.
+     */
+    public static int getPublishingFilesPerTrainHost() {
+        return getIntWithDefault("PUBLISHING_FILES_PER_TRAIN_HOST", DEFAULT_PUBLISHING_FILES_PER_TRAIN_HOST);
+    }
+
+    /**
+     * the maximum number of pooled connections kept open to a single train host.
+     */
+    public static int getPublishingMaxConnectionsPerHost() {
+        return getIntWithDefault("PUBLISHING_MAX_CONNECTIONS_PER_HOST", DEFAULT_PUBLISHING_MAX_CONNECTIONS_PER_HOST);
+    }
+
+    /**
+     * how often the publishing executor stats are logged while publishing.
+     */
+    public static int getPublishingStatsIntervalSeconds() {
+        return getIntWithDefault("PUBLISHING_STATS_INTERVAL_SECONDS", DEFAULT_PUBLISHING_STATS_INTERVAL_SECONDS);
+    }
+
+    /**
+     * the number of published files copied into master and the archive at the same time.
+     */
+    public static int getPostPublishThreads() {
+        return getIntWithDefault("POST_PUBLISH_THREADS", DEFAULT_POST_PUBLISH_THREADS);
+    }
+
+    /**
+     * the number of collections that may be approved at the same time.
+     */
+    public static int getApprovalThreads() {
+        return getIntWithDefault("APPROVAL_THREADS", DEFAULT_APPROVAL_THREADS);
+    }
+
+    /**
+     * the maximum number of verified user access tokens cached to avoid verifying their signature on every request.
+     */
+    public static int getVerifiedTokenCacheSize() {
+        return getIntWithDefault("VERIFIED_TOKEN_CACHE_SIZE", DEFAULT_VERIFIED_TOKEN_CACHE_SIZE);
+    }
+
+    /**
+     * the number of cache time updates sent to the Legacy Cache API at the same time.
+     */
+    public static int getLegacyCacheApiConcurrency() {
+        return getIntWithDefault("LEGACY_CACHE_API_CONCURRENCY", DEFAULT_LEGACY_CACHE_API_CONCURRENCY);
+    }
+
+    /**
+     * the number of attempts made to send a cache time update to the Legacy Cache API before it is reported as failed.
+     */
+    public static int getLegacyCacheApiMaxAttempts() {
+        return getIntWithDefault("LEGACY_CACHE_API_MAX_ATTEMPTS", DEFAULT_LEGACY_CACHE_API_MAX_ATTEMPTS);
+    }
+
     public static int getVerifyRetryDelay() {
         return VERIFY_RETRY_DELAY;
     }
@@ -234,6 +329,13 @@ public class Configuration {
         return VERIFY_RETRY_COUNT;
     }
 
+    /**
+     * the maximum number of uris verified by a single batched content hash request.
+     */
+    public static int getVerifyBatchSize() {
+        return getIntWithDefault("VERIFY_BATCH_SIZE", DEFAULT_VERIFY_BATCH_SIZE);
+    }
+
     //Enable upload-new endpoint
     public static boolean isUploadNewEndpointEnabled() {
         return BooleanUtils.toBoolean(StringUtils.defaultIfBlank(getValue("ENABLE_UPLOAD_NEW_ENDPOINT"), "false"));
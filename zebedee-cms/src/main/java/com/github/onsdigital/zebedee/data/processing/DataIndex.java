@@ -1,30 +1,65 @@
 package com.github.onsdigital.zebedee.data.processing;
 
-import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
 import com.github.onsdigital.zebedee.reader.ContentReader;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
 
 /**
- * A hashmap storing an entry for each timeseries - mapping the CDID to the url of the timeseries.
+ * A concurrent map storing an entry for each timeseries - mapping the CDID to the url of the timeseries.
+ * <p>
+ * If an index file is given, the index is loaded from it at start up rather than built by walking the published
+ * content, and every change made as collections are published is appended to it, a removed entry as a cdid with an
+ * empty uri. The file is rewritten in full after each rebuild and whenever more entries have been appended to it than
+ * the index holds, so it does not grow without bound.
+ * <p>
+ * The file may be out of date, for instance if content was published while this instance was not running, so once it
+ * is loaded the index is also rebuilt from the published content in the background and any entries that differ are
+ * replaced. Entries changed by a publish while a rebuild is running are left as the publish set them.
  */
 public class DataIndex {
     private static final ExecutorService pool = Executors.newSingleThreadExecutor();
-    Map<String, String> index = new HashMap<>();
+    private static final String DATA_JSON = "data.json";
+    private static final char SEPARATOR = '\t';
+    private static final int MIN_APPENDS_BEFORE_COMPACTION = 1000;
+
+    final Map<String, String> index = new ConcurrentHashMap<>();
     ContentReader contentReader = null;
-    boolean indexBuilt = false;
+    private final Path indexFile;
+    private final Object fileLock = new Object();
+    private final Object updateLock = new Object();
+    private int appendedSinceSave = 0;
+    private volatile CompletableFuture<Void> built = new CompletableFuture<>();
+    private volatile CompletableFuture<Void> rebuilt = new CompletableFuture<>();
+    private volatile Set<String> changedDuringRebuild = null;
 
     /**
      * Set up the data index based on a content reader
@@ -32,11 +67,26 @@ public class DataIndex {
      * @param contentReader any content reader
      */
     public DataIndex(ContentReader contentReader) {
+        this(contentReader, null);
+    }
+
+    /**
+     * Set up the data index based on a content reader, loading it from the index file if there is one and building
+     * it otherwise.
+     *
+     * @param contentReader a reader of the published content.
+     * @param indexFile     the file the index is persisted to, or null to build the index in memory only.
+     */
+    public DataIndex(ContentReader contentReader, Path indexFile) {
         this.contentReader = contentReader;
-        reindex();
+        this.indexFile = indexFile;
+        if (!load()) {
+            reindex();
+        }
     }
 
     public DataIndex() {
+        this.indexFile = null;
     }
 
     public String getUriForCdid(String cdid) {
@@ -44,7 +94,35 @@ public class DataIndex {
     }
 
     public void setUriForCdid(String cdid, String uri) {
-        index.put(cdid, uri);
+        synchronized (updateLock) {
+            markChanged(cdid);
+            if (uri.equals(index.put(cdid, uri))) {
+                return;
+            }
+        }
+        append(cdid, uri);
+    }
+
+    /**
+     * Remove every entry for a timeseries at or under the given uri.
+     *
+     * @param uri the uri of deleted content.
+     */
+    public void removeUrisUnder(String uri) {
+        String prefix = uri.endsWith("/") ? uri : uri + "/";
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            String entryUri = entry.getValue();
+            if (entryUri.equals(uri) || entryUri.startsWith(prefix)) {
+                boolean removed;
+                synchronized (updateLock) {
+                    markChanged(entry.getKey());
+                    removed = index.remove(entry.getKey(), entryUri);
+                }
+                if (removed) {
+                    append(entry.getKey(), "");
+                }
+            }
+        }
     }
 
     public Set<String> cdids() {
@@ -55,37 +133,110 @@ public class DataIndex {
      * Build the data index
      */
     public void reindex() {
-        indexBuilt = false;
-        Runnable build = () -> {
-            info().log("Start building data index.");
-            long startTime = System.nanoTime();
+        CompletableFuture<Void> building = new CompletableFuture<>();
+        built = building;
+        rebuildInBackground(building);
+    }
+
+    private void rebuildInBackground(CompletableFuture<Void> building) {
+        rebuilt = building;
+        pool.submit(() -> {
             try {
-                Files.walkFileTree(contentReader.getRootFolder(), new IndexBuilder(index, contentReader));
-            } catch (IOException e) {
-                error().logException(e, "Failed to build data index");
+                rebuild();
+            } finally {
+                building.complete(null);
             }
+        });
+    }
+
+    /**
+     * Rebuild the index from the published content and replace the entries that differ, other than those changed by
+     * a publish while the rebuild was running.
+     */
+    private void rebuild() {
+        info().log("Start building data index.");
+        long startTime = System.nanoTime();
+        Set<String> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        try {
+            IndexBuilder builder = new IndexBuilder(contentReader.getRootFolder());
+            Files.walkFileTree(contentReader.getRootFolder(), builder);
+
+            // only the cdid of each file is read, so the files are read in parallel. The entries are written
+            // to the index file once the whole tree has been indexed rather than appended one at a time.
+            Map<String, String> entries = new ConcurrentHashMap<>();
+            builder.files.parallelStream().forEach(file -> indexTimeseries(file, entries::put));
+            int replaced = replaceEntries(entries, changed);
+            save();
+
             long duration = System.nanoTime() - startTime;
-            info().data("entries", index.size()).data("duration_ns", duration).log("Finished building data index.");
-            indexBuilt = true;
-        };
-        pool.submit(build);
+            info().data("entries", index.size())
+                    .data("replaced", replaced)
+                    .data("duration_ns", duration)
+                    .log("Finished building data index.");
+        } catch (IOException | RuntimeException e) {
+            error().logException(e, "Failed to build data index");
+        } finally {
+            changedDuringRebuild = null;
+        }
     }
 
     /**
-     * Wait until complete with return value
+     * @return the number of entries added, changed or removed.
+     */
+    private int replaceEntries(Map<String, String> entries, Set<String> changed) {
+        int replaced = 0;
+        synchronized (updateLock) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                if (!changed.contains(entry.getKey())
+                        && !entry.getValue().equals(index.put(entry.getKey(), entry.getValue()))) {
+                    replaced++;
+                }
+            }
+            Iterator<String> cdids = index.keySet().iterator();
+            while (cdids.hasNext()) {
+                String cdid = cdids.next();
+                if (!entries.containsKey(cdid) && !changed.contains(cdid)) {
+                    cdids.remove();
+                    replaced++;
+                }
+            }
+        }
+        return replaced;
+    }
+
+    private void markChanged(String cdid) {
+        Set<String> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(cdid);
+        }
+    }
+
+    /**
+     * Update the index with the timeseries in a published collection.
      *
-     * @param maxSeconds max wait time
-     * @return build is completed
-     * @throws InterruptedException
+     * @param uris the uris of the files published.
      */
-    private boolean waitWhileIncomplete(int maxSeconds) throws InterruptedException {
-        int tries = 0;
-        while (!indexBuilt) {
-            Thread.sleep(100);
-            if (tries++ > 10 * maxSeconds)
-                return false;
+    public void onPublish(List<String> uris) {
+        onPublish(uris, Collections.emptyList());
+    }
+
+    /**
+     * Update the index with the timeseries in a published collection, removing the entries for any deleted content
+     * before adding those published, in the same order the publish applies them.
+     *
+     * @param uris        the uris of the files published.
+     * @param deletedUris the uris of the content deleted by the publish.
+     */
+    public void onPublish(List<String> uris, Collection<String> deletedUris) {
+        for (String uri : deletedUris) {
+            removeUrisUnder(StringUtils.removeEnd(uri, "/" + DATA_JSON));
+        }
+        for (String uri : uris) {
+            if (isTimeseriesDataUri(uri)) {
+                indexTimeseries(contentReader.getRootFolder().resolve(uri.replaceFirst("^/", "")), this::setUriForCdid);
+            }
         }
-        return true;
     }
 
     /**
@@ -96,59 +247,215 @@ public class DataIndex {
      */
     public void pauseUntilComplete(int maxSeconds) throws BadRequestException {
         try {
-            if (!waitWhileIncomplete(maxSeconds)) {
-                throw new BadRequestException("DataIndex build in progress");
-            }
+            built.get(maxSeconds, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("DataIndex build in progress");
+        } catch (ExecutionException | TimeoutException e) {
             throw new BadRequestException("DataIndex build in progress");
         }
     }
 
     public boolean isIndexBuilt() {
-        return indexBuilt;
+        return built.isDone();
     }
 
     /**
-     * Inner class for walking the file tree
+     * @return a future completed when the index has been loaded or built.
      */
-    private static class IndexBuilder extends SimpleFileVisitor<Path> {
+    public CompletableFuture<Void> whenBuilt() {
+        return built;
+    }
 
-        Map<String, String> index = new HashMap<>();
-        ContentReader contentReader = null;
+    /**
+     * @return a future completed when the latest rebuild from the published content, including the one run after
+     * the index is loaded from its file, has finished.
+     */
+    CompletableFuture<Void> whenRebuilt() {
+        return rebuilt;
+    }
 
-        public IndexBuilder(Map<String, String> index, ContentReader contentReader) {
-            this.index = index;
-            this.contentReader = contentReader;
+    /**
+     * @param put receives the cdid and landing page uri of the timeseries.
+     */
+    private void indexTimeseries(Path file, BiConsumer<String, String> put) {
+        String uri = "/" + contentReader.getRootFolder().relativize(file).toString();
+        uri = uri.substring(0, uri.length() - ("/" + DATA_JSON).length());
+        try {
+            String cdid = readCdid(file);
+            if (cdid == null) {
+                return;
+            }
+            put.accept(cdid.toLowerCase(), getLandingPageUri(uri));
+        } catch (Exception e) {
+            error().data("uri", uri).logException(e, "Error indexing uri");
         }
+    }
 
-        @Override
-        public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
-            // Get the uri
-            String uri = "/" + this.contentReader.getRootFolder().relativize(file).toString();
+    /**
+     * Get the parent path so that we are referencing the timeseries landing page instead of dataset specific
+     * timeseries.
+     */
+    static String getLandingPageUri(String uri) {
+        Path path = Paths.get(uri);
+        if (!path.getParent().getFileName().toString().equals("timeseries")) {
+            return path.getParent().toString();
+        }
+        // if the parent directory is the timeseries folder just use the uri.
+        return uri;
+    }
 
-            // Check json files in timeseries directories (excluding versions)
-            if (uri.endsWith("data.json") && uri.contains("/timeseries/") && !uri.contains("/" + VersionedContentItem.getVersionDirectoryName() + "/")) {
-                uri = uri.substring(0, uri.length() - "/data.json".length());
+    /**
+     * Check json files in timeseries directories (excluding versions)
+     */
+    static boolean isTimeseriesDataUri(String uri) {
+        return uri.endsWith("/" + DATA_JSON) && uri.contains("/timeseries/")
+                && !uri.contains("/" + VersionedContentItem.getVersionDirectoryName() + "/");
+    }
 
-                TimeSeries timeSeries;
-                try {
-                    timeSeries = (TimeSeries) this.contentReader.getContent(uri);
-                    if (timeSeries.getCdid() != null) {
+    /**
+     * Read the cdid from the description of a timeseries page, without reading the rest of the page.
+     *
+     * @return the cdid, or null if the page is not a timeseries or has no cdid.
+     */
+    static String readCdid(Path file) throws IOException {
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            String type = null;
+            String cdid = null;
+            reader.beginObject();
+            while (reader.hasNext() && (type == null || cdid == null)) {
+                String name = reader.nextName();
+                if ("type".equals(name) && reader.peek() == JsonToken.STRING) {
+                    type = reader.nextString();
+                } else if ("description".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    cdid = readDescriptionCdid(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            return "timeseries".equals(type) ? cdid : null;
+        }
+    }
 
-                        // get the parent path so that we are referencing the timeseries landing page instead of dataset specific timeseries.
-                        String timeseriesLandingPageUri = uri; //if the parent directory is the timeseries folder just use the uri.
-                        Path path = Paths.get(uri);
+    private static String readDescriptionCdid(JsonReader reader) throws IOException {
+        String cdid = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("cdid".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                cdid = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return cdid;
+    }
 
-                        if (!path.getParent().getFileName().toString().equals("timeseries")) {
-                            timeseriesLandingPageUri = path.getParent().toString(); // else use the parent CDID based directory.
-                        }
+    /**
+     * Load the index from the index file, the last entry for a cdid taking precedence.
+     *
+     * @return true if the index was loaded.
+     */
+    private boolean load() {
+        if (indexFile == null || !Files.exists(indexFile)) {
+            return false;
+        }
 
-                        this.index.put(timeSeries.getCdid().toLowerCase(), timeseriesLandingPageUri);
+        long startTime = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator > 0) {
+                    String uri = line.substring(separator + 1);
+                    if (uri.isEmpty()) {
+                        index.remove(line.substring(0, separator));
+                    } else {
+                        index.put(line.substring(0, separator), uri);
                     }
-                } catch (Exception e) {
-                    error().data("uri", uri).logException(e, "Error indexing uri");
                 }
+            }
+        } catch (IOException e) {
+            error().data("path", indexFile.toString()).logException(e, "Failed to load data index, rebuilding");
+            index.clear();
+            return false;
+        }
 
+        long duration = System.nanoTime() - startTime;
+        info().data("entries", index.size()).data("duration_ns", duration).log("Loaded data index.");
+        built.complete(null);
+
+        // correct any entries that are out of date, which also compacts the entries appended since the file was
+        // last written.
+        rebuildInBackground(new CompletableFuture<>());
+        return true;
+    }
+
+    private void append(String cdid, String uri) {
+        if (indexFile == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writeEntry(writer, cdid, uri);
+            } catch (IOException e) {
+                error().data("cdid", cdid).data("uri", uri).logException(e, "Failed to write data index entry");
+            }
+            if (++appendedSinceSave > Math.max(index.size(), MIN_APPENDS_BEFORE_COMPACTION)) {
+                appendedSinceSave = 0;
+                pool.submit(this::compact);
+            }
+        }
+    }
+
+    private void compact() {
+        try {
+            save();
+        } catch (IOException e) {
+            error().data("path", indexFile.toString()).logException(e, "Failed to compact data index");
+        }
+    }
+
+    private void save() throws IOException {
+        if (indexFile == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : index.entrySet()) {
+                    writeEntry(writer, entry.getKey(), entry.getValue());
+                }
+            }
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appendedSinceSave = 0;
+        }
+    }
+
+    private static void writeEntry(Writer writer, String cdid, String uri) throws IOException {
+        writer.write(cdid);
+        writer.write(SEPARATOR);
+        writer.write(uri);
+        writer.write('\n');
+    }
+
+    /**
+     * Inner class for walking the file tree, collecting the timeseries files to index.
+     */
+    private static class IndexBuilder extends SimpleFileVisitor<Path> {
+
+        private final Path root;
+        private final List<Path> files = new ArrayList<>();
+
+        public IndexBuilder(Path root) {
+            this.root = root;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+            if (isTimeseriesDataUri("/" + root.relativize(file).toString())) {
+                files.add(file);
             }
             return FileVisitResult.CONTINUE;
         }
@@ -7,9 +7,12 @@ import com.github.onsdigital.zebedee.keyring.KeyringException;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.crypto.SecretKey;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
 
 /**
  * In memory {@link CollectionKeyCache} implementation. Keyring uses a {@link CollectionKeyStore} to persist entries to storage
@@ -19,7 +22,9 @@ import java.util.Set;
  * result in a collection that can no longer be decrypted. Otherwise the key values are the same and the entry
  * already exists so no action is taken.
  * <p>
- * This implementation uses a {@link HashMap} as a cache. This approach means all collection keys will be held in
+ * This implementation uses a {@link ConcurrentHashMap} as a cache. Every encrypted read and write of collection
+ * content fetches its key from the cache so {@link #get(String)} does not take a lock when the key is cached; only
+ * cache misses and modifications are serialised. This approach means all collection keys will be held in
  * memory at once. At the time of writing this Class we don't feel this memory footprint will be problematic:
  * <ul>
  *     <li>There are usually only a small number of collections in existence at any given time.</li>
@@ -42,6 +47,10 @@ public class CollectionKeyCacheImpl implements CollectionKeyCache {
     private CollectionKeyStore keyStore;
     private Map<String, SecretKey> cache;
 
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
     private static CollectionKeyCache INSTANCE = null;
 
     /**
@@ -64,10 +73,14 @@ public class CollectionKeyCacheImpl implements CollectionKeyCache {
         }
 
         this.keyStore = keyStore;
-        this.cache = new HashMap<>();
+        this.cache = new ConcurrentHashMap<>();
         this.load();
     }
 
+    /**
+     * Create a new instance using the given map as the cache. The map must be safe for concurrent access as reads
+     * from it are not synchronized.
+     */
     CollectionKeyCacheImpl(final CollectionKeyStore keyStore, final Map<String, SecretKey> cache) {
         this.keyStore = keyStore;
         this.cache = cache;
@@ -83,15 +96,23 @@ public class CollectionKeyCacheImpl implements CollectionKeyCache {
      */
     @Override
     public synchronized void load() throws KeyringException {
+        long start = System.currentTimeMillis();
         Map<String, SecretKey> keyMapping = keyStore.readAll();
         if (keyMapping == null) {
             throw new KeyringException(LOAD_KEYS_NULL_ERR);
         }
 
         if (!keyMapping.isEmpty()) {
-            cache.clear();
+            // Replace the entries in place rather than clearing first so concurrent readers never miss a key
+            // that is still in the store.
+            cache.keySet().retainAll(keyMapping.keySet());
             cache.putAll(keyMapping);
         }
+
+        info().data("keys", cache.size())
+                .data("timeTaken", System.currentTimeMillis() - start)
+                .log("collection key cache loaded");
+        logStats();
     }
 
     @Override
@@ -170,20 +191,37 @@ public class CollectionKeyCacheImpl implements CollectionKeyCache {
     }
 
     @Override
-    public synchronized SecretKey get(String collectionID) throws KeyringException {
+    public SecretKey get(String collectionID) throws KeyringException {
         if (StringUtils.isEmpty(collectionID)) {
             throw new KeyringException(INVALID_COLLECTION_ID_ERR);
         }
 
-        if (cache.containsKey(collectionID)) {
-            return cache.get(collectionID);
+        long start = System.nanoTime();
+        try {
+            SecretKey key = cache.get(collectionID);
+            if (key != null) {
+                hits.increment();
+                return key;
+            }
+
+            misses.increment();
+            return getFromStore(collectionID);
+        } finally {
+            lookupNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private synchronized SecretKey getFromStore(String collectionID) throws KeyringException {
+        SecretKey key = cache.get(collectionID);
+        if (key != null) {
+            return key;
         }
 
         if (!keyStore.exists(collectionID)) {
             throw new KeyNotFoundException(KEY_NOT_FOUND_ERR, collectionID);
         }
 
-        SecretKey key = keyStore.read(collectionID);
+        key = keyStore.read(collectionID);
         cache.put(collectionID, key);
 
         return key;
@@ -201,6 +239,7 @@ public class CollectionKeyCacheImpl implements CollectionKeyCache {
 
         keyStore.delete(collectionID);
         cache.remove(collectionID);
+        logStats();
     }
 
     @Override
@@ -211,6 +250,48 @@ public class CollectionKeyCacheImpl implements CollectionKeyCache {
         return cache.keySet();
     }
 
+    /**
+     * @return the number of keys held in the cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Log the number of keys held and the hits, misses and mean lookup time of {@link #get(String)} since startup.
+     * Logged when the cache is loaded and whenever a key is removed, which happens once per collection as it is
+     * published or deleted.
+     */
+    public void logStats() {
+        info().data("keys", size())
+                .data("hits", getHitCount())
+                .data("misses", getMissCount())
+                .data("avgLookupNanos", getAverageLookupNanos())
+                .log("collection key cache stats");
+    }
+
+    /**
+     * @return the number of {@link #get(String)} calls served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of {@link #get(String)} calls that had to read the key from the store.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the mean time taken by {@link #get(String)} in nanoseconds, including reads from the store.
+     */
+    public long getAverageLookupNanos() {
+        long lookups = hits.sum() + misses.sum();
+        return lookups == 0 ? 0 : lookupNanos.sum() / lookups;
+    }
+
     /**
      * Construct and initialise a new singleton instance of the keyring.
      *
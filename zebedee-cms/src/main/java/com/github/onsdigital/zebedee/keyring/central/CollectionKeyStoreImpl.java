@@ -17,7 +17,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -84,16 +83,31 @@ public class CollectionKeyStoreImpl implements CollectionKeyStore {
         this.masterIv = masterIv;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Key files are read and decrypted in parallel, each with its own {@link Cipher}, as reading the keys one by one
+     * makes start up time grow with the number of collections.
+     */
     @Override
     public Map<String, SecretKey> readAll() throws KeyringException {
-        Map<String, SecretKey> keyMap = new HashMap<>();
-
-        for (Path keyPath : getKeyFilePaths()) {
-            String collectionID = getCollectionIDFromFilePath(keyPath);
-            keyMap.put(collectionID, readKeyFromFile(collectionID));
+        try {
+            return getKeyFilePaths()
+                    .parallelStream()
+                    .map(keyPath -> getCollectionIDFromFilePath(keyPath))
+                    .collect(Collectors.toConcurrentMap(collectionID -> collectionID,
+                            collectionID -> readKeyFromFileUnchecked(collectionID)));
+        } catch (UncheckedKeyringException ex) {
+            throw ex.getCause();
         }
+    }
 
-        return keyMap;
+    private SecretKey readKeyFromFileUnchecked(final String collectionID) {
+        try {
+            return readKeyFromFile(collectionID);
+        } catch (KeyringException ex) {
+            throw new UncheckedKeyringException(ex);
+        }
     }
 
     private List<Path> getKeyFilePaths() throws KeyringException {
@@ -248,4 +262,19 @@ public class CollectionKeyStoreImpl implements CollectionKeyStore {
         Arrays.fill(keyBytes, (byte) 0);
     }
 
+    /**
+     * Carries a {@link KeyringException} out of a parallel stream.
+     */
+    private static class UncheckedKeyringException extends RuntimeException {
+
+        UncheckedKeyringException(KeyringException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized KeyringException getCause() {
+            return (KeyringException) super.getCause();
+        }
+    }
+
 }
@@ -73,6 +73,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.github.onsdigital.zebedee.configuration.CMSFeatureFlags.cmsFeatureFlags;
@@ -85,6 +86,7 @@ public class Collection {
     public static final String REVIEWED = "reviewed";
     public static final String COMPLETE = "complete";
     public static final String IN_PROGRESS = "inprogress";
+    public static final String SCRATCH = ".scratch";
     public static final String DATA_JSON = "data.json";
 
     private static final String BLOCKING_PATH = "blockingPath";
@@ -211,6 +213,7 @@ public class Collection {
         }
 
         Collection collection = new Collection(rootCollectionsPath.resolve(filename), zebedee);
+        invalidateCollectionList(zebedee, collection.getPath());
 
         if (collectionDescription.getTeams() != null) {
             setViewerTeams(collectionDescription, zebedee, session);
@@ -307,7 +310,11 @@ public class Collection {
         renameCollectionDir(currentCollectionPath, newCollectionPath, logData);
 
         info().data("details", logData).log("renamed collection completed successfully");
-        return new Collection(newCollectionPath, zebedee);
+        invalidateCollectionList(zebedee, currentCollectionPath);
+        Collection renamed = new Collection(newCollectionPath, zebedee);
+        invalidateCollectionList(zebedee, newCollectionPath);
+        renamed.updateOwnershipIndex(index -> index.refresh(renamed));
+        return renamed;
     }
 
     /**
@@ -546,6 +553,9 @@ public class Collection {
 
         // remove the lock for the collection
         collectionLocks.remove(path);
+
+        invalidateCollectionList(zebedee, path);
+        updateOwnershipIndex(index -> index.remove(this));
     }
 
     /**
@@ -601,6 +611,8 @@ public class Collection {
             }
             Files.move(tmp, this.collectionJsonPath,
                     StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            invalidateCollectionList(zebedee, this.path);
+            updateOwnershipIndex(index -> index.refreshDeleteMarkers(this));
             return true;
         } finally {
             collectionLocks.get(this.path).writeLock().unlock();
@@ -702,6 +714,7 @@ public class Collection {
             PathUtils.create(path);
 
             addEvent(uri, new Event(new Date(), EventType.CREATED, session.getEmail()));
+            indexContent(uri);
 
             result = true;
         }
@@ -771,6 +784,7 @@ public class Collection {
             }
 
             addEvent(uri, new Event(new Date(), EventType.EDITED, session.getEmail()));
+            indexContent(uri);
             result = true;
         }
 
@@ -1022,14 +1036,19 @@ public class Collection {
      * @return True if the file system has been amended
      */
     public boolean deleteFile(String uri) throws IOException {
+        boolean deleted = false;
         if (isInProgress(uri)) {
-            return inProgress.delete(uri);
+            deleted = inProgress.delete(uri);
         } else if (isComplete(uri)) {
-            return complete.delete(uri);
+            deleted = complete.delete(uri);
         } else if (isReviewed(uri)) {
-            return reviewed.delete(uri);
+            deleted = reviewed.delete(uri);
+        }
+
+        if (deleted) {
+            updateOwnershipIndex(index -> index.reconcile(this, uri));
         }
-        return false;
+        return deleted;
     }
 
     /**
@@ -1058,6 +1077,7 @@ public class Collection {
 
         if (hasDeleted) {
             addEvent(uri, new Event(new Date(), EventType.DELETED, email));
+            updateOwnershipIndex(index -> index.reconcile(this, uri));
         }
         save();
 
@@ -1091,6 +1111,7 @@ public class Collection {
 
         if (hasDeleted) {
             addEvent(visualisationZipUri, new Event(new Date(), EventType.DELETED, session.getEmail()));
+            updateOwnershipIndex(index -> index.reconcile(this, visualisationZipUri));
         }
         save();
         return hasDeleted;
@@ -1279,6 +1300,7 @@ public class Collection {
 
         // Fix up links within the content
         if (hasMoved) {
+            updateOwnershipIndex(index -> index.refresh(this));
             replaceLinksWithinCollection(session, fromUri, toUri);
             addEvent(fromUri, new Event(new Date(), EventType.MOVED, session.getEmail()));
         }
@@ -1374,7 +1396,13 @@ public class Collection {
             hasRenamed = renameContent(reviewed, fromUri, toUri);
         }
 
-        if (hasRenamed) addEvent(fromUri, new Event(new Date(), EventType.RENAMED, email));
+        if (hasRenamed) {
+            addEvent(fromUri, new Event(new Date(), EventType.RENAMED, email));
+            updateOwnershipIndex(index -> {
+                index.reconcile(this, fromUri);
+                index.add(this, toUri);
+            });
+        }
 
         return hasRenamed;
     }
@@ -1488,6 +1516,30 @@ public class Collection {
         return conflictLogMap;
     }
 
+    /**
+     * Record in the collection ownership index that the given URI now belongs to this collection.
+     *
+     * @param uri the URI added to the collection.
+     */
+    void indexContent(String uri) {
+        updateOwnershipIndex(index -> index.add(this, uri));
+    }
+
+    private void updateOwnershipIndex(Consumer<CollectionOwnershipIndex> update) {
+        Collections collections = zebedee == null ? null : zebedee.getCollections();
+        CollectionOwnershipIndex index = collections == null ? null : collections.getOwnershipIndex();
+        if (index != null) {
+            update.accept(index);
+        }
+    }
+
+    private static void invalidateCollectionList(Zebedee zebedee, Path collectionPath) {
+        Collections collections = zebedee == null ? null : zebedee.getCollections();
+        if (collections != null) {
+            collections.invalidate(collectionPath);
+        }
+    }
+
     public Content getReviewed() {
         return this.reviewed;
     }
@@ -3,15 +3,13 @@ package com.github.onsdigital.zebedee.model;
 import com.github.onsdigital.zebedee.exceptions.UnauthorizedException;
 import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
 import com.github.onsdigital.zebedee.reader.Resource;
+import com.github.onsdigital.zebedee.reader.util.MimeTypeResolver;
 import com.github.onsdigital.zebedee.util.EncryptionUtils;
-import org.apache.commons.io.IOUtils;
 
 import javax.crypto.SecretKey;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -32,10 +30,7 @@ public class CollectionContentReader extends FileSystemContentReader {
     @Override
     protected long calculateContentLength(Path path) throws IOException {
         if (collection.getDescription().isEncrypted()) {
-            try (InputStream inputStream = EncryptionUtils.encryptionInputStream(path, key);
-                 OutputStream outputStream = new ByteArrayOutputStream()) {
-                return IOUtils.copy(inputStream, outputStream);
-            }
+            return EncryptionUtils.plaintextLength(path, key);
         } else {
             return super.calculateContentLength(path);
         }
@@ -45,9 +40,14 @@ public class CollectionContentReader extends FileSystemContentReader {
     protected Resource buildResource(Path path) throws IOException {
         Resource resource = new Resource();
         resource.setName(path.getFileName().toString());
-        resource.setMimeType(determineMimeType(path));
+        // the content of an encrypted file is ciphertext, so its type can only be known from its name.
+        resource.setMimeType(collection.getDescription().isEncrypted()
+                ? MimeTypeResolver.resolveByName(path) : determineMimeType(path));
         resource.setUri(toRelativeUri(path));
         resource.setData(getInputStream(path));
+        if (!collection.getDescription().isEncrypted()) {
+            resource.setFile(path);
+        }
         return resource;
     }
 
@@ -1,7 +1,6 @@
 package com.github.onsdigital.zebedee.model;
 
 import com.github.onsdigital.zebedee.configuration.Configuration;
-import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.UnauthorizedException;
 import com.github.onsdigital.zebedee.util.EncryptionUtils;
 import com.github.onsdigital.zebedee.util.slack.AttachmentField;
@@ -35,10 +34,21 @@ public class CollectionContentWriter extends ContentWriter {
         this.notifier = notifier;
     }
 
+    /**
+     * @return the scratch folder of the collection, outside its in progress, complete and reviewed content, so staged
+     * content is never reviewed or published and is deleted along with the collection.
+     */
     @Override
-    public OutputStream getOutputStream(String uri) throws IOException, BadRequestException {
-        Path path = resolvePath(uri);
-        assertNotDirectory(path);
+    protected Path getScratchFolder() {
+        return collection.getPath().resolve(Collection.SCRATCH);
+    }
+
+    @Override
+    protected OutputStream getOutputStream(String uri, Path path) throws IOException {
+        if (!getRootFolder().equals(collection.getPath())) {
+            collection.indexContent(uri);
+        }
+
         if (collection.getDescription().isEncrypted()) {
             return EncryptionUtils.encryptionOutputStream(path, key);
         } else {
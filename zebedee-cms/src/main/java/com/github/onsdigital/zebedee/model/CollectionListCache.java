@@ -0,0 +1,213 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.exceptions.CollectionNotFoundException;
+import com.github.onsdigital.zebedee.util.FileTimeUtils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.error;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Cache of the {@link Collection}s in the collections directory, used by {@link Collections#list()} so that listing
+ * collections does not deserialise every collection json file on every call.
+ * <p>
+ * The cached list is an immutable snapshot that is reused while the collections directory is unchanged, i.e. no
+ * collection has been created, saved, renamed or deleted. When the directory does change each collection is only
+ * re-read if its json file has been modified since it was cached. Modification times that are too recent to be
+ * trusted (the filesystem timestamp granularity may hide a second write) are always treated as changed.
+ * <p>
+ * The {@link Collection} instances in the snapshot are shared between callers and must be treated as read only.
+ * Anything that needs to modify a collection should open its own instance.
+ */
+public class CollectionListCache {
+
+    private final Path collectionsPath;
+    private final CollectionLoader loader;
+    private final ConcurrentMap<Path, CachedCollection> cached = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Create a new cache for the given collections directory.
+     *
+     * @param collectionsPath the collections directory.
+     * @param loader          loads the collection in a given collection directory.
+     */
+    public CollectionListCache(Path collectionsPath, CollectionLoader loader) {
+        this.collectionsPath = collectionsPath;
+        this.loader = loader;
+    }
+
+    /**
+     * @return a copy of the current list of collections.
+     * @throws IOException problem listing the collections directory.
+     */
+    public Collections.CollectionList list() throws IOException {
+        Snapshot current = this.snapshot;
+        FileTime directoryModified = Files.getLastModifiedTime(collectionsPath);
+
+        if (current != null && current.isValid(directoryModified, generation.get())) {
+            return current.copy();
+        }
+        return reload(directoryModified);
+    }
+
+    /**
+     * Discard the cached state of the collection in the given directory, forcing the next {@link #list()} to re-read
+     * it. Called whenever a collection is created, saved, renamed or deleted.
+     *
+     * @param collectionPath the collection directory.
+     */
+    public void invalidate(Path collectionPath) {
+        if (collectionPath != null) {
+            cached.remove(collectionPath);
+        }
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Discard all cached state.
+     */
+    public void invalidateAll() {
+        cached.clear();
+        generation.incrementAndGet();
+    }
+
+    private Collections.CollectionList reload(FileTime directoryModified) throws IOException {
+        long generationAtStart = generation.get();
+        long loadedAt = System.currentTimeMillis();
+
+        List<Collection> collections = new ArrayList<>();
+        Set<Path> found = new HashSet<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(collectionsPath)) {
+            for (Path path : stream) {
+                if (Files.isDirectory(path)) {
+                    found.add(path);
+                    Collection collection = get(path, loadedAt);
+                    if (collection != null) {
+                        collections.add(collection);
+                    }
+                }
+            }
+        }
+
+        cached.keySet().retainAll(found);
+
+        Snapshot reloaded = new Snapshot(directoryModified, generationAtStart, loadedAt, unmodifiableList(collections));
+        this.snapshot = reloaded;
+        return reloaded.copy();
+    }
+
+    private Collection get(Path collectionPath, long loadedAt) {
+        BasicFileAttributes attributes = readAttributes(collectionPath);
+
+        CachedCollection entry = cached.get(collectionPath);
+        if (entry != null && entry.isValid(attributes)) {
+            return entry.collection;
+        }
+
+        try {
+            Collection collection = loader.load(collectionPath);
+            if (attributes != null) {
+                cached.put(collectionPath, new CachedCollection(attributes, loadedAt, collection));
+            }
+            return collection;
+        } catch (CollectionNotFoundException | IOException e) {
+            cached.remove(collectionPath);
+            error().data("collection_path", collectionPath.toString())
+                    .logException(e, "failed to deserialise collection");
+            return null;
+        }
+    }
+
+    private BasicFileAttributes readAttributes(Path collectionPath) {
+        Path json = collectionPath.resolveSibling(collectionPath.getFileName() + ".json");
+        try {
+            return Files.readAttributes(json, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            error().data("collection_path", collectionPath.toString())
+                    .logException(e, "failed to read collection json attributes");
+            return null;
+        }
+    }
+
+    /**
+     * Loads the {@link Collection} in a collection directory.
+     */
+    @FunctionalInterface
+    public interface CollectionLoader {
+        Collection load(Path collectionPath) throws IOException, CollectionNotFoundException;
+    }
+
+    /**
+     * A collection cached against the size and modification time of its json file.
+     */
+    private static class CachedCollection {
+
+        private final FileTime lastModified;
+        private final long size;
+        private final long cachedAt;
+        private final Collection collection;
+
+        CachedCollection(BasicFileAttributes attributes, long cachedAt, Collection collection) {
+            this.lastModified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.cachedAt = cachedAt;
+            this.collection = collection;
+        }
+
+        boolean isValid(BasicFileAttributes attributes) {
+            return attributes != null
+                    && lastModified.equals(attributes.lastModifiedTime())
+                    && size == attributes.size()
+                    && !FileTimeUtils.isRacy(lastModified, cachedAt);
+        }
+    }
+
+    /**
+     * An immutable list of collections and the state of the collections directory when it was taken.
+     */
+    private static class Snapshot {
+
+        private final FileTime directoryModified;
+        private final long generation;
+        private final long takenAt;
+        private final List<Collection> collections;
+
+        Snapshot(FileTime directoryModified, long generation, long takenAt, List<Collection> collections) {
+            this.directoryModified = directoryModified;
+            this.generation = generation;
+            this.takenAt = takenAt;
+            this.collections = collections;
+        }
+
+        boolean isValid(FileTime currentDirectoryModified, long currentGeneration) {
+            return generation == currentGeneration
+                    && directoryModified.equals(currentDirectoryModified)
+                    && !FileTimeUtils.isRacy(directoryModified, takenAt);
+        }
+
+        Collections.CollectionList copy() {
+            Collections.CollectionList list = new Collections.CollectionList();
+            list.addAll(collections);
+            return list;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.json.PendingDelete;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.error;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
+
+/**
+ * In memory index of which {@link Collection} owns each content URI, and which collections hold a pending delete
+ * marker covering a URI.
+ * <p>
+ * The index replaces scanning every collection on disk each time content is created or edited. It is built from the
+ * filesystem the first time it is used (or explicitly on start up via {@link #rebuild()}) and is then kept up to date
+ * by the {@link Collection} operations that add, move or remove content. The filesystem remains the source of truth:
+ * every hit is confirmed against the owning collection before it is returned, and any entry found to be stale causes
+ * that single collection to be re-indexed.
+ */
+public class CollectionOwnershipIndex {
+
+    private final Collections collections;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Create a new index for the collections managed by the given {@link Collections}.
+     *
+     * @param collections the {@link Collections} to index.
+     */
+    public CollectionOwnershipIndex(Collections collections) {
+        this.collections = collections;
+    }
+
+    /**
+     * Rebuild the index from the collections currently on disk.
+     *
+     * @throws IOException problem listing the collections.
+     */
+    public void rebuild() throws IOException {
+        long start = System.currentTimeMillis();
+        Snapshot rebuilt = new Snapshot();
+
+        synchronized (this) {
+            for (Collection collection : collections.list()) {
+                index(rebuilt, collection);
+            }
+            this.snapshot = rebuilt;
+        }
+
+        info().data("collections", rebuilt.collectionPaths.size())
+                .data("uris", rebuilt.owners.size())
+                .data("deleteMarkers", rebuilt.deleteMarkers.size())
+                .data("timeTaken", System.currentTimeMillis() - start)
+                .log("collection ownership index rebuilt");
+    }
+
+    /**
+     * Find the collections containing the given URI. A URI is contained in a collection if it exists in the
+     * inprogress, complete or reviewed content of that collection.
+     *
+     * @param uri the URI to check.
+     * @return the collections containing the URI, empty if there are none.
+     * @throws IOException problem reading a collection.
+     */
+    public List<Collection> findCollectionsContaining(String uri) throws IOException {
+        List<Collection> result = new ArrayList<>();
+        if (StringUtils.isBlank(uri)) {
+            return result;
+        }
+
+        Snapshot current = loaded();
+        for (String collectionId : current.ownersOf(normalise(uri))) {
+            Collection collection = load(current, collectionId);
+            if (collection == null) {
+                continue;
+            }
+
+            if (collection.isInCollection(uri)) {
+                result.add(collection);
+            } else {
+                refresh(collection);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find a collection holding a pending delete that covers the given URI, i.e. the URI is the root of the delete
+     * or one of its descendants.
+     *
+     * @param uri the URI to check.
+     * @return the collection with the delete marker if one exists, otherwise empty.
+     * @throws IOException problem reading a collection.
+     */
+    public Optional<Collection> findCollectionWithDeleteMarker(String uri) throws IOException {
+        if (StringUtils.isBlank(uri)) {
+            return Optional.empty();
+        }
+
+        Snapshot current = loaded();
+        Path searchValue = Paths.get(uri);
+        for (Path candidate = searchValue; candidate != null; candidate = candidate.getParent()) {
+            for (String collectionId : current.deleteMarkerOwners(candidate.toString())) {
+                Collection collection = load(current, collectionId);
+                if (collection == null) {
+                    continue;
+                }
+
+                if (hasDeleteMarker(collection, searchValue)) {
+                    return Optional.of(collection);
+                }
+                refreshDeleteMarkers(collection);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Record that the given URI has been added to the collection.
+     *
+     * @param collection the collection the URI was added to.
+     * @param uri        the URI added.
+     */
+    public synchronized void add(Collection collection, String uri) {
+        Snapshot current = this.snapshot;
+        if (current == null || collection == null || StringUtils.isBlank(uri)) {
+            return;
+        }
+        current.collectionPaths.put(collection.getId(), collection.getPath());
+        current.addOwner(normalise(uri), collection.getId());
+    }
+
+    /**
+     * Drop the entries of the given collection for the URI and any content beneath it that no longer exist in the
+     * collection, e.g. after the content has been deleted or moved away.
+     *
+     * @param collection the collection the URI was removed from.
+     * @param uri        the URI removed.
+     */
+    public synchronized void reconcile(Collection collection, String uri) {
+        Snapshot current = this.snapshot;
+        if (current == null || collection == null || StringUtils.isBlank(uri)) {
+            return;
+        }
+
+        Set<String> owned = current.urisByCollection.get(collection.getId());
+        if (owned == null) {
+            return;
+        }
+
+        String normalised = normalise(uri);
+        String prefix = "/".equals(normalised) ? normalised : normalised + "/";
+        for (String candidate : new ArrayList<>(owned)) {
+            if ((candidate.equals(normalised) || candidate.startsWith(prefix)) && !collection.isInCollection(candidate)) {
+                current.removeOwner(candidate, collection.getId());
+            }
+        }
+    }
+
+    /**
+     * Re-index the content and delete markers of a single collection from disk. Used after operations that move or
+     * remove whole directories of content where tracking each individual URI is impractical.
+     *
+     * @param collection the collection to re-index.
+     */
+    public synchronized void refresh(Collection collection) {
+        Snapshot current = this.snapshot;
+        if (current == null || collection == null) {
+            return;
+        }
+        current.removeCollection(collection.getId());
+        index(current, collection);
+    }
+
+    /**
+     * Re-index the pending delete markers of the given collection from its description.
+     *
+     * @param collection the collection to re-index.
+     */
+    public synchronized void refreshDeleteMarkers(Collection collection) {
+        Snapshot current = this.snapshot;
+        if (current == null || collection == null) {
+            return;
+        }
+        current.removeDeleteMarkers(collection.getId());
+        indexDeleteMarkers(current, collection);
+    }
+
+    /**
+     * Remove all entries for the given collection, e.g. once it has been published or deleted.
+     *
+     * @param collection the collection to remove.
+     */
+    public synchronized void remove(Collection collection) {
+        Snapshot current = this.snapshot;
+        if (current == null || collection == null) {
+            return;
+        }
+        current.removeCollection(collection.getId());
+    }
+
+    private Snapshot loaded() throws IOException {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (this.snapshot == null) {
+                    rebuild();
+                }
+                current = this.snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Collection load(Snapshot current, String collectionId) {
+        Path path = current.collectionPaths.get(collectionId);
+        Collection collection = null;
+        try {
+            collection = path == null ? null : collections.loadCollection(path);
+        } catch (IOException e) {
+            error().data("collection_path", path.toString())
+                    .logException(e, "failed to deserialise collection");
+            return null;
+        }
+
+        if (collection == null) {
+            synchronized (this) {
+                current.removeCollection(collectionId);
+            }
+        }
+        return collection;
+    }
+
+    private void index(Snapshot target, Collection collection) {
+        String collectionId = collection.getId();
+        if (StringUtils.isBlank(collectionId)) {
+            return;
+        }
+
+        target.collectionPaths.put(collectionId, collection.getPath());
+        try {
+            for (Content content : new Content[]{collection.getInProgress(), collection.getComplete(),
+                    collection.getReviewed()}) {
+                for (String uri : content.uris()) {
+                    target.addOwner(normalise(uri), collectionId);
+                }
+            }
+        } catch (IOException e) {
+            error().data("collectionId", collectionId)
+                    .logException(e, "failed to index collection content");
+        }
+        indexDeleteMarkers(target, collection);
+    }
+
+    private void indexDeleteMarkers(Snapshot target, Collection collection) {
+        for (PendingDelete pendingDelete : collection.getDescription().getPendingDeletes()) {
+            if (pendingDelete.getRoot() != null && StringUtils.isNotBlank(pendingDelete.getRoot().contentPath)) {
+                target.addDeleteMarker(Paths.get(pendingDelete.getRoot().contentPath).toString(), collection.getId());
+            }
+        }
+    }
+
+    private static boolean hasDeleteMarker(Collection collection, Path searchValue) {
+        return collection.getDescription().getPendingDeletes()
+                .stream()
+                .anyMatch(existingDeleteRoot -> existingDeleteRoot.getRoot() != null
+                        && existingDeleteRoot.getRoot().contentPath != null
+                        && searchValue.startsWith(Paths.get(existingDeleteRoot.getRoot().contentPath)));
+    }
+
+    static String normalise(String uri) {
+        String result = StringUtils.startsWith(uri, "/") ? uri : "/" + uri;
+        while (result.length() > 1 && result.endsWith("/")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * The current state of the index. Replaced as a whole on {@link #rebuild()} so that lookups never observe a
+     * partially built index.
+     */
+    private static class Snapshot {
+
+        private final ConcurrentNavigableMap<String, Set<String>> owners = new ConcurrentSkipListMap<>();
+        private final ConcurrentMap<String, Set<String>> urisByCollection = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Set<String>> deleteMarkers = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Set<String>> deleteMarkersByCollection = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Path> collectionPaths = new ConcurrentHashMap<>();
+
+        /**
+         * Owners of the URI itself plus owners of any content beneath it, mirroring a directory URI being "in" a
+         * collection when any of its content is.
+         */
+        private Set<String> ownersOf(String uri) {
+            Set<String> result = new LinkedHashSet<>();
+            Set<String> exact = owners.get(uri);
+            if (exact != null) {
+                result.addAll(exact);
+            }
+
+            String prefix = "/".equals(uri) ? uri : uri + "/";
+            for (Map.Entry<String, Set<String>> entry : owners.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                result.addAll(entry.getValue());
+            }
+            return result;
+        }
+
+        private Set<String> deleteMarkerOwners(String root) {
+            Set<String> result = deleteMarkers.get(root);
+            return result == null ? java.util.Collections.emptySet() : new LinkedHashSet<>(result);
+        }
+
+        private void addOwner(String uri, String collectionId) {
+            owners.computeIfAbsent(uri, k -> ConcurrentHashMap.newKeySet()).add(collectionId);
+            urisByCollection.computeIfAbsent(collectionId, k -> ConcurrentHashMap.newKeySet()).add(uri);
+        }
+
+        private void removeOwner(String uri, String collectionId) {
+            owners.computeIfPresent(uri, (k, ids) -> {
+                ids.remove(collectionId);
+                return ids.isEmpty() ? null : ids;
+            });
+            Set<String> uris = urisByCollection.get(collectionId);
+            if (uris != null) {
+                uris.remove(uri);
+            }
+        }
+
+        private void addDeleteMarker(String root, String collectionId) {
+            deleteMarkers.computeIfAbsent(root, k -> ConcurrentHashMap.newKeySet()).add(collectionId);
+            deleteMarkersByCollection.computeIfAbsent(collectionId, k -> ConcurrentHashMap.newKeySet()).add(root);
+        }
+
+        private void removeCollection(String collectionId) {
+            Set<String> uris = urisByCollection.remove(collectionId);
+            if (uris != null) {
+                for (String uri : uris) {
+                    removeOwner(uri, collectionId);
+                }
+            }
+            removeDeleteMarkers(collectionId);
+            collectionPaths.remove(collectionId);
+        }
+
+        private void removeDeleteMarkers(String collectionId) {
+            Set<String> roots = deleteMarkersByCollection.remove(collectionId);
+            if (roots != null) {
+                for (String root : roots) {
+                    deleteMarkers.computeIfPresent(root, (k, ids) -> {
+                        ids.remove(collectionId);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+        }
+    }
+}
@@ -34,10 +34,8 @@ import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.FileUploadException;
 import org.apache.commons.fileupload.ProgressListener;
 import org.apache.commons.fileupload.servlet.ServletFileUpload;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -82,6 +80,8 @@ public class Collections {
     private BiConsumer<Collection, EventType> publishingNotificationConsumer = (c, e) -> new PublishNotification(c).sendNotification(e);
     private Function<Path, ContentReader> contentReaderFactory = FileSystemContentReader::new;
     private Comparator<String> strComparator = Comparator.comparing(String::toString);
+    private final CollectionOwnershipIndex ownershipIndex;
+    private final CollectionListCache collectionListCache;
 
     public Collections(Path path,
                        PermissionsService permissionsService,
@@ -90,6 +90,8 @@ public class Collections {
         this.permissionsService = permissionsService;
         this.published = published;
         this.collectionReaderWriterFactory = new CollectionReaderWriterFactory();
+        this.ownershipIndex = new CollectionOwnershipIndex(this);
+        this.collectionListCache = new CollectionListCache(path, p -> new Collection(p, zebedeeSupplier.get()));
     }
 
     /**
@@ -101,6 +103,15 @@ public class Collections {
         return path;
     }
 
+    /**
+     * Get the index of which collection owns each content URI.
+     *
+     * @return the collection ownership index.
+     */
+    public CollectionOwnershipIndex getOwnershipIndex() {
+        return ownershipIndex;
+    }
+
     /**
      * Populate a list of files / folders for a given path.
      *
@@ -218,28 +229,51 @@ public class Collections {
     }
 
     /**
+     * The returned list is a copy that callers may modify, but the {@link Collection}s in it are shared with other
+     * callers and must be treated as read only. Open the collection with {@link #getCollection(String, boolean)} to
+     * make changes to it.
+     *
      * @return A list of all {@link Collection}s.
      * @throws IOException If a filesystem error occurs.
      */
     public CollectionList list() throws IOException {
+        return collectionListCache.list();
+    }
 
+    /**
+     * Load a new instance of every collection, rather than the shared instances returned by {@link #list()}, for
+     * callers that go on to modify the collections, such as the publish scheduler.
+     *
+     * @return A list of all {@link Collection}s.
+     * @throws IOException If a filesystem error occurs.
+     */
+    public CollectionList loadAll() throws IOException {
         CollectionList result = new CollectionList();
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
-            for (Path path : stream) {
-                if (Files.isDirectory(path)) {
+            for (Path collectionPath : stream) {
+                if (Files.isDirectory(collectionPath)) {
                     try {
-                        result.add(new Collection(path, zebedeeSupplier.get()));
+                        result.add(new Collection(collectionPath, zebedeeSupplier.get()));
                     } catch (CollectionNotFoundException | IOException e) {
-                        error().data("collection_path", path.toString())
+                        error().data("collection_path", collectionPath.toString())
                                 .logException(e, "failed to deserialise collection");
                     }
                 }
             }
         }
-
         return result;
     }
 
+    /**
+     * Discard any cached state held for the collection in the given directory. Called whenever a collection is
+     * created, saved, renamed or deleted.
+     *
+     * @param collectionPath the collection directory.
+     */
+    public void invalidate(Path collectionPath) {
+        collectionListCache.invalidate(collectionPath);
+    }
+
     /**
      * Returns a {@link List} of {@link Collection} matching the provided {@link Predicate} filter criteria.
      *
@@ -302,19 +336,35 @@ public class Collections {
             String collectionName = getCollectionNameFromId(collectionId);
             return getCollectionByName(collectionName, writeable);
         } catch (IOException | CollectionNotFoundException e) {
-            // Fallback: scan all collections by ID. The list() entries are non-writeable so if
-            // the caller requested a write lock we must re-open with writeable=true.
+            // Fallback: scan all collections by ID. The list() entries are shared, read only instances
+            // so always re-open the collection, with a write lock if the caller requested one.
             Collection found = list().getCollection(collectionId);
-            if (found == null || !writeable) {
-                return found;
+            if (found == null) {
+                return null;
             }
             try {
-                return new Collection(found.getPath(), zebedeeSupplier.get(), true);
+                return new Collection(found.getPath(), zebedeeSupplier.get(), writeable);
             } catch (CollectionNotFoundException ex) {
                 return null;
             }
         }
     }
+
+    /**
+     * Load the collection in the given directory.
+     *
+     * @param collectionPath the collection directory.
+     * @return the collection, or null if the directory is no longer a collection.
+     * @throws IOException problem reading the collection description.
+     */
+    Collection loadCollection(Path collectionPath) throws IOException {
+        try {
+            return new Collection(collectionPath, zebedeeSupplier.get());
+        } catch (CollectionNotFoundException e) {
+            return null;
+        }
+    }
+
     public Collection getCollectionByName(String collectionName) throws IOException, CollectionNotFoundException {
         return getCollectionByName(collectionName, false);
     }
@@ -717,9 +767,7 @@ public class Collections {
 
         } else {
             if (validateJson) {
-                try (InputStream inputStream = validateJsonStream(requestBody)) {
-                    collectionWriter.getInProgress().write(inputStream, uri);
-                }
+                collectionWriter.getInProgress().write(requestBody, uri, this::validateJsonStream);
             } else {
                 collectionWriter.getInProgress().write(requestBody, uri);
             }
@@ -727,20 +775,15 @@ public class Collections {
     }
 
     /**
-     * Take an input stream that contains json content and ensure its valid.
+     * Take an input stream that contains json content and ensure its valid, reading it to the end. Only the json
+     * syntax and the page type are checked, a token at a time, so the content is never held in memory.
      *
      * @param inputStream
-     * @return
+     * @throws BadRequestException if the content is not valid.
      */
-    public InputStream validateJsonStream(InputStream inputStream) throws BadRequestException {
+    public void validateJsonStream(InputStream inputStream) throws BadRequestException {
         try {
-            byte[] bytes = IOUtils.toByteArray(inputStream);
-
-            try (ByteArrayInputStream validationInputStream = new ByteArrayInputStream(bytes)) {
-                ContentUtil.deserialiseContent(validationInputStream);
-            }
-
-            return new ByteArrayInputStream(bytes);
+            ContentUtil.validateContent(inputStream);
         } catch (Exception e) {
             throw new BadRequestException("Validation of page content failed. Please try again");
         }
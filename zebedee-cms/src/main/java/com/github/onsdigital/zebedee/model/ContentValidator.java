@@ -0,0 +1,22 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Checks content as it is written by a {@link ContentWriter}.
+ */
+@FunctionalInterface
+public interface ContentValidator {
+
+    /**
+     * Read the given content to the end, checking it is valid.
+     *
+     * @param input the content.
+     * @throws BadRequestException if the content is not valid.
+     * @throws IOException         if the content cannot be read.
+     */
+    void validate(InputStream input) throws IOException, BadRequestException;
+}
@@ -4,11 +4,14 @@ import com.github.onsdigital.zebedee.content.util.ContentUtil;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
 import static java.nio.file.Files.isDirectory;
@@ -18,6 +21,8 @@ import static java.nio.file.Files.isDirectory;
  */
 public class ContentWriter {
 
+    private static final String SCRATCH_SUFFIX = ".scratch";
+
     private final Path ROOT_FOLDER;
 
     /**
@@ -52,6 +57,38 @@ public class ContentWriter {
         }
     }
 
+    /**
+     * Write the given input stream to the given URI, checking it with the given validator as it is written.
+     * <p>
+     * The content is written to a file in the {@link #getScratchFolder() scratch folder} as the validator reads it,
+     * and only moved to the URI once the validator has accepted it. Content that fails validation never appears in
+     * the content tree, no directories are created for it, and memory use does not depend on its size.
+     *
+     * @param input
+     * @param uri
+     * @param validator reads the input to the end, throwing an exception if it is not valid.
+     * @throws BadRequestException if the content is not valid.
+     * @throws IOException
+     */
+    public void write(InputStream input, String uri, ContentValidator validator) throws IOException, BadRequestException {
+        Path path = resolvePath(uri);
+        assertNotDirectory(path);
+
+        Path scratch = Files.createDirectories(getScratchFolder());
+        Path temp = Files.createTempFile(scratch, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = getOutputStream(uri, temp)) {
+                InputStream tee = new TeeInputStream(input, output);
+                validator.validate(tee);
+                IOUtils.consume(tee);
+            }
+            Files.createDirectories(path.getParent());
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
     /**
      * Get an output stream for the given URI.
      *
@@ -63,7 +100,19 @@ public class ContentWriter {
     public OutputStream getOutputStream(String uri) throws IOException, BadRequestException {
         Path path = resolvePath(uri);
         assertNotDirectory(path);
-        return FileUtils.openOutputStream(path.toFile());
+        return getOutputStream(uri, path);
+    }
+
+    /**
+     * Get an output stream writing the content of the given URI to the given file.
+     *
+     * @param uri  the URI of the content.
+     * @param file the file to write to.
+     * @return
+     * @throws IOException
+     */
+    protected OutputStream getOutputStream(String uri, Path file) throws IOException {
+        return FileUtils.openOutputStream(file.toFile());
     }
 
     protected void assertNotDirectory(Path path) throws BadRequestException {
@@ -83,4 +132,12 @@ public class ContentWriter {
         return ROOT_FOLDER;
     }
 
+    /**
+     * @return the folder content is staged in before it is moved into the root folder. It must be on the same file
+     * system as the root folder, and outside of it so that staged content is never listed as content.
+     */
+    protected Path getScratchFolder() {
+        return ROOT_FOLDER.resolveSibling("." + ROOT_FOLDER.getFileName() + SCRATCH_SUFFIX);
+    }
+
 }
@@ -1,30 +1,172 @@
 package com.github.onsdigital.zebedee.model.approval;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import com.github.onsdigital.zebedee.configuration.Configuration;
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
 
 /**
  * In memory queue of tasks to approve collections.
  * <p>
  * The approval process may contain time / resource intensive tasks like generating timeseries. The tasks
- * are queued to ensure the user is not held up waiting for the process to finish, and to ensure only one approval
- * is done at a time.
+ * are queued to ensure the user is not held up waiting for the process to finish.
+ * <p>
+ * By default only one approval runs at a time. Setting APPROVAL_THREADS above one approves different collections in
+ * parallel, which has not been shown to be safe for every step of an approval (timeseries generation and the shared
+ * data index in particular), so it is opt in. The tasks of a single collection are always run one at a time in the
+ * order they were added, whatever the number of workers. Waiting collections are approved in order of publish
+ * date, nearest first, so a collection due out soon is not held up behind one due out later. Collections without a
+ * publish date are approved after those with one, in the order they were added.
  */
 public class ApprovalQueue {
 
-    /**
-     * Single thread for processing the approvals.
-     */
-    private static ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private static volatile ApprovalQueue instance = null;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Deque<QueuedApproval>> waitingByCollection = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder waitMillis = new LongAdder();
+
+    ApprovalQueue(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> new Thread(runnable, "approval-" + count.incrementAndGet()));
+    }
+
+    public static ApprovalQueue getInstance() {
+        if (instance == null) {
+            synchronized (ApprovalQueue.class) {
+                if (instance == null) {
+                    instance = new ApprovalQueue(Configuration.getApprovalThreads());
+                }
+            }
+        }
+        return instance;
+    }
 
     /**
      * Add the given task instance to the queue.
      *
-     * @param task
-     * @return
+     * @param task the approval to run.
+     * @return the result of the approval.
      */
     public static Future<Boolean> add(ApproveTask task) {
-        return executorService.submit(task);
+        return getInstance().submit(task);
+    }
+
+    Future<Boolean> submit(ApproveTask task) {
+        CollectionDescription description = task.getCollection().getDescription();
+        QueuedApproval approval = new QueuedApproval(task, description.getId(), description.getPublishDate(),
+                sequence.incrementAndGet());
+
+        synchronized (waitingByCollection) {
+            Deque<QueuedApproval> waiting = waitingByCollection.get(approval.collectionId);
+            if (waiting != null) {
+                // an approval of this collection is already queued or running, this one runs once it is done.
+                waiting.add(approval);
+                return approval.future;
+            }
+            waitingByCollection.put(approval.collectionId, new ArrayDeque<>());
+        }
+        executor.execute(approval);
+        return approval.future;
+    }
+
+    private void completed(String collectionId) {
+        QueuedApproval next;
+        synchronized (waitingByCollection) {
+            next = waitingByCollection.get(collectionId).poll();
+            if (next == null) {
+                waitingByCollection.remove(collectionId);
+                return;
+            }
+        }
+        executor.execute(next);
+    }
+
+    /**
+     * @return the number of approvals waiting to start.
+     */
+    public int getQueueDepth() {
+        synchronized (waitingByCollection) {
+            return executor.getQueue().size() + waitingByCollection.values().stream().mapToInt(Deque::size).sum();
+        }
+    }
+
+    /**
+     * @return the average time in milliseconds that approvals waited to start.
+     */
+    public double getAverageWaitMillis() {
+        long count = started.sum();
+        return count == 0 ? 0 : (double) waitMillis.sum() / count;
+    }
+
+    /**
+     * An approval waiting to run, ordered by publish date and then by the order approvals were added.
+     */
+    private class QueuedApproval implements Runnable, Comparable<QueuedApproval> {
+
+        private final FutureTask<Boolean> future;
+        private final String collectionId;
+        private final Date publishDate;
+        private final long sequence;
+        private final long queuedAt = System.currentTimeMillis();
+
+        QueuedApproval(ApproveTask task, String collectionId, Date publishDate, long sequence) {
+            this.future = new FutureTask<>(task);
+            this.collectionId = collectionId;
+            this.publishDate = publishDate;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            long waited = System.currentTimeMillis() - queuedAt;
+            started.increment();
+            waitMillis.add(waited);
+
+            info().data("collectionId", collectionId)
+                    .data("waitMillis", waited)
+                    .data("queued", getQueueDepth())
+                    .data("running", executor.getActiveCount())
+                    .data("avgWaitMillis", getAverageWaitMillis())
+                    .log("approval queue: starting approval");
+            try {
+                future.run();
+            } finally {
+                completed(collectionId);
+            }
+        }
+
+        @Override
+        public int compareTo(QueuedApproval other) {
+            if (publishDate != null && other.publishDate != null) {
+                int byDate = publishDate.compareTo(other.publishDate);
+                if (byDate != 0) {
+                    return byDate;
+                }
+            } else if (publishDate != null) {
+                return -1;
+            } else if (other.publishDate != null) {
+                return 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
     }
 }
@@ -111,6 +111,13 @@ public class ApproveTask implements Callable<Boolean> {
         this.notifier = notifier;
     }
 
+    /**
+     * @return the collection being approved.
+     */
+    Collection getCollection() {
+        return collection;
+    }
+
     @Override
     public Boolean call() {
         try {
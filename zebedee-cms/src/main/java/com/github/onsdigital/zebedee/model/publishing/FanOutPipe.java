@@ -0,0 +1,145 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.List;
+
+/**
+ * A bounded pipe carrying a file being published from the thread reading it out of the collection to the thread
+ * sending it to a single train host. One pipe is opened per host so that a file is only read and decrypted once
+ * however many hosts it is published to.
+ * <p>
+ * The writer never blocks on a host that has given up: once the reading side is closed further writes are dropped and
+ * the failure is reported by that host's send. If the file cannot be read for any reason, including an unchecked
+ * exception, the reading side is failed before the pipe is closed, so a host is never sent a truncated file as if it
+ * were complete.
+ */
+class FanOutPipe implements Closeable {
+
+    static final int PIPE_SIZE = 64 * 1024;
+    static final int BUFFER_SIZE = 8 * 1024;
+
+    final Input input;
+    private final PipedOutputStream output;
+    private boolean open = true;
+    private boolean closed;
+
+    FanOutPipe() throws IOException {
+        this.input = new Input();
+        this.output = new PipedOutputStream(input);
+    }
+
+    /**
+     * Write the given bytes to the pipe, blocking until the reading side has room for them.
+     *
+     * @param buffer the bytes to write.
+     * @param length the number of bytes from the start of the buffer to write.
+     * @return true if the bytes were written, false if the reading side has been closed.
+     */
+    boolean write(byte[] buffer, int length) {
+        if (!open) {
+            return false;
+        }
+        try {
+            output.write(buffer, 0, length);
+            // wake the reader now rather than waiting for it to poll.
+            output.flush();
+        } catch (IOException e) {
+            open = false;
+        }
+        return open;
+    }
+
+    /**
+     * Copy the source to every pipe and close them. If the source fails in any way every pipe is failed before it is
+     * closed, and the failure is rethrown.
+     *
+     * @param source the file being published.
+     * @param pipes  the pipe to each host.
+     * @return true if the whole source was written, false if every host gave up before the end.
+     * @throws IOException if the source cannot be read.
+     */
+    static boolean copy(InputStream source, List<FanOutPipe> pipes) throws IOException {
+        boolean sending = true;
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while (sending && (read = source.read(buffer)) != -1) {
+                sending = false;
+                for (FanOutPipe pipe : pipes) {
+                    sending |= pipe.write(buffer, read);
+                }
+            }
+        } catch (Throwable e) {
+            for (FanOutPipe pipe : pipes) {
+                pipe.fail(e);
+            }
+            throw e;
+        }
+        for (FanOutPipe pipe : pipes) {
+            pipe.close();
+        }
+        return sending;
+    }
+
+    /**
+     * Fail the reading side and close the pipe, unless it has already been closed.
+     *
+     * @param cause why the file could not be read.
+     */
+    void fail(Throwable cause) {
+        if (!closed) {
+            input.fail(cause);
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            output.close();
+        } catch (IOException e) {
+            // the reading side has already gone.
+        }
+    }
+
+    /**
+     * The reading side of the pipe, which reports a failure of the writer instead of the end of the stream.
+     */
+    static class Input extends PipedInputStream {
+
+        private volatile Throwable failure;
+
+        Input() {
+            super(PIPE_SIZE);
+        }
+
+        void fail(Throwable e) {
+            this.failure = e;
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            return checkFailure(super.read());
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            return checkFailure(super.read(b, off, len));
+        }
+
+        private int checkFailure(int read) throws IOException {
+            if (read == -1 && failure != null) {
+                throw new IOException("publish file could not be read", failure);
+            }
+            return read;
+        }
+    }
+}
@@ -17,6 +17,8 @@ import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
 import com.github.onsdigital.zebedee.reader.CollectionReader;
 import com.github.onsdigital.zebedee.reader.ContentReader;
 import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
+import com.github.onsdigital.zebedee.reader.PublishedContentCache;
+import com.github.onsdigital.zebedee.reader.api.bean.PublishedUriIndex;
 import com.github.onsdigital.zebedee.reader.Resource;
 import com.github.onsdigital.zebedee.service.KafkaService;
 import com.github.onsdigital.zebedee.service.RedirectService;
@@ -33,15 +35,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.slf4j.MDC;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -62,7 +64,14 @@ public class PostPublisher {
 
     private static final Supplier<Zebedee> zebedeeSupplier = () -> Root.zebedee;
 
-    private static final ExecutorService POOL = Executors.newFixedThreadPool(10);
+    // Copies the files of a published collection into master and the archive.
+    private static final PublishingExecutor POOL = new PublishingExecutor("post-publish",
+            Configuration.getPostPublishThreads(), Configuration.getPublishingQueueSize());
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Publisher.ShutDownPublisherThread(POOL));
+    }
 
     private static final String TRACE_ID_HEADER = "trace_id";
     private static final String SEARCHINDEX = "ONS";
@@ -90,15 +99,29 @@ public class PostPublisher {
             ContentReader contentReader = new FileSystemContentReader(zebedee.getPublished().getPath());
             ContentWriter contentWriter = new ContentWriter(zebedee.getPublished().getPath());
 
+            long start = System.currentTimeMillis();
             applyDeletesToPublishing(collection, contentReader, contentWriter);
             processManifestForMaster(collection, contentReader, contentWriter);
-            copyFilesToMaster(zebedee, collection, collectionReader);
+            start = logStageTime(collection, "manifest", start);
+
+            // Walk the reviewed content once, copying each file into both master and the archive.
+            List<String> reviewedUris = collection.getReviewed().uris();
+            Path archivePath = getArchivePath(zebedee, collection);
+            copyFilesToMasterAndArchive(zebedee, collection, collectionReader, reviewedUris, archivePath);
+            PublishedContentCache.onPublish(reviewedUris);
+            Set<String> deletedUris = getManifestDeletes(collection);
+            PublishedUriIndex.onPublish(reviewedUris, deletedUris);
+            if (zebedee.getDataIndex() != null) {
+                zebedee.getDataIndex().onPublish(reviewedUris, deletedUris);
+            }
+            start = logStageTime(collection, "copy", start);
 
             if (cmsFeatureFlags().isRedirectAPIEnabled()) {
                 info().collectionID(collection).log("publishing redirects for collection");
                 RedirectService redirectService = ZebedeeCmsService.getInstance().getRedirectService();
                 redirectService.publishRedirectsForCollection(collection, zebedee.getSlackNotifier());
                 info().collectionID(collection).log("redirect processing complete");
+                start = logStageTime(collection, "redirects", start);
             }
 
             // Publish content-updated and content-deleted events for search service.
@@ -106,15 +129,18 @@ public class PostPublisher {
                 info().collectionID(collection).log("publishing search kafka messages for collection");
                 publishKafkaMessages(collection);
                 info().collectionID(collection).log("publishing search kafka messages for collection completed");
+                start = logStageTime(collection, "kafka", start);
             }
 
             if (cmsFeatureFlags().isPermissionsAPIEnabled()) {
                 info().collectionID(collection).log("removing permissions policies for collection");
                 zebedee.getPermissionsService().removePolicyForCollection(collection.getId());
                 info().collectionID(collection).log("permissions policy removal for collection completed");
+                start = logStageTime(collection, "permissions", start);
             }
 
-            moveCollectionToArchive(zebedee, collection, collectionReader);
+            moveCollectionToArchive(zebedee, collection, archivePath);
+            logStageTime(collection, "archive", start);
 
             collection.delete();
             ContentTree.dropCache();
@@ -173,6 +199,20 @@ public class PostPublisher {
         return publishedCollection;
     }
 
+    /**
+     * @return the uris deleted by the manifest of the collection, or none if it cannot be read.
+     */
+    private static Set<String> getManifestDeletes(Collection collection) {
+        try {
+            return Manifest.get(collection).urisToDelete;
+        } catch (Exception e) {
+            error().collectionID(collection)
+                    .exception(e)
+                    .log("An error occurred trying to read the publish manifest deletes");
+            return Collections.emptySet();
+        }
+    }
+
     private static void applyManifestDeletesToMaster(Collection collection, ContentReader contentReader, ContentWriter contentWriter) {
 
         try {
@@ -239,43 +279,138 @@ public class PostPublisher {
 
     }
 
+    private static long logStageTime(Collection collection, String stage, long start) {
+        long now = System.currentTimeMillis();
+        info().collectionID(collection)
+                .data("stage", stage)
+                .data("timeTaken", now - start)
+                .log("post publish stage completed");
+        return now;
+    }
+
     private static void copyFilesToMaster(Zebedee zebedee, Collection collection, CollectionReader collectionReader)
             throws IOException, ZebedeeException {
+        copyFilesToMasterAndArchive(zebedee, collection, collectionReader, collection.getReviewed().uris(), null);
+    }
 
-        info().collectionID(collection).log("Moving files from collection into master");
+    /**
+     * Copy the reviewed files of a collection into master and, if an archive path is given, into the archive. Each
+     * file is read and decrypted once and written to all of its destinations as it is read. Files are copied in
+     * parallel on a bounded executor.
+     *
+     * @param archivePath the directory to archive the collection files in, or null to only copy them into master.
+     */
+    private static void copyFilesToMasterAndArchive(Zebedee zebedee, Collection collection,
+                                                    CollectionReader collectionReader, List<String> uris,
+                                                    Path archivePath) throws IOException, ZebedeeException {
 
-        // Move each item of content:
-        for (String uri : collection.getReviewed().uris()) {
+        info().collectionID(collection).data("files", uris.size()).data("archive", archivePath != null)
+                .log("Moving files from collection into master");
+
+        List<Future<Void>> results = new ArrayList<>();
+        for (String uri : uris) {
+            List<Path> destinations = new ArrayList<>(2);
             if (!VersionedContentItem.isVersionedUri(uri)
                     && !FilenameUtils.getName(uri).equals("timeseries-to-publish.zip")) {
-                Path destination = zebedee.getPublished().toPath(uri);
-                try (
-                        Resource resource = collectionReader.getResource(uri);
-                        InputStream dataStream = resource.getData()
-                ) {
-                    FileUtils.copyInputStreamToFile(dataStream, destination.toFile());
+                destinations.add(zebedee.getPublished().toPath(uri));
+            }
+            if (archivePath != null) {
+                destinations.add(archivePath.resolve(URIUtils.removeLeadingSlash(uri)));
+            }
+
+            if (!destinations.isEmpty()) {
+                results.add(POOL.submit(() -> {
+                    copyFile(collectionReader, uri, destinations);
+                    return null;
+                }));
+            }
+        }
+
+        // Wait for every copy to finish before reporting the first failure.
+        Exception failure = null;
+        for (Future<Void> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while copying files into master", e);
             }
         }
+        POOL.logStats();
+
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof ZebedeeException) {
+            throw (ZebedeeException) failure;
+        } else if (failure != null) {
+            throw new IOException("error copying files into master", failure);
+        }
     }
 
-    private static Path moveCollectionToArchive(Zebedee zebedee, Collection collection, CollectionReader collectionReader) throws IOException, ZebedeeException {
-        info().collectionID(collection)
-                .log("moving collection files to archive for collection");
+    private static void copyFile(CollectionReader collectionReader, String uri, List<Path> destinations)
+            throws IOException, ZebedeeException {
+        List<OutputStream> outputs = new ArrayList<>(destinations.size());
+        try (
+                Resource resource = collectionReader.getResource(uri);
+                InputStream dataStream = resource.getData()
+        ) {
+            for (Path destination : destinations) {
+                Files.createDirectories(destination.getParent());
+                outputs.add(Files.newOutputStream(destination));
+            }
 
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = dataStream.read(buffer)) != -1) {
+                for (OutputStream output : outputs) {
+                    output.write(buffer, 0, read);
+                }
+            }
+        } finally {
+            IOException closeError = null;
+            for (OutputStream output : outputs) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    closeError = closeError == null ? e : closeError;
+                }
+            }
+            if (closeError != null) {
+                throw closeError;
+            }
+        }
+    }
+
+    /**
+     * @return the directory to archive the files of the collection in, named by the current time.
+     */
+    private static Path getArchivePath(Zebedee zebedee, Collection collection) throws IOException {
         String filename = PathUtils.toFilename(collection.getDescription().getName());
-        Path collectionJsonSource = zebedee.getCollections().getPath().resolve(filename + ".json");
-        Path collectionFilesSource = collection.getReviewed().getPath();
         Path logPath = zebedee.getPublishedCollections().path;
 
         if (!Files.exists(logPath)) {
             Files.createDirectory(logPath);
         }
 
-        Date date = new Date();
-        String directoryName = FORMAT.format(date) + "-" + filename;
-        Path collectionFilesDestination = logPath.resolve(directoryName);
-        Path collectionJsonDestination = logPath.resolve(directoryName + ".json");
+        return logPath.resolve(FORMAT.format(new Date()) + "-" + filename);
+    }
+
+    /**
+     * Archive the collection json and manifest alongside the collection files already copied into the archive.
+     */
+    private static Path moveCollectionToArchive(Zebedee zebedee, Collection collection, Path collectionFilesDestination)
+            throws IOException {
+        info().collectionID(collection)
+                .log("moving collection files to archive for collection");
+
+        String filename = PathUtils.toFilename(collection.getDescription().getName());
+        Path collectionJsonSource = zebedee.getCollections().getPath().resolve(filename + ".json");
+        Path collectionJsonDestination = collectionFilesDestination.resolveSibling(
+                collectionFilesDestination.getFileName() + ".json");
 
         info().data("from", collectionJsonSource.toString())
                 .data("to", collectionJsonDestination.toString())
@@ -290,20 +425,6 @@ public class PostPublisher {
 
         FileUtils.copyFile(Manifest.getManifestPath(collection).toFile(), manifestDestination.toFile());
 
-        info().data("from", collectionFilesSource.toString())
-                .data("to", collectionFilesDestination.toString())
-                .log("moving collection files");
-
-        for (String uri : collection.getReviewed().uris()) {
-            try (
-                    Resource resource = collectionReader.getResource(uri);
-                    InputStream inputStream = resource.getData();
-            ) {
-                File destination = collectionFilesDestination.resolve(URIUtils.removeLeadingSlash(uri)).toFile();
-                FileUtils.copyInputStreamToFile(inputStream, destination);
-            }
-        }
-
         return collectionJsonDestination;
     }
 
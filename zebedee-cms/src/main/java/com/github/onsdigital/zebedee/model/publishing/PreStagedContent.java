@@ -0,0 +1,108 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import com.github.onsdigital.zebedee.util.FileTimeUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The collection files sent to the publishing transactions during the pre-publish window, recorded so that only the
+ * files changed since need to be sent again at the publish time.
+ * <p>
+ * A file is identified as unchanged by the size and last modified time of its collection source file, recorded before
+ * it was sent. File systems only record modified times to a limited precision, so a file modified within the racy
+ * window of {@link FileTimeUtils#isRacy} of being recorded may have been changed again without its modified
+ * time moving, and is always treated as changed.
+ */
+public class PreStagedContent {
+
+    private final Map<String, Fingerprint> files;
+    private final long stagedAt;
+
+    /**
+     * Record the current state of the given files, before they are sent.
+     *
+     * @param files the source file of each uri to be sent.
+     * @throws IOException if the attributes of a file cannot be read.
+     */
+    PreStagedContent(Map<String, Path> files) throws IOException {
+        this.stagedAt = System.currentTimeMillis();
+        this.files = new HashMap<>();
+        for (Map.Entry<String, Path> entry : files.entrySet()) {
+            this.files.put(entry.getKey(), Fingerprint.of(entry.getValue()));
+        }
+    }
+
+    /**
+     * @return the uris of the pre-staged files.
+     */
+    public Set<String> getUris() {
+        return Collections.unmodifiableSet(files.keySet());
+    }
+
+    /**
+     * @param currentUris the uris the collection would send now.
+     * @return the pre-staged uris that are no longer sent, in order.
+     */
+    public Set<String> getRemovedUris(Set<String> currentUris) {
+        Set<String> removed = new TreeSet<>(files.keySet());
+        removed.removeAll(currentUris);
+        return removed;
+    }
+
+    /**
+     * @param currentFiles the source file of each uri the collection would send now.
+     * @return the files that were added or may have been changed since they were pre-staged.
+     * @throws IOException if the attributes of a file cannot be read.
+     */
+    public Map<String, Path> getChangedFiles(Map<String, Path> currentFiles) throws IOException {
+        Map<String, Path> changed = new LinkedHashMap<>();
+        for (Map.Entry<String, Path> entry : currentFiles.entrySet()) {
+            Fingerprint staged = files.get(entry.getKey());
+            if (staged == null
+                    || FileTimeUtils.isRacy(FileTime.fromMillis(staged.lastModified), stagedAt)
+                    || !staged.equals(Fingerprint.of(entry.getValue()))) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return changed;
+    }
+
+    private static class Fingerprint {
+
+        private final long size;
+        private final long lastModified;
+
+        private Fingerprint(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        static Fingerprint of(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Fingerprint that = (Fingerprint) o;
+            return size == that.size && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(size) + Long.hashCode(lastModified);
+        }
+    }
+}
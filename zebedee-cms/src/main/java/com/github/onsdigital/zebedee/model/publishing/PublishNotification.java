@@ -10,7 +10,6 @@ import com.github.onsdigital.zebedee.model.publishing.legacycacheapi.LegacyCache
 import com.github.onsdigital.zebedee.util.SlackNotification;
 import com.github.onsdigital.zebedee.util.slack.PostMessageField;
 
-import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -46,27 +45,33 @@ public class PublishNotification {
 
             removePublishDateForUnlockedEvents(eventType);
 
-            try (Http http = new Http()) {
-                LegacyCacheApiClient.sendPayloads(http, legacyCacheApiHost, legacyCacheApiPayloads);
-            } catch (IOException e) {
-                String collectionId = legacyCacheApiPayloads.stream().findFirst().map(p -> p.collectionId).orElse("");
-                String payloads = Serialiser.serialise(legacyCacheApiPayloads);
-
-                error().data("collectionId", collectionId)
-                        .data("payloads", payloads)
-                        .data("eventType", eventType)
-                        .logException(e, "failed to send request to Legacy Cache API");
-
-                SlackNotification.alarm(
-                        "Failed to send request to Legacy Cache API",
-                        new PostMessageField("Event", eventType.name(), true),
-                        new PostMessageField("Collection ID", collectionId, true),
-                        new PostMessageField("Payloads", payloads, false)
-                );
-            }
+            // sent without waiting: a slow or unavailable Legacy Cache API must not hold up the approval or publish.
+            LegacyCacheApiClient.sendPayloadsAsync(legacyCacheApiHost, legacyCacheApiPayloads)
+                    .whenComplete((ignored, e) -> {
+                        if (e != null) {
+                            onSendFailure(eventType, e);
+                        }
+                    });
         }
     }
 
+    private void onSendFailure(EventType eventType, Throwable e) {
+        String collectionId = legacyCacheApiPayloads.stream().findFirst().map(p -> p.collectionId).orElse("");
+        String payloads = Serialiser.serialise(legacyCacheApiPayloads);
+
+        error().data("collectionId", collectionId)
+                .data("payloads", payloads)
+                .data("eventType", eventType)
+                .logException(e, "failed to send request to Legacy Cache API");
+
+        SlackNotification.alarm(
+                "Failed to send request to Legacy Cache API",
+                new PostMessageField("Event", eventType.name(), true),
+                new PostMessageField("Collection ID", collectionId, true),
+                new PostMessageField("Payloads", payloads, false)
+        );
+    }
+
     public static String format(Date date) {
         if (date == null) {
             return null;
@@ -6,6 +6,7 @@ import com.github.davidcarboni.httpino.Response;
 import com.github.onsdigital.zebedee.api.Root;
 import com.github.onsdigital.zebedee.configuration.CMSFeatureFlags;
 import com.github.onsdigital.zebedee.configuration.Configuration;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.json.ApprovalStatus;
 import com.github.onsdigital.zebedee.json.Event;
 import com.github.onsdigital.zebedee.json.EventType;
@@ -15,6 +16,7 @@ import com.github.onsdigital.zebedee.json.publishing.request.Manifest;
 import com.github.onsdigital.zebedee.logging.CMSLogEvent;
 import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
+import com.github.onsdigital.zebedee.model.publishing.client.PublishingHttpClient;
 import com.github.onsdigital.zebedee.model.publishing.verify.HashVerifier;
 import com.github.onsdigital.zebedee.model.publishing.verify.HashVerifierImpl;
 import com.github.onsdigital.zebedee.reader.CollectionReader;
@@ -29,6 +31,8 @@ import com.github.onsdigital.zebedee.util.SlackNotification;
 import com.github.onsdigital.zebedee.util.ZebedeeCmsService;
 import com.github.onsdigital.zebedee.util.slack.Notifier;
 import com.github.onsdigital.zebedee.util.slack.PostMessageField;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
@@ -38,16 +42,21 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -67,8 +76,19 @@ import static com.github.onsdigital.zebedee.util.SlackNotification.publishNotifi
 public class Publisher {
 
     private static final List<Host> theTrainHosts;
-    private static final ExecutorService pool = Executors.newFixedThreadPool(20);
-    private static final ExecutorService apiPool = Executors.newFixedThreadPool(5);
+    private static final PublishingExecutor pool = new PublishingExecutor("publishing",
+            Configuration.getPublishingThreads(), Configuration.getPublishingQueueSize())
+            .logStatsWhileBusy(Configuration.getPublishingStatsIntervalSeconds(), TimeUnit.SECONDS);
+    private static final PublishingExecutor apiPool = new PublishingExecutor("publishing-api",
+            Configuration.getPublishingApiThreads(), Configuration.getPublishingApiQueueSize());
+    private static final TrainHostLimiter trainHostLimiter = new TrainHostLimiter(
+            Configuration.getPublishingFilesPerTrainHost());
+
+    // Sends each file read by the pool to the train hosts. This is deliberately unbounded: a file blocks until all of
+    // its hosts are reading, so its sends must never queue behind those of another file. The number of threads is
+    // still bounded by the size of the pool multiplied by the number of train hosts.
+    private static final ExecutorService fanOutPool = Executors.newCachedThreadPool(
+            PublishingExecutor.threadFactory("publishing-fan-out", false));
 
     // endpoints
     private static final String BEGIN_ENDPOINT = "begin";
@@ -91,6 +111,7 @@ public class Publisher {
     static {
         theTrainHosts = Configuration.getTheTrainHosts();
         Runtime.getRuntime().addShutdownHook(new ShutDownPublisherThread(pool));
+        Runtime.getRuntime().addShutdownHook(new ShutDownPublisherThread(apiPool));
 
         // lazy loaded approach for getting the datasetService.
         datasetServiceSupplier = () -> ZebedeeCmsService.getInstance().getDatasetService();
@@ -112,6 +133,16 @@ public class Publisher {
      */
     public static boolean executePublish(Collection collection, CollectionReader collectionReader, String email)
             throws IOException {
+        return executePublish(collection, collectionReader, email, null);
+    }
+
+    /**
+     * Execute the publishing steps for a collection whose content may have been pre-staged.
+     *
+     * @param preStaged the content sent to the publishing transactions during pre-publish, or null to send all of it.
+     */
+    public static boolean executePublish(Collection collection, CollectionReader collectionReader, String email,
+                                         PreStagedContent preStaged) throws IOException {
         boolean success = false;
         final String collectionId = collection.getDescription().getId();
 
@@ -124,13 +155,11 @@ public class Publisher {
         if (CMSFeatureFlags.cmsFeatureFlags().isImagePublishingEnabled()) {
             imageFuture = publishImages(collection);
         }
-        publishFilteredCollectionFiles(collection, collectionReader);
-
-        if (CMSFeatureFlags.cmsFeatureFlags().isVerifyPublishEnabled()) {
-            info().data("feature", "ENABLE_VERIFY_PUBLISH_CONTENT").log("feature enabled verifying publishing content");
 
-            HashVerifier hashVerifier = HashVerifierImpl.getInstance();
-            hashVerifier.verifyTransactionContent(collection, collectionReader);
+        if (preStaged == null) {
+            publishAndVerifyCollectionFiles(collection, collectionReader);
+        } else {
+            publishPreStagedChanges(collection, collectionReader, preStaged);
         }
 
         // TODO - feels like we should check/return here if unsuccessful?
@@ -184,6 +213,93 @@ public class Publisher {
         return success;
     }
 
+    private static void publishAndVerifyCollectionFiles(Collection collection, CollectionReader collectionReader)
+            throws IOException {
+        Map<String, String> publishedHashes = publishFilteredCollectionFiles(collection, collectionReader);
+
+        if (CMSFeatureFlags.cmsFeatureFlags().isVerifyPublishEnabled()) {
+            info().data("feature", "ENABLE_VERIFY_PUBLISH_CONTENT").log("feature enabled verifying publishing content");
+
+            HashVerifier hashVerifier = HashVerifierImpl.getInstance();
+            hashVerifier.verifyTransactionContent(collection, collectionReader, publishedHashes);
+        }
+    }
+
+    /**
+     * Send and verify all of the collection files in the pre-publish window, so that at the publish time only the
+     * files changed since and the commit are left to do.
+     *
+     * @return the state of the files that were sent, to pass to
+     * {@link #executePublish(Collection, CollectionReader, String, PreStagedContent)}.
+     */
+    public static PreStagedContent preStageCollectionFiles(Collection collection, CollectionReader collectionReader)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        Map<String, Path> files = getFilesToPublish(collection);
+
+        // record the state of the files before sending them, so any change made while they are sent is picked up.
+        PreStagedContent preStaged = new PreStagedContent(files);
+        Map<String, String> publishedHashes = publishCollectionFiles(collection, collectionReader, files);
+
+        if (CMSFeatureFlags.cmsFeatureFlags().isVerifyPublishEnabled()) {
+            HashVerifierImpl.getInstance().verifyTransactionContent(collection, collectionReader, publishedHashes);
+        }
+
+        info().data("publishing", true).collectionID(collection)
+                .data("files", files.size())
+                .data("timeTaken", System.currentTimeMillis() - start)
+                .log("pre-staged collection content in publish transactions");
+        return preStaged;
+    }
+
+    /**
+     * Roll back the publishing transactions of the collection and replace them with new, empty ones. The train has no
+     * way to remove a file from a transaction, so this is the only way to discard files already sent to it.
+     */
+    public static void replacePublishingTransactions(Collection collection) throws IOException {
+        rollbackPublish(collection);
+        createPublishingTransactions(collection);
+        sendManifest(collection);
+    }
+
+    /**
+     * Send the files that have been added to or changed in the collection since it was pre-staged. The train has no
+     * way to remove a file from a transaction, so if any pre-staged file has since been removed from the collection
+     * the transactions are rolled back and the whole collection is sent to new ones.
+     */
+    private static void publishPreStagedChanges(Collection collection, CollectionReader collectionReader,
+                                                PreStagedContent preStaged) throws IOException {
+        Map<String, Path> files = getFilesToPublish(collection);
+
+        Set<String> removed = preStaged.getRemovedUris(files.keySet());
+        if (!removed.isEmpty()) {
+            warn().data("publishing", true).collectionID(collection)
+                    .data("removed", removed)
+                    .log("pre-staged files have been removed from the collection, publishing to new transactions");
+
+            replacePublishingTransactions(collection);
+            publishAndVerifyCollectionFiles(collection, collectionReader);
+            return;
+        }
+
+        Map<String, Path> changed = preStaged.getChangedFiles(files);
+        info().data("publishing", true).collectionID(collection)
+                .data("preStaged", preStaged.getUris().size())
+                .data("changed", changed.size())
+                .log("sending collection files changed since pre-stage");
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> publishedHashes = publishCollectionFiles(collection, collectionReader, changed);
+
+        if (CMSFeatureFlags.cmsFeatureFlags().isVerifyPublishEnabled()) {
+            HashVerifierImpl.getInstance().verifyTransactionContent(collection, collectionReader, publishedHashes,
+                    changed.keySet());
+        }
+    }
+
     /**
      * Sends a slack notification if there are any unpublished images in the
      * collection
@@ -368,7 +484,7 @@ public class Publisher {
         for (Host host : theTrainHosts) {
             results.add(pool.submit(() -> {
                 IOException result = null;
-                try (Http http = new Http()) {
+                try (Http http = publishingHttp()) {
                     info().data("publishing", true).data("trainHost", host).data("collectionId", collectionId)
                             .log("creating publish transaction for collection");
 
@@ -411,103 +527,215 @@ public class Publisher {
      *
      * @param collection
      * @param collectionReader
+     * @return the SHA-1 hash of each file sent, keyed by URI, calculated as it was sent.
      * @throws IOException
      */
-    public static void publishFilteredCollectionFiles(Collection collection, CollectionReader collectionReader)
+    public static Map<String, String> publishFilteredCollectionFiles(Collection collection,
+                                                                     CollectionReader collectionReader)
             throws IOException {
+        return publishCollectionFiles(collection, collectionReader, getFilesToPublish(collection));
+    }
+
+    /**
+     * Get the collection files to send to the train, with required filters applied.
+     *
+     * @return the source file of each uri to send, in order.
+     */
+    private static Map<String, Path> getFilesToPublish(Collection collection) throws IOException {
         // We do not want to send files that are already handled by the manifest.
         // Pass the function to filter files into the publish method.
-        
+
         Manifest manifest = Manifest.get(collection);
 
-        Function<String, Boolean> manifestFilter = uri -> manifest.filesToCopy.stream().anyMatch(fileCopy -> fileCopy.target.equals(uri));
+        Set<String> manifestTargets = manifest.filesToCopy.stream()
+                .map(fileCopy -> fileCopy.target)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        Function<String, Boolean> manifestFilter = manifestTargets::contains;
         Function<String, Boolean> timeseriesUriFilter = uri -> uri.contains("/timeseries/");
 
         Function<String, Boolean>[] filters = new Function[] { manifestFilter, timeseriesUriFilter };
 
-        List<Future<IOException>> results = new ArrayList<>();
-        long start = System.currentTimeMillis();
-
-        // Publish each item of content:
+        Map<String, Path> files = new LinkedHashMap<>();
         for (String uri : collection.getReviewed().uris()) {
             if (!shouldBeFiltered(filters, uri)) {
-                // publishFile(collection, encryptionPassword, results, uri, collectionReader);
-
                 Path source = collection.getReviewed().get(uri);
                 if (source != null) {
-                    boolean zipped = false;
-                    String publishUri = uri;
-
-                    // if we have a recognised compressed file - set the zip header and set the
-                    // correct uri so that the files
-                    // are unzipped to the correct place.
-                    if (source.getFileName().toString().equals("timeseries-to-publish.zip")) {
-                        zipped = true;
-                        publishUri = StringUtils.removeEnd(uri, "-to-publish.zip");
-                    }
+                    files.put(uri, source);
+                }
+            }
+        }
+        return files;
+    }
 
-                    for (Map.Entry<String, String> entry : collection.getDescription().getPublishTransactionIds()
-                            .entrySet()) {
-                        Host theTrainHost = new Host(entry.getKey());
-                        String transactionId = entry.getValue();
+    private static Map<String, String> publishCollectionFiles(Collection collection,
+                                                              CollectionReader collectionReader,
+                                                              Map<String, Path> files) throws IOException {
+        Map<Host, String> hostToTransactionId = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : collection.getDescription().getPublishTransactionIds().entrySet()) {
+            hostToTransactionId.put(new Host(entry.getKey()), entry.getValue());
+        }
 
-                        results.add(publishFile(collection.getDescription().getId(), theTrainHost,
-                                transactionId, uri, publishUri, zipped, source, collectionReader));
-                    }
-                }
+        Map<String, String> hashes = new ConcurrentHashMap<>();
+        List<Future<IOException>> results = new ArrayList<>();
+        long start = System.currentTimeMillis();
+
+        // Publish each item of content:
+        for (Map.Entry<String, Path> file : files.entrySet()) {
+            String uri = file.getKey();
+            Path source = file.getValue();
+            boolean zipped = false;
+            String publishUri = uri;
+
+            // if we have a recognised compressed file - set the zip header and set the
+            // correct uri so that the files
+            // are unzipped to the correct place.
+            if (source.getFileName().toString().equals("timeseries-to-publish.zip")) {
+                zipped = true;
+                publishUri = StringUtils.removeEnd(uri, "-to-publish.zip");
             }
+
+            results.add(publishFile(collection.getDescription().getId(), hostToTransactionId, uri,
+                    publishUri, zipped, source, collectionReader, hashes));
         }
 
         checkFutureResults(results, "error while attempting to publish file");
+        pool.logStats();
+        PublishingHttpClient.getInstance().logPoolStats();
 
         info().data("publishing", true).data("collectionId", collection.getDescription().getId())
                 .data("hostToTransactionID", collection.getDescription().getPublishTransactionIds())
                 .data("timeTaken", (System.currentTimeMillis() - start))
                 .log("successfully sent all publish file requests to the train");
+
+        return hashes;
     }
 
+    /**
+     * Publish a file to every train host. The file is read and decrypted once and the plaintext is streamed to each
+     * host in parallel through a bounded pipe, so the cost of decryption does not grow with the number of hosts and
+     * the file is never held in memory as a whole. The SHA-1 hash of the file is calculated as it is read and added
+     * to the given hashes once the whole file has been read, so it can be verified without decrypting it again.
+     */
     private static Future<IOException> publishFile(
             final String collectionID,
-            final Host host,
-            final String transactionId,
+            final Map<Host, String> hostToTransactionId,
             final String uri,
             final String publishUri,
             final boolean zipped,
             final Path source,
-            final CollectionReader reader) {
+            final CollectionReader reader,
+            final Map<String, String> hashes) {
         return pool.submit(() -> {
-            IOException result = null;
-            try (Http http = new Http()) {
-                Endpoint publish = new Endpoint(host, PUBLISH_ENDPOINT)
-                        .setParameter(TRANSACTION_ID_PARAM, transactionId)
-                        .setParameter(ZIP_PARAM, Boolean.toString(zipped))
-                        .setParameter(URI_PARAM, publishUri);
-                try (
-                        Resource resource = reader.getResource(uri);
-                        InputStream dataStream = resource.getData()) {
-                    info().data("publishing", true).data("collectionId", collectionID)
-                            .data("transactionId", transactionId)
-                            .data("trainHost", host)
-                            .data(URI_PARAM, uri).data("isZip", zipped)
-                            .log("sending publish collection file request to train host");
-
-                    Response<Result> response = http.post(publish, dataStream, source.getFileName().toString(),
-                            Result.class);
-                    checkResponse(response, transactionId, publish, collectionID);
-                }
-            } catch (IOException e) {
-
-                error().data("publishing", true).data("collectionId", collectionID)
-                        .data("transactionId", transactionId)
-                        .data("trainHost", host)
-                        .data(URI_PARAM, uri).data("isZip", zipped)
-                        .logException(e, "error while sending publish file request to train host");
-                result = e;
+            try (TrainHostLimiter.Permits permits = trainHostLimiter.acquire(hostToTransactionId.keySet())) {
+                return fanOutFile(collectionID, hostToTransactionId, uri, publishUri, zipped, source, reader,
+                        hashes);
             }
-            return result;
         });
     }
 
+    private static IOException fanOutFile(
+            final String collectionID,
+            final Map<Host, String> hostToTransactionId,
+            final String uri,
+            final String publishUri,
+            final boolean zipped,
+            final Path source,
+            final CollectionReader reader,
+            final Map<String, String> hashes) throws IOException, InterruptedException {
+        List<FanOutPipe> pipes = new ArrayList<>();
+        List<Future<IOException>> sends = new ArrayList<>();
+        for (Map.Entry<Host, String> entry : hostToTransactionId.entrySet()) {
+            FanOutPipe pipe = new FanOutPipe();
+            pipes.add(pipe);
+            sends.add(fanOutPool.submit(() -> sendFile(collectionID, entry.getKey(), entry.getValue(), uri,
+                    publishUri, zipped, source, pipe.input)));
+        }
+
+        IOException result = null;
+        try (
+                Resource resource = reader.getResource(uri);
+                DigestInputStream dataStream = new DigestInputStream(resource.getData(),
+                        DigestUtils.getSha1Digest())) {
+            if (FanOutPipe.copy(dataStream, pipes)) {
+                hashes.put(uri, Hex.encodeHexString(dataStream.getMessageDigest().digest()));
+            }
+        } catch (IOException e) {
+            error().data("publishing", true).data("collectionId", collectionID)
+                    .data(URI_PARAM, uri).data("isZip", zipped)
+                    .logException(e, "error while reading publish file from collection");
+            result = e;
+        } catch (ZebedeeException | RuntimeException e) {
+            error().data("publishing", true).data("collectionId", collectionID)
+                    .data(URI_PARAM, uri).data("isZip", zipped)
+                    .logException(e, "error while reading publish file from collection");
+            result = new IOException("error while reading publish file " + uri, e);
+        } finally {
+            // copy has already closed or failed every pipe, unless the resource could not be opened at all.
+            IOException failure = result != null ? result : new IOException("publish file was not read: " + uri);
+            for (FanOutPipe pipe : pipes) {
+                pipe.fail(failure);
+            }
+        }
+
+        for (Future<IOException> send : sends) {
+            try {
+                IOException sendResult = send.get();
+                if (result == null) {
+                    result = sendResult;
+                }
+            } catch (ExecutionException e) {
+                if (result == null) {
+                    result = new IOException(e.getCause());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new {@link Http} over the shared publishing API connection pool.
+     */
+    private static Http publishingHttp() {
+        return PublishingHttpClient.getInstance().newHttp();
+    }
+
+    private static IOException sendFile(
+            final String collectionID,
+            final Host host,
+            final String transactionId,
+            final String uri,
+            final String publishUri,
+            final boolean zipped,
+            final Path source,
+            final InputStream dataStream) {
+        IOException result = null;
+        try (Http http = publishingHttp(); InputStream data = dataStream) {
+            Endpoint publish = new Endpoint(host, PUBLISH_ENDPOINT)
+                    .setParameter(TRANSACTION_ID_PARAM, transactionId)
+                    .setParameter(ZIP_PARAM, Boolean.toString(zipped))
+                    .setParameter(URI_PARAM, publishUri);
+
+            info().data("publishing", true).data("collectionId", collectionID)
+                    .data("transactionId", transactionId)
+                    .data("trainHost", host)
+                    .data(URI_PARAM, uri).data("isZip", zipped)
+                    .log("sending publish collection file request to train host");
+
+            Response<Result> response = http.post(publish, data, source.getFileName().toString(), Result.class);
+            checkResponse(response, transactionId, publish, collectionID);
+        } catch (IOException e) {
+
+            error().data("publishing", true).data("collectionId", collectionID)
+                    .data("transactionId", transactionId)
+                    .data("trainHost", host)
+                    .data(URI_PARAM, uri).data("isZip", zipped)
+                    .logException(e, "error while sending publish file request to train host");
+            result = e;
+        }
+        return result;
+    }
+
     public static void sendManifest(Collection collection) throws IOException {
         Manifest manifest = Manifest.get(collection);
         List<Future<IOException>> futures = new ArrayList<>();
@@ -521,7 +749,7 @@ public class Publisher {
 
             futures.add(pool.submit(() -> {
                 IOException result = null;
-                try (Http http = new Http()) {
+                try (Http http = publishingHttp()) {
                     Endpoint publish = new Endpoint(theTrainHost, SEND_MANIFEST_ENDPOINT)
                             .setParameter(TRANSACTION_ID_PARAM, transactionId);
 
@@ -617,7 +845,7 @@ public class Publisher {
                             info().data("publishing", true).data("transactionId", transactionId)
                                     .data("trainHost", host).log("sending commit transaction request to train host");
 
-                            try (Http http = new Http()) {
+                            try (Http http = publishingHttp()) {
                                 Endpoint endpoint = new Endpoint(host, COMMIT_ENDPOINT)
                                         .setParameter(TRANSACTION_ID_PARAM, transactionId);
 
@@ -685,7 +913,7 @@ public class Publisher {
             String transactionId = entry.getValue();
             String collectionId = collection.getDescription().getId();
 
-            try (Http http = new Http()) {
+            try (Http http = publishingHttp()) {
                 Endpoint endpoint = new Endpoint(host, ROLLBACK_ENDPOINT)
                         .setParameter(TRANSACTION_ID_PARAM, transactionId);
 
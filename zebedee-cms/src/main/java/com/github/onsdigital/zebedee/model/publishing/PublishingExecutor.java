@@ -0,0 +1,156 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
+
+/**
+ * A named, fixed size executor for publishing tasks with a bounded queue.
+ * <p>
+ * When the queue is full the submitting thread runs the task itself, so a large publish slows the thread queueing
+ * its files down rather than filling memory with waiting tasks. The number of queued and running tasks and the time
+ * tasks spend waiting and running are recorded, and logged periodically while the executor is busy so that saturation
+ * can be seen as it happens.
+ */
+public class PublishingExecutor extends ThreadPoolExecutor {
+
+    private static final ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(
+            threadFactory("publishing-executor-monitor", true));
+
+    private final String name;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+
+    /**
+     * Create a new executor.
+     *
+     * @param name      the name of the executor, used to name its threads and in its logs.
+     * @param threads   the number of threads.
+     * @param queueSize the maximum number of tasks waiting for a thread.
+     */
+    public PublishingExecutor(String name, int threads, int queueSize) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                threadFactory(name, false));
+        this.name = name;
+        setRejectedExecutionHandler(new CallerRunsPolicy() {
+            @Override
+            public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                callerRuns.increment();
+                super.rejectedExecution(task, executor);
+            }
+        });
+    }
+
+    /**
+     * Log the statistics of this executor at the given interval whenever it has queued or running tasks.
+     *
+     * @param interval the interval between logs.
+     * @param unit     the unit of the interval.
+     * @return this executor.
+     */
+    public PublishingExecutor logStatsWhileBusy(long interval, TimeUnit unit) {
+        monitor.scheduleAtFixedRate(() -> {
+            if (!isShutdown() && (getActiveCount() > 0 || getQueueDepth() > 0)) {
+                logStats();
+            }
+        }, interval, interval, unit);
+        return this;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        super.execute(new TimedTask(task));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread.
+     */
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    /**
+     * @return the number of tasks run by the submitting thread because the queue was full.
+     */
+    public long getCallerRunsCount() {
+        return callerRuns.sum();
+    }
+
+    /**
+     * @return the average time in milliseconds that completed tasks waited for a thread.
+     */
+    public double getAverageQueueMillis() {
+        return average(queueNanos);
+    }
+
+    /**
+     * @return the average time in milliseconds that completed tasks took to run.
+     */
+    public double getAverageRunMillis() {
+        return average(runNanos);
+    }
+
+    public void logStats() {
+        info().data("executor", name)
+                .data("threads", getMaximumPoolSize())
+                .data("active", getActiveCount())
+                .data("queued", getQueueDepth())
+                .data("completed", completed.sum())
+                .data("callerRuns", getCallerRunsCount())
+                .data("avgQueueMillis", getAverageQueueMillis())
+                .data("avgRunMillis", getAverageRunMillis())
+                .log("publishing executor stats");
+    }
+
+    private double average(LongAdder totalNanos) {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalNanos.sum() / (count * 1_000_000.0);
+    }
+
+    static ThreadFactory threadFactory(String name, boolean daemon) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(daemon);
+            return thread;
+        };
+    }
+
+    /**
+     * Records the time a task spends queued and running.
+     */
+    private class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long queuedAt = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                queueNanos.add(startedAt - queuedAt);
+                runNanos.add(System.nanoTime() - startedAt);
+                completed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import com.github.davidcarboni.httpino.Host;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of files being sent to each train host at the same time.
+ * <p>
+ * A file is sent to all of its hosts at once, so the permits for every host are taken together before the file is
+ * read. They are always taken in the same order so that two files can never each hold a permit the other is waiting
+ * for.
+ */
+public class TrainHostLimiter {
+
+    private final int permitsPerHost;
+    private final ConcurrentMap<String, Semaphore> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerHost the maximum number of files sent to a single host at the same time.
+     */
+    public TrainHostLimiter(int permitsPerHost) {
+        if (permitsPerHost < 1) {
+            throw new IllegalArgumentException("permitsPerHost must be greater than zero");
+        }
+        this.permitsPerHost = permitsPerHost;
+    }
+
+    /**
+     * Wait for a permit for each of the given hosts.
+     *
+     * @param targets the hosts a file is about to be sent to.
+     * @return the permits taken, which must be closed once the file has been sent.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Permits acquire(Iterable<Host> targets) throws InterruptedException {
+        List<String> names = new ArrayList<>();
+        for (Host host : targets) {
+            names.add(host.toString());
+        }
+        names.sort(Comparator.naturalOrder());
+
+        Permits permits = new Permits();
+        try {
+            for (String name : names) {
+                Semaphore semaphore = hosts.computeIfAbsent(name, h -> new Semaphore(permitsPerHost, true));
+                semaphore.acquire();
+                permits.held.add(semaphore);
+            }
+        } catch (InterruptedException e) {
+            permits.close();
+            throw e;
+        }
+        return permits;
+    }
+
+    /**
+     * @return the number of files currently being sent to the given host.
+     */
+    public int inFlight(Host host) {
+        Semaphore semaphore = hosts.get(host.toString());
+        return semaphore == null ? 0 : permitsPerHost - semaphore.availablePermits();
+    }
+
+    /**
+     * The permits held for a single file.
+     */
+    public static class Permits implements AutoCloseable {
+
+        private final List<Semaphore> held = new ArrayList<>();
+
+        @Override
+        public void close() {
+            for (Semaphore semaphore : held) {
+                semaphore.release();
+            }
+            held.clear();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.github.onsdigital.zebedee.model.publishing.client;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Map;
 
 /**
  * Defines the interface for HTTP client for the website publising API.
@@ -20,4 +21,19 @@ public interface PublishingClient {
      */
     GetContentHashEntity getContentHash(String host, String transactionId, String uri) throws IOException,
             URISyntaxException;
+
+    /**
+     * Send the expected file hash of each of the given uris to the publishing API in a single request and get back
+     * the uris whose content does not have the expected hash.
+     *
+     * @param host           the host address of the publishing API.
+     * @param transactionId  the publishing transaction ID which the content belongs to.
+     * @param expectedHashes the expected hash of each uri to verify.
+     * @return {@link VerifyContentHashesEntity} with the uris that did not match.
+     * @throws IOException        problem executing the request.
+     * @throws URISyntaxException problem creating the request.
+     */
+    VerifyContentHashesEntity verifyContentHashes(String host, String transactionId,
+                                                  Map<String, String> expectedHashes) throws IOException,
+            URISyntaxException;
 }
@@ -5,12 +5,12 @@ import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
@@ -24,17 +24,19 @@ public class PublishingClientImpl implements PublishingClient {
     private Supplier<CloseableHttpClient> httpClientSupplier;
 
     /**
-     * Constuct a new PublishingClientImpl instance using the default values.
+     * Constuct a new PublishingClientImpl instance using the default values, sending requests over the shared
+     * {@link PublishingHttpClient} connection pool.
      */
     public PublishingClientImpl() {
-        this.httpClientSupplier = () -> HttpClients.createDefault();
+        this.httpClientSupplier = () -> PublishingHttpClient.getInstance().getHttpClient();
         this.requestBuilder = new PublishingRequestBuilderImpl();
     }
 
     /**
      * Construct a new PublishingClientImpl instance.
      *
-     * @param httpClientSupplier a {@link Supplier} returning a {@link CloseableHttpClient}.
+     * @param httpClientSupplier a {@link Supplier} returning a long lived {@link CloseableHttpClient}, which is not
+     *                           closed by this client.
      * @param requestBuilder     a {@link PublishingRequestBuilder} instance for creating HTTP requests to the publishing
      *                           API.
      */
@@ -54,10 +56,7 @@ public class PublishingClientImpl implements PublishingClient {
                 .host(host)
                 .uri(uri)
                 .log("executing get content hash request");
-        try (
-                CloseableHttpClient client = httpClientSupplier.get();
-                CloseableHttpResponse response = client.execute(request)
-        ) {
+        try (CloseableHttpResponse response = httpClientSupplier.get().execute(request)) {
             info().endHTTP(request, response)
                     .uri(uri)
                     .host(host)
@@ -71,6 +70,32 @@ public class PublishingClientImpl implements PublishingClient {
         }
     }
 
+    @Override
+    public VerifyContentHashesEntity verifyContentHashes(String host, String transactionId,
+                                                         Map<String, String> expectedHashes) throws IOException,
+            URISyntaxException {
+        HttpUriRequest request = requestBuilder.createVerifyContentHashesRequest(host, transactionId, expectedHashes);
+
+        info().beginHTTP(request)
+                .transactionId(transactionId)
+                .host(host)
+                .data("uris", expectedHashes.size())
+                .log("executing verify content hashes request");
+        try (CloseableHttpResponse response = httpClientSupplier.get().execute(request)) {
+            info().endHTTP(request, response)
+                    .host(host)
+                    .transactionId(transactionId)
+                    .log("execute verify content hashes request completed");
+
+            if (response.getCode() != 200) {
+                throw new PublishingClientException(
+                        "publishing API returned a non 200 status for verify content hashes request", host,
+                        transactionId, null, response.getCode());
+            }
+            return getResponseEntity(response.getEntity(), VerifyContentHashesEntity.class);
+        }
+    }
+
     private <T> T getResponseEntity(HttpEntity entity, Class<T> tClass) throws IOException {
         try (
                 InputStream inputStream = entity.getContent();
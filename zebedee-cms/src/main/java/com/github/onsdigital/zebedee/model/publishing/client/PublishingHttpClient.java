@@ -0,0 +1,127 @@
+package com.github.onsdigital.zebedee.model.publishing.client;
+
+import com.github.onsdigital.zebedee.configuration.Configuration;
+import com.github.onsdigital.zebedee.util.Http;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
+
+/**
+ * Long lived, pooled HTTP client for the publishing API (the train), shared by everything that talks to it so that
+ * connections are kept alive and reused across the thousands of requests made to publish a collection rather than
+ * being opened for each file.
+ * <p>
+ * The client must never be closed by its users. {@link Http} instances returned by {@link #newHttp()} can be used
+ * and closed as usual, closing them leaves the shared client open. Services other than the publishing API that are
+ * sent many requests at once can be given a separately sized pool of their own.
+ */
+public class PublishingHttpClient {
+
+    private static final long CONNECT_TIMEOUT_MS = 5000;
+    private static final int SOCKET_TIMEOUT_MS = 300000;
+    private static final long CONNECTION_REQUEST_TIMEOUT_MS = 5000;
+    private static final long IDLE_CONNECTION_TIMEOUT_SECONDS = 30;
+
+    private static volatile PublishingHttpClient instance = null;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * @param maxConnectionsPerRoute the maximum number of open connections to a single publishing API host.
+     * @param maxConnections         the maximum number of open connections to all hosts.
+     */
+    public PublishingHttpClient(int maxConnectionsPerRoute, int maxConnections) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .setSocketTimeout(SOCKET_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .build();
+
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setDefaultConnectionConfig(connectionConfig);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        this.connectionManager.setMaxTotal(maxConnections);
+
+        this.httpClient = HttpClients.custom()
+                .setDefaultRequestConfig(requestConfig)
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(IDLE_CONNECTION_TIMEOUT_SECONDS))
+                .build();
+    }
+
+    public static PublishingHttpClient getInstance() {
+        if (instance == null) {
+            synchronized (PublishingHttpClient.class) {
+                if (instance == null) {
+                    int perRoute = Configuration.getPublishingMaxConnectionsPerHost();
+                    int total = perRoute * Math.max(1, Configuration.getTheTrainHosts().size());
+
+                    info().data("maxConnectionsPerHost", perRoute)
+                            .data("maxConnections", total)
+                            .log("initialising publishing http client");
+                    instance = new PublishingHttpClient(perRoute, total);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the shared client, which must not be closed.
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return a new {@link Http} using the shared client.
+     */
+    public Http newHttp() {
+        return new SharedHttp(httpClient);
+    }
+
+    /**
+     * @return the number of leased, idle and pending connections across all publishing API hosts.
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    public void logPoolStats() {
+        PoolStats stats = getPoolStats();
+        info().data("leased", stats.getLeased())
+                .data("available", stats.getAvailable())
+                .data("pending", stats.getPending())
+                .data("max", stats.getMax())
+                .log("publishing http client connection pool stats");
+    }
+
+    /**
+     * {@link Http} over the shared client, which is left open when the instance is closed.
+     */
+    private static class SharedHttp extends Http {
+
+        SharedHttp(CloseableHttpClient sharedClient) {
+            this.httpClient = sharedClient;
+        }
+
+        @Override
+        public void close() {
+            // the shared client outlives this instance.
+        }
+    }
+}
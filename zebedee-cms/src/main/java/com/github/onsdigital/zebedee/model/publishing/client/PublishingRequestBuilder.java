@@ -3,6 +3,7 @@ package com.github.onsdigital.zebedee.model.publishing.client;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 
 import java.net.URISyntaxException;
+import java.util.Map;
 
 /**
  * Defines the behaviour of a publishing API HTTP request builder.
@@ -20,4 +21,17 @@ public interface PublishingRequestBuilder {
      * @throws IllegalArgumentException thrown if input paramerters are invalid/null/empty.
      */
     HttpUriRequest createGetContentHashRequest(String host, String transactionId, String uri) throws URISyntaxException;
+
+    /**
+     * Create a new HTTP POST request to verify the content hashes of a batch of uris with the publishing API.
+     *
+     * @param host           the host address of the publishing API.
+     * @param transactionId  the ID of the publishing transaction the content belongs to.
+     * @param expectedHashes the expected file hash of each uri.
+     * @return a {@link HttpUriRequest}.
+     * @throws URISyntaxException       error creating the request.
+     * @throws IllegalArgumentException thrown if input paramerters are invalid/null/empty.
+     */
+    HttpUriRequest createVerifyContentHashesRequest(String host, String transactionId,
+                                                    Map<String, String> expectedHashes) throws URISyntaxException;
 }
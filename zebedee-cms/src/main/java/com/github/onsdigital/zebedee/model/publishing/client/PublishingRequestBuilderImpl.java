@@ -1,14 +1,20 @@
 package com.github.onsdigital.zebedee.model.publishing.client;
 
+import com.google.gson.Gson;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicHeader;
 import org.apache.hc.core5.net.URIBuilder;
 import org.slf4j.MDC;
 
 import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
@@ -28,6 +34,10 @@ public class PublishingRequestBuilderImpl implements PublishingRequestBuilder {
 
     private static final String GET_CONTENT_HASH_URI = "/contentHash";
 
+    private static final String VERIFY_CONTENT_HASHES_URI = "/contentHashes";
+
+    private static final String HASHES_FIELD = "hashes";
+
     @Override
     public HttpUriRequest createGetContentHashRequest(String host, String transactionId, String uri) throws URISyntaxException {
         validateGetContentHashRequestParams(host, transactionId, uri);
@@ -44,6 +54,40 @@ public class PublishingRequestBuilderImpl implements PublishingRequestBuilder {
         return httpGet;
     }
 
+    @Override
+    public HttpUriRequest createVerifyContentHashesRequest(String host, String transactionId,
+                                                           Map<String, String> expectedHashes)
+            throws URISyntaxException {
+        validateVerifyContentHashesRequestParams(host, transactionId, expectedHashes);
+
+        HttpPost httpPost = new HttpPost(host + VERIFY_CONTENT_HASHES_URI);
+
+        httpPost.setUri(new URIBuilder(httpPost.getUri())
+                .setParameter(TRANSACTION_ID_PARAM, transactionId)
+                .build());
+
+        String body = new Gson().toJson(Collections.singletonMap(HASHES_FIELD, expectedHashes));
+        httpPost.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        httpPost.setHeader(getTraceIDHeader());
+
+        return httpPost;
+    }
+
+    private void validateVerifyContentHashesRequestParams(String host, String transactionId,
+                                                          Map<String, String> expectedHashes) {
+        if (StringUtils.isEmpty(host)) {
+            throw new IllegalArgumentException("host required for createVerifyContentHashesRequest but none provided");
+        }
+
+        if (StringUtils.isEmpty(transactionId)) {
+            throw new IllegalArgumentException("transaction required for createVerifyContentHashesRequest but none provided");
+        }
+
+        if (expectedHashes == null || expectedHashes.isEmpty()) {
+            throw new IllegalArgumentException("hashes required for createVerifyContentHashesRequest but none provided");
+        }
+    }
+
     private void validateGetContentHashRequestParams(String host, String transactionId, String uri) {
         if (StringUtils.isEmpty(host)) {
             throw new IllegalArgumentException("host required for createGetContentHashRequest but none provided");
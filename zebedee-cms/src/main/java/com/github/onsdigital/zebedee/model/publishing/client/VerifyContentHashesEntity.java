@@ -0,0 +1,59 @@
+package com.github.onsdigital.zebedee.model.publishing.client;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * VerifyContentHashesEntity POJO representing the http response entity returned from the Publishing API verify
+ * content hashes endpoint.
+ */
+public class VerifyContentHashesEntity {
+
+    private String transactionId;
+    private Map<String, String> mismatches;
+
+    /**
+     * Construct a new VerifyContentHashesEntity
+     *
+     * @param transactionId the publishing transaction ID.
+     * @param mismatches    the actual file hash of each uri that did not have the expected hash, null for a uri
+     *                      with no content.
+     */
+    public VerifyContentHashesEntity(final String transactionId, final Map<String, String> mismatches) {
+        this.transactionId = transactionId;
+        this.mismatches = mismatches;
+    }
+
+    public String getTransactionId() {
+        return this.transactionId;
+    }
+
+    public Map<String, String> getMismatches() {
+        return this.mismatches == null ? Collections.emptyMap() : this.mismatches;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        VerifyContentHashesEntity entity = (VerifyContentHashesEntity) o;
+
+        return new EqualsBuilder()
+                .append(getTransactionId(), entity.getTransactionId())
+                .append(getMismatches(), entity.getMismatches())
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(getTransactionId())
+                .append(getMismatches())
+                .toHashCode();
+    }
+}
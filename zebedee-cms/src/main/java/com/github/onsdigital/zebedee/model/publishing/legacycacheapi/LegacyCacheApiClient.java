@@ -2,51 +2,280 @@ package com.github.onsdigital.zebedee.model.publishing.legacycacheapi;
 
 import com.github.davidcarboni.httpino.*;
 import com.github.onsdigital.zebedee.configuration.Configuration;
+import com.github.onsdigital.zebedee.model.publishing.PublishingExecutor;
 import com.github.onsdigital.zebedee.model.publishing.WebsiteResponse;
+import com.github.onsdigital.zebedee.model.publishing.client.PublishingHttpClient;
 import com.github.onsdigital.zebedee.util.EncryptionUtils;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
+import static com.github.onsdigital.logging.v2.event.SimpleEvent.warn;
 
+/**
+ * Sends the cache times of the pages of a collection to the Legacy Cache API.
+ * <p>
+ * The pages of a collection are sent concurrently, up to {@link Configuration#getLegacyCacheApiConcurrency()} at a
+ * time, and a request that fails with an IO error or a 5xx response is retried with an exponential backoff.
+ * {@link #sendPayloadsAsync} sends a batch on a separate thread so the approval or publish that triggered it does not
+ * wait for the Legacy Cache API. The number of requests in flight, sent, retried and failed after every attempt are
+ * logged after each batch along with the statistics of the request pool.
+ */
 public class LegacyCacheApiClient {
     private static final String CACHE_TIMES_RESOURCE_PATH = "/v1/cache-times/";
+    private static final long INITIAL_BACKOFF_MS = 250;
+
+    private static final PublishingExecutor POOL = new PublishingExecutor("legacy-cache-api",
+            Configuration.getLegacyCacheApiConcurrency(), Configuration.getPublishingQueueSize());
+
+    private static final PublishingExecutor BATCHES = new PublishingExecutor("legacy-cache-api-batches", 1,
+            Configuration.getPublishingQueueSize());
+
+    private static final PublishingHttpClient HTTP_CLIENT = new PublishingHttpClient(
+            Configuration.getLegacyCacheApiConcurrency(), Configuration.getLegacyCacheApiConcurrency());
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final LongAdder sent = new LongAdder();
+    private static final LongAdder retried = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            BATCHES.shutdown();
+            POOL.shutdown();
+        }));
+    }
 
     private LegacyCacheApiClient() {}
 
+    /**
+     * @return a new {@link Http} over the pooled client shared by all Legacy Cache API requests. Closing it leaves
+     * the shared client open.
+     */
+    public static Http newHttp() {
+        return HTTP_CLIENT.newHttp();
+    }
+
+    /**
+     * Send the given payloads to the Legacy Cache API on a separate thread without waiting for them. Batches are sent
+     * one after another, in the order they are submitted, over a new {@link Http} that is closed once the batch is
+     * complete.
+     *
+     * @param host     the Legacy Cache API host.
+     * @param payloads the payloads to send. They are copied, so the caller may change the collection afterwards.
+     * @return a future completed once every payload has been sent, or completed exceptionally with the
+     * {@link IOException} from {@link #sendPayloads} if any payload could not be sent.
+     */
+    public static CompletableFuture<Void> sendPayloadsAsync(Host host, Collection<LegacyCacheApiPayload> payloads) {
+        return sendPayloadsAsync(LegacyCacheApiClient::newHttp, host, payloads);
+    }
+
+    static CompletableFuture<Void> sendPayloadsAsync(Supplier<Http> httpSupplier, Host host,
+                                                     Collection<LegacyCacheApiPayload> payloads) {
+        List<LegacyCacheApiPayload> batch = new ArrayList<>(payloads);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        BATCHES.execute(() -> {
+            try (Http http = httpSupplier.get()) {
+                sendPayloads(http, host, batch);
+                result.complete(null);
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Send the given payloads to the Legacy Cache API and wait for every one of them to complete.
+     *
+     * @param http     the {@link Http} to send the requests with, which must be safe to use from multiple threads.
+     * @param host     the Legacy Cache API host.
+     * @param payloads the payloads to send.
+     * @throws IOException if any payload could not be sent after every attempt. The other payloads are still sent.
+     */
     public static void sendPayloads(Http http, Host host, Iterable<LegacyCacheApiPayload> payloads) throws IOException {
         String legacyCacheApiServiceToken = Configuration.getLegacyCacheAPIAuthToken();
         NameValuePair authHeader = new BasicNameValuePair("Authorization", legacyCacheApiServiceToken);
 
+        // resolve every endpoint before sending anything so an invalid payload fails the whole batch up front.
+        List<Request> requests = new ArrayList<>();
         for (LegacyCacheApiPayload payload : payloads) {
             String resourceId = EncryptionUtils.createMD5Checksum(payload.uriToUpdate);
             String path = CACHE_TIMES_RESOURCE_PATH + resourceId;
+            requests.add(new Request(new Endpoint(host, path), path, payload));
+        }
+
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int maxAttempts = Configuration.getLegacyCacheApiMaxAttempts();
 
-            info().data("path", path)
-                    .data("payload", Serialiser.serialise(payload))
-                    .log("sending request to Legacy Cache API");
+        List<Future<Boolean>> results = new ArrayList<>(requests.size());
+        for (Request request : requests) {
+            results.add(POOL.submit(() -> send(http, request, authHeader, maxAttempts)));
+        }
+
+        IOException failure = null;
+        int failures = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                if (!result.get()) {
+                    failures++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while sending requests to Legacy Cache API");
+            } catch (ExecutionException e) {
+                failures++;
+                if (failure == null) {
+                    failure = e.getCause() instanceof IOException
+                            ? (IOException) e.getCause() : new IOException(e.getCause());
+                }
+            }
+        }
 
-            Endpoint endpoint = new Endpoint(host, path);
+        String collectionId = requests.get(0).payload.collectionId;
+        info().data("collectionId", collectionId)
+                .data("requests", requests.size())
+                .data("failed", failures)
+                .data("timeTaken", System.currentTimeMillis() - start)
+                .log("sent requests to Legacy Cache API");
+        logStats();
 
-            Response<WebsiteResponse> response = http.put(endpoint, payload, WebsiteResponse.class, authHeader);
-            logResponse(response, payload.collectionId);
+        if (failure != null) {
+            throw new IOException("failed to send " + failures + " of " + requests.size()
+                    + " requests to Legacy Cache API for collection " + collectionId, failure);
         }
     }
 
-    private static void logResponse(Response<WebsiteResponse> response, String collectionId) {
+    /**
+     * @return true if the request succeeded, false if it returned an error response after every attempt.
+     * @throws IOException if the request could not be sent after every attempt.
+     */
+    private static boolean send(Http http, Request request, NameValuePair authHeader, int maxAttempts)
+            throws IOException, InterruptedException {
+        inFlight.incrementAndGet();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Response<WebsiteResponse> response = http.put(request.endpoint, request.payload,
+                            WebsiteResponse.class, authHeader);
+
+                    if (response.getStatusCode() < 500 || attempt >= maxAttempts) {
+                        logResponse(response, request);
+                        boolean success = response.getStatusCode() <= 302;
+                        (success ? sent : failed).increment();
+                        return success;
+                    }
+
+                    warn().data("path", request.path)
+                            .data("statusCode", response.getStatusCode())
+                            .data("attempt", attempt)
+                            .log("error response from Legacy Cache API, retrying");
+                } catch (IOException e) {
+                    if (attempt >= maxAttempts) {
+                        failed.increment();
+                        throw e;
+                    }
+
+                    warn().data("path", request.path)
+                            .data("attempt", attempt)
+                            .exception(e)
+                            .log("failed to send request to Legacy Cache API, retrying");
+                }
+
+                retried.increment();
+                Thread.sleep(INITIAL_BACKOFF_MS << (attempt - 1));
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void logResponse(Response<WebsiteResponse> response, Request request) {
         String responseMessage = response.getBody() == null ? response.getReasonPhrase() : response.getBody().getMessage();
 
         if (response.getStatusCode() > 302) {
             error().data("responseMessage", responseMessage)
-                    .data("collectionId", collectionId)
+                    .data("collectionId", request.payload.collectionId)
+                    .data("uri", request.payload.uriToUpdate)
+                    .data("path", request.path)
                     .log("Error response from Legacy Cache API");
         } else {
             info().data("responseMessage", responseMessage)
-                    .data("collectionId", collectionId)
+                    .data("collectionId", request.payload.collectionId)
+                    .data("uri", request.payload.uriToUpdate)
+                    .data("path", request.path)
                     .log("Response from Legacy Cache API");
         }
     }
+
+    /**
+     * Log the number of requests in flight, sent, retried and failed since startup, and the statistics of the request
+     * pool.
+     */
+    public static void logStats() {
+        info().data("inFlight", getInFlightCount())
+                .data("sent", getSentCount())
+                .data("retried", getRetriedCount())
+                .data("failed", getFailedCount())
+                .log("Legacy Cache API client stats");
+        POOL.logStats();
+    }
+
+    /**
+     * @return the number of requests currently being sent or waiting to be retried.
+     */
+    public static int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return the number of updates sent successfully.
+     */
+    public static long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * @return the number of requests retried.
+     */
+    public static long getRetriedCount() {
+        return retried.sum();
+    }
+
+    /**
+     * @return the number of updates that failed after every attempt.
+     */
+    public static long getFailedCount() {
+        return failed.sum();
+    }
+
+    private static class Request {
+
+        private final Endpoint endpoint;
+        private final String path;
+        private final LegacyCacheApiPayload payload;
+
+        Request(Endpoint endpoint, String path, LegacyCacheApiPayload payload) {
+            this.endpoint = endpoint;
+            this.path = path;
+            this.payload = payload;
+        }
+    }
 }
@@ -9,6 +9,7 @@ import com.github.onsdigital.zebedee.json.CollectionType;
 import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.model.ZebedeeCollectionReader;
 import com.github.onsdigital.zebedee.model.publishing.PostPublisher;
+import com.github.onsdigital.zebedee.model.publishing.PreStagedContent;
 import com.github.onsdigital.zebedee.model.publishing.Publisher;
 import com.github.onsdigital.zebedee.model.publishing.scheduled.PublishScheduler;
 import com.github.onsdigital.zebedee.util.SlackNotification;
@@ -29,6 +30,7 @@ import java.util.concurrent.Future;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
+import static com.github.onsdigital.zebedee.configuration.CMSFeatureFlags.cmsFeatureFlags;
 
 /**
  * A scheduled task to run the pre-publish process for a number of collections.
@@ -153,7 +155,13 @@ public class PrePublishCollectionsTask extends ScheduledTask {
 
                         SecretKey key = zebedee.getSchedulerKeyCache().get(collection.getDescription().getId());
                         ZebedeeCollectionReader collectionReader = new ZebedeeCollectionReader(collection, key);
-                        PublishCollectionTask publishCollectionTask = new PublishCollectionTask(collection, collectionReader, hostToTransactionIdMap);
+                        PreStagedContent preStagedContent = null;
+                        if (cmsFeatureFlags().isPreStagePublishEnabled()) {
+                            preStagedContent = preStageContent(collection, collectionReader);
+                            // the transactions are replaced if pre-staging fails.
+                            hostToTransactionIdMap = collection.getDescription().getPublishTransactionIds();
+                        }
+                        PublishCollectionTask publishCollectionTask = new PublishCollectionTask(collection, collectionReader, hostToTransactionIdMap, preStagedContent);
 
                         info().data("collectionId", collection.getDescription().getId())
                                 .log("PRE-PUBLISH: Adding publish task");
@@ -189,6 +197,30 @@ public class PrePublishCollectionsTask extends ScheduledTask {
         return collectionPublishTasks;
     }
 
+    /**
+     * Send the collection content to its publishing transactions ahead of time, so that only content changed since
+     * needs to be sent at the publish time. If this fails part of the content may already be in the transactions,
+     * and any of it removed from the collection before the publish would still be committed, so the transactions are
+     * replaced with new ones and the publish task sends all of the content as usual.
+     *
+     * @return the pre-staged content, or null if the content could not be pre-staged.
+     * @throws IOException if the transactions could not be replaced.
+     */
+    private PreStagedContent preStageContent(Collection collection, ZebedeeCollectionReader collectionReader)
+            throws IOException {
+        try {
+            info().data("collectionId", collection.getDescription().getId())
+                    .log("PRE-PUBLISH: pre-staging collection content");
+            return Publisher.preStageCollectionFiles(collection, collectionReader);
+        } catch (Exception e) {
+            error().data("collectionId", collection.getDescription().getId())
+                    .logException(e, "PRE-PUBLISH: error pre-staging collection content, replacing the publish " +
+                            "transactions and all content will be sent at publish time");
+        }
+        Publisher.replacePublishingTransactions(collection);
+        return null;
+    }
+
     /**
      * Prepare a post publish task for each collection ahead of the publish.
      *
@@ -3,6 +3,7 @@ package com.github.onsdigital.zebedee.model.publishing.scheduled.task;
 import com.github.onsdigital.zebedee.configuration.Configuration;
 import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.model.ZebedeeCollectionReader;
+import com.github.onsdigital.zebedee.model.publishing.PreStagedContent;
 import com.github.onsdigital.zebedee.model.publishing.Publisher;
 import com.github.onsdigital.zebedee.util.slack.Notifier;
 
@@ -25,6 +26,7 @@ public class PublishCollectionTask implements Callable<Boolean> {
     private Collection collection;
     private ZebedeeCollectionReader collectionReader;
     private Map<String, String> hostToTransactionIdMap;
+    private PreStagedContent preStagedContent;
 
     /**
      * Create a new task for a collection to be published.
@@ -38,6 +40,19 @@ public class PublishCollectionTask implements Callable<Boolean> {
         this.hostToTransactionIdMap = hostToTransactionIdMap;
     }
 
+    /**
+     * Create a new task for a collection whose content has been pre-staged in its publishing transactions.
+     *
+     * @param collection       - The collection to publish.
+     * @param collectionReader - The collection reader to read collection content.
+     * @param preStagedContent - The content sent to the publishing transactions during pre-publish.
+     */
+    public PublishCollectionTask(Collection collection, ZebedeeCollectionReader collectionReader,
+                                 Map<String, String> hostToTransactionIdMap, PreStagedContent preStagedContent) {
+        this(collection, collectionReader, hostToTransactionIdMap);
+        this.preStagedContent = preStagedContent;
+    }
+
     /**
      * Publish the collection.
      *
@@ -53,7 +68,8 @@ public class PublishCollectionTask implements Callable<Boolean> {
             info().data("collectionId", collectionId).log("PUBLISH: Running collection publish task");
             collection.getDescription().setPublishStartDate(new Date());
 
-            published = Publisher.executePublish(collection, collectionReader, publisherSystemEmail);
+            published = Publisher.executePublish(collection, collectionReader, publisherSystemEmail,
+                    preStagedContent);
 
             collection.getDescription().setPublishEndDate(new Date());
         } catch (Exception e) {
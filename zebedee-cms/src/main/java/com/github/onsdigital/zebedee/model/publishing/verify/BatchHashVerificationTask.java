@@ -0,0 +1,89 @@
+package com.github.onsdigital.zebedee.model.publishing.verify;
+
+import com.github.onsdigital.zebedee.model.publishing.client.PublishingClient;
+import com.github.onsdigital.zebedee.model.publishing.client.VerifyContentHashesEntity;
+
+import java.text.MessageFormat;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.error;
+import static com.github.onsdigital.zebedee.model.publishing.verify.HashVerificationTask.HASH_INCORRECT_ERR;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Task sends the expected SHA-1 file hashes of a batch of files in a publishing transaction to the Publishing API in a
+ * single request, confirming the content of every file in the batch was received successfully and not corrupted.
+ * <p></p>
+ * Implements {@link Callable} and returns true if every hash was as expected
+ * throws an {@link HashVerificationException} wrapped in an {@link java.util.concurrent.ExecutionException} otherwise.
+ */
+public class BatchHashVerificationTask implements Callable<Boolean> {
+
+    private final String collectionID;
+    private final String host;
+    private final String transactionId;
+    private final Map<String, String> expectedHashes;
+    private final PublishingClient publishingClient;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param collectionID     the ID of the collection being verified.
+     * @param host             the publishing API host to verify the content with.
+     * @param transactionId    the publishing transaction ID the content belongs to.
+     * @param expectedHashes   the expected SHA-1 hash of each uri in the batch.
+     * @param publishingClient the {@link PublishingClient} to communicate with the publishing API.
+     */
+    public BatchHashVerificationTask(String collectionID, String host, String transactionId,
+                                     Map<String, String> expectedHashes, PublishingClient publishingClient) {
+        this.collectionID = requireNonNull(collectionID);
+        this.host = requireNonNull(host);
+        this.transactionId = requireNonNull(transactionId);
+        this.expectedHashes = requireNonNull(expectedHashes);
+        this.publishingClient = requireNonNull(publishingClient);
+    }
+
+    @Override
+    public Boolean call() throws Exception {
+        VerifyContentHashesEntity result = verifyContentHashes();
+
+        Map<String, String> mismatches = result.getMismatches();
+        if (mismatches.isEmpty()) {
+            return true;
+        }
+
+        mismatches.forEach((uri, actual) -> error().collectionID(collectionID)
+                .host(host)
+                .transactionId(transactionId)
+                .uri(uri)
+                .data("expected", expectedHashes.get(uri))
+                .data("actual", actual)
+                .log("file content hash from remote server did not match the expected value"));
+
+        Map.Entry<String, String> first = mismatches.entrySet().iterator().next();
+        String msg = MessageFormat.format(HASH_INCORRECT_ERR, expectedHashes.get(first.getKey()), first.getValue());
+        throw new HashVerificationException(msg, collectionID, host, transactionId, first.getKey());
+    }
+
+    private VerifyContentHashesEntity verifyContentHashes() {
+        try {
+            return publishingClient.verifyContentHashes(host, transactionId, expectedHashes);
+        } catch (Exception ex) {
+            throw new HashVerificationException("http request to publishing API /contentHashes returned an error",
+                    ex, collectionID, host, transactionId, null);
+        }
+    }
+
+    public String getHost() {
+        return this.host;
+    }
+
+    public String getTransactionId() {
+        return this.transactionId;
+    }
+
+    public Map<String, String> getExpectedHashes() {
+        return this.expectedHashes;
+    }
+}
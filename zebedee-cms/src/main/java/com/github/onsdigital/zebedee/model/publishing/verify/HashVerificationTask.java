@@ -35,6 +35,7 @@ public class HashVerificationTask implements Callable<Boolean> {
     private String host;
     private String transactionId;
     private String uri;
+    private String expectedHash;
     private PublishingClient publishingClient;
 
     /**
@@ -46,12 +47,14 @@ public class HashVerificationTask implements Callable<Boolean> {
         this.host = requireNonNull(builder.getPublishingAPIHost());
         this.transactionId = requireNonNull(builder.getTransactionId());
         this.uri = requireNonNull(builder.getUri());
+        this.expectedHash = builder.getExpectedHash();
         this.publishingClient = requireNonNull(builder.getPublishingClient());
     }
 
     /**
      * Verify the data receieved by the publishing API instance is correct. Retrive the SHA-1 file hash for the
-     * content URI from publishing API instance, generate a SHA-1 hash from the collection file locally and compare.
+     * content URI from publishing API instance, generate a SHA-1 hash from the collection file locally (unless the
+     * expected hash was captured when the file was sent) and compare.
      *
      * @return true if the hash values match, throws {@link HashVerificationException} if the hash is incorrect, there
      * was an error requesting the hash from the publishing API, or there was an error generating the local hash value.
@@ -80,14 +83,31 @@ public class HashVerificationTask implements Callable<Boolean> {
     }
 
     private String getExpectedHashValue() {
+        if (expectedHash != null) {
+            return expectedHash;
+        }
+        try {
+            return calculateHash(collectionReader, uri);
+        } catch (Exception ex) {
+            throw new HashVerificationException(GENERATE_HASH_ERR, ex, collectionID, host, transactionId, uri);
+        }
+    }
+
+    /**
+     * Generate the SHA-1 hash of a collection file.
+     *
+     * @param collectionReader the reader to decrypt and read the collection content with.
+     * @param uri              the uri of the content.
+     * @return the hex encoded SHA-1 hash of the content.
+     * @throws Exception problem reading the content.
+     */
+    static String calculateHash(CollectionReader collectionReader, String uri) throws Exception {
         try (
                 Resource resource = collectionReader.getResource(uri);
                 InputStream in = resource.getData();
                 BufferedInputStream buf = new BufferedInputStream(in)
         ) {
             return DigestUtils.sha1Hex(buf);
-        } catch (Exception ex) {
-            throw new HashVerificationException(GENERATE_HASH_ERR, ex, collectionID, host, transactionId, uri);
         }
     }
 
@@ -116,6 +136,10 @@ public class HashVerificationTask implements Callable<Boolean> {
         return this.uri;
     }
 
+    public String getExpectedHash() {
+        return this.expectedHash;
+    }
+
     public PublishingClient getPublishingClient() {
         return this.publishingClient;
     }
@@ -134,6 +158,7 @@ public class HashVerificationTask implements Callable<Boolean> {
                 .append(this.host, that.host)
                 .append(this.transactionId, that.transactionId)
                 .append(this.uri, that.uri)
+                .append(this.expectedHash, that.expectedHash)
                 .append(this.publishingClient, that.publishingClient)
                 .isEquals();
     }
@@ -146,6 +171,7 @@ public class HashVerificationTask implements Callable<Boolean> {
                 .append(this.host)
                 .append(this.transactionId)
                 .append(this.uri)
+                .append(this.expectedHash)
                 .append(this.publishingClient)
                 .toHashCode();
     }
@@ -159,6 +185,7 @@ public class HashVerificationTask implements Callable<Boolean> {
         private String publishingAPIHost;
         private String transactionId;
         private String uri;
+        private String expectedHash;
         private PublishingClient publishingClient;
 
         /**
@@ -201,6 +228,15 @@ public class HashVerificationTask implements Callable<Boolean> {
             return this;
         }
 
+        /**
+         * Set the SHA-1 hash the content is expected to have, if it is already known. Otherwise it is generated from
+         * the collection file.
+         */
+        public Builder expectedHash(String expectedHash) {
+            this.expectedHash = expectedHash;
+            return this;
+        }
+
         /**
          * Set the {@link PublishingClient} instance to use to communicate with the publishing API.
          */
@@ -236,6 +272,10 @@ public class HashVerificationTask implements Callable<Boolean> {
             return this.uri;
         }
 
+        public String getExpectedHash() {
+            return this.expectedHash;
+        }
+
         public PublishingClient getPublishingClient() {
             return this.publishingClient;
         }
@@ -3,7 +3,34 @@ package com.github.onsdigital.zebedee.model.publishing.verify;
 import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.reader.CollectionReader;
 
+import java.util.Map;
+import java.util.Set;
+
 public interface HashVerifier {
 
     void verifyTransactionContent(Collection collection, CollectionReader reader) throws HashVerificationException;
+
+    /**
+     * Verify the content sent to the publishing APIs was received correctly, using the given hashes captured when
+     * the content was sent instead of reading the collection content again.
+     *
+     * @param collection      the collection to verify.
+     * @param reader          a {@link CollectionReader} used read any collection content without a known hash.
+     * @param publishedHashes the SHA-1 hash of the content sent, keyed by uri.
+     * @throws HashVerificationException thrown for any error while attempting to verify the content.
+     */
+    void verifyTransactionContent(Collection collection, CollectionReader reader, Map<String, String> publishedHashes)
+            throws HashVerificationException;
+
+    /**
+     * Verify only the given files sent to the publishing APIs were received correctly.
+     *
+     * @param collection      the collection to verify.
+     * @param reader          a {@link CollectionReader} used read any collection content without a known hash.
+     * @param publishedHashes the SHA-1 hash of the content sent, keyed by uri.
+     * @param uris            the uris of the files to verify.
+     * @throws HashVerificationException thrown for any error while attempting to verify the content.
+     */
+    void verifyTransactionContent(Collection collection, CollectionReader reader, Map<String, String> publishedHashes,
+                                  Set<String> uris) throws HashVerificationException;
 }
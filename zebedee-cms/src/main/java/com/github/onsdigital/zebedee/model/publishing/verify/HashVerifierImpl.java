@@ -1,5 +1,6 @@
 package com.github.onsdigital.zebedee.model.publishing.verify;
 
+import com.github.onsdigital.zebedee.configuration.Configuration;
 import com.github.onsdigital.zebedee.json.CollectionDescription;
 import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
@@ -10,8 +11,12 @@ import com.github.onsdigital.zebedee.reader.CollectionReader;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -20,6 +25,8 @@ import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static com.github.onsdigital.zebedee.configuration.CMSFeatureFlags.cmsFeatureFlags;
+
 /**
  * Provides functionality for verifying the content send the publishing API was received correctly.
  */
@@ -30,19 +37,39 @@ public class HashVerifierImpl implements HashVerifier {
 
 
     private PublishingClient publishingClient;
+    private boolean batchEnabled;
+    private int batchSize;
 
     /**
      * Construct a new instance using the default values.
      */
     HashVerifierImpl() {
-        this(new PublishingClientImpl());
+        this(new PublishingClientImpl(), cmsFeatureFlags().isBatchVerifyPublishEnabled(),
+                Configuration.getVerifyBatchSize());
     }
 
     /**
-     * Construct a new instance using the {@link PublishingClient} provided.
+     * Construct a new instance using the {@link PublishingClient} provided, verifying each file with its own request.
      */
     HashVerifierImpl(PublishingClient publishingClient) {
+        this(publishingClient, false, 0);
+    }
+
+    /**
+     * Construct a new instance using the {@link PublishingClient} provided.
+     *
+     * @param publishingClient the client to communicate with the publishing API.
+     * @param batchEnabled     true to verify the files of each transaction with batched requests, false to verify each
+     *                         file with its own request.
+     * @param batchSize        the maximum number of files verified by a single batched request.
+     */
+    HashVerifierImpl(PublishingClient publishingClient, boolean batchEnabled, int batchSize) {
+        if (batchEnabled && batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
         this.publishingClient = publishingClient;
+        this.batchEnabled = batchEnabled;
+        this.batchSize = batchSize;
     }
 
     /**
@@ -53,8 +80,53 @@ public class HashVerifierImpl implements HashVerifier {
      * @throws HashVerificationException thrown for any error while attempting to verify the content.
      */
     public void verifyTransactionContent(Collection collection, CollectionReader reader) throws HashVerificationException {
+        verifyTransactionContent(collection, reader, Collections.emptyMap());
+    }
+
+    /**
+     * Verify the content sent to the publshing APIs was received correctly. The expected hash of any file in the
+     * given hashes is not generated again from the collection content.
+     *
+     * @param collection      the collection to verify.
+     * @param reader          a {@link CollectionReader} used read the collection content.
+     * @param publishedHashes the SHA-1 hash of each file captured when it was sent, keyed by uri.
+     * @throws HashVerificationException thrown for any error while attempting to verify the content.
+     */
+    public void verifyTransactionContent(Collection collection, CollectionReader reader,
+                                         Map<String, String> publishedHashes) throws HashVerificationException {
+        validateParams(collection, reader);
+        requireNotNull(publishedHashes, "published hashes required but was null");
+
+        verify(collection, reader, publishedHashes, getCollectionUrisToVerify(collection));
+    }
+
+    /**
+     * Verify only the given files sent to the publshing APIs were received correctly, such as the files sent again
+     * after content was pre-staged in the transaction.
+     *
+     * @param collection      the collection to verify.
+     * @param reader          a {@link CollectionReader} used read the collection content.
+     * @param publishedHashes the SHA-1 hash of each file captured when it was sent, keyed by uri.
+     * @param uris            the uris of the files to verify.
+     * @throws HashVerificationException thrown for any error while attempting to verify the content.
+     */
+    public void verifyTransactionContent(Collection collection, CollectionReader reader,
+                                         Map<String, String> publishedHashes, Set<String> uris)
+            throws HashVerificationException {
         validateParams(collection, reader);
-        List<Callable<Boolean>> tasks = createVerifyTasks(collection, reader);
+        requireNotNull(publishedHashes, "published hashes required but was null");
+        requireNotNull(uris, "uris required but was null");
+
+        verify(collection, reader, publishedHashes, uris.stream()
+                .filter(publishedContentFilter())
+                .collect(Collectors.toList()));
+    }
+
+    private void verify(Collection collection, CollectionReader reader, Map<String, String> publishedHashes,
+                        List<String> urisToVerify) {
+        List<Callable<Boolean>> tasks = batchEnabled
+                ? createBatchVerifyTasks(collection, reader, urisToVerify, publishedHashes)
+                : createVerifyTasks(collection, reader, urisToVerify, publishedHashes);
         List<Future<Boolean>> verifyResults = executeVerifyTasks(tasks);
         checkVerifyResults(verifyResults);
     }
@@ -81,16 +153,18 @@ public class HashVerifierImpl implements HashVerifier {
         }
     }
 
-    private List<Callable<Boolean>> createVerifyTasks(Collection collection, CollectionReader reader) {
+    private List<Callable<Boolean>> createVerifyTasks(Collection collection, CollectionReader reader,
+                                                      List<String> urisToVerify,
+                                                      Map<String, String> publishedHashes) {
         Map<String, String> hostTransactionIdMap = collection.getDescription().getPublishTransactionIds();
-        List<String> urisToVerify = getCollectionUrisToVerify(collection);
         List<Callable<Boolean>> tasks = new ArrayList<>();
 
         for (Map.Entry<String, String> hostTransactionMapping : hostTransactionIdMap.entrySet()) {
             String host = hostTransactionMapping.getKey();
             String transactionId = hostTransactionMapping.getValue();
 
-            tasks.addAll(createVerifyTasksForHost(collection.getId(), reader, host, transactionId, urisToVerify));
+            tasks.addAll(createVerifyTasksForHost(collection.getId(), reader, host, transactionId, urisToVerify,
+                    publishedHashes));
         }
 
         return tasks;
@@ -105,16 +179,19 @@ public class HashVerifierImpl implements HashVerifier {
      * @param host            the Publishing API host to use when verifying the content.
      * @param transactionId   the publishing transaction ID for this instance of the publishing API
      * @param transactionURIs the content uris to verify.
+     * @param publishedHashes the known hashes of the content uris.
      * @return {@link List<Callable<Boolean>>>}
      */
     private List<Callable<Boolean>> createVerifyTasksForHost(String collectionId, CollectionReader reader,
                                                              String host, String transactionId,
-                                                             List<String> transactionURIs) {
+                                                             List<String> transactionURIs,
+                                                             Map<String, String> publishedHashes) {
         return transactionURIs.stream()
                 .map(uri -> new HashVerificationTask.Builder()
                         .collectionID(collectionId)
                         .collectionReader(reader)
                         .contentURI(uri)
+                        .expectedHash(publishedHashes.get(uri))
                         .publishingAPIHost(host)
                         .transactionId(transactionId)
                         .publishingClient(publishingClient)
@@ -122,6 +199,71 @@ public class HashVerifierImpl implements HashVerifier {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Create a {@link List} of batched content verification {@link Callable}s. The content uris of the collection are
+     * split into batches of at most {@link #batchSize} and a task is created for each batch for each publishing API
+     * host, so each transaction is verified with a handful of requests.
+     */
+    private List<Callable<Boolean>> createBatchVerifyTasks(Collection collection, CollectionReader reader,
+                                                           List<String> urisToVerify,
+                                                           Map<String, String> publishedHashes) {
+        Map<String, String> expectedHashes = getExpectedHashes(collection, reader, urisToVerify, publishedHashes);
+
+        List<Map<String, String>> batches = new ArrayList<>();
+        Map<String, String> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : expectedHashes.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Map.Entry<String, String> hostTransactionMapping :
+                collection.getDescription().getPublishTransactionIds().entrySet()) {
+            for (Map<String, String> hashes : batches) {
+                tasks.add(new BatchHashVerificationTask(collection.getId(), hostTransactionMapping.getKey(),
+                        hostTransactionMapping.getValue(), hashes, publishingClient));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Get the expected hash of each of the given uris, generating it from the collection content for any uri not in
+     * the published hashes.
+     */
+    private Map<String, String> getExpectedHashes(Collection collection, CollectionReader reader, List<String> uris,
+                                                  Map<String, String> publishedHashes) {
+        Map<String, String> expectedHashes = new LinkedHashMap<>();
+        Map<String, Future<String>> generated = new HashMap<>();
+
+        for (String uri : uris) {
+            String hash = publishedHashes.get(uri);
+            if (hash != null) {
+                expectedHashes.put(uri, hash);
+            } else {
+                expectedHashes.put(uri, null);
+                generated.put(uri, pool.submit(() -> HashVerificationTask.calculateHash(reader, uri)));
+            }
+        }
+
+        for (Map.Entry<String, Future<String>> entry : generated.entrySet()) {
+            try {
+                expectedHashes.put(entry.getKey(), entry.getValue().get());
+            } catch (Exception ex) {
+                Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                throw new HashVerificationException(HashVerificationTask.GENERATE_HASH_ERR, cause, collection.getId(),
+                        null, null, entry.getKey());
+            }
+        }
+        return expectedHashes;
+    }
+
     private List<String> getCollectionUrisToVerify(Collection collection) throws HashVerificationException {
         try {
             return collection.getReviewed().uris()
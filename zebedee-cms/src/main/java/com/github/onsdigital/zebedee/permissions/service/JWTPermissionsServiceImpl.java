@@ -16,8 +16,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
 import static com.github.onsdigital.zebedee.configuration.Configuration.getUnauthorizedMessage;
@@ -35,9 +34,7 @@ public class JWTPermissionsServiceImpl implements PermissionsService {
 
     // TODO: change the following field to private once migration to JWT sessions is complete and the PermissionsServiceImpl is removed
     protected PermissionsStore permissionsStore;
-    private ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private final Lock readLock = readWriteLock.readLock();
-    private final Lock writeLock = readWriteLock.writeLock();
+    private final Lock writeLock = new ReentrantLock();
 
     /**
      * This is a transitional implementation for the migration to using JWT sessions.
@@ -205,26 +202,18 @@ public class JWTPermissionsServiceImpl implements PermissionsService {
             return false;
         }
 
-        readLock.lock();
         try {
-            AccessMapping accessMapping = permissionsStore.getAccessMapping();
-            Set<String> collectionGroups = accessMapping.getCollections().get(collectionId);
+            Set<String> collectionGroups = permissionsStore.getCollectionTeams(collectionId);
 
             if (collectionGroups == null || collectionGroups.isEmpty()) {
                 return false;
             }
 
-            List<String> intersection = userGroups.stream()
-                    .filter(collectionGroups::contains)
-                    .collect(Collectors.toList());
-
-            return !intersection.isEmpty();
+            return userGroups.stream().anyMatch(collectionGroups::contains);
 
         } catch (IOException e) {
             error().data("collectionId", collectionId).data("user", session.getEmail())
                     .logException(e, "canView permission request denied: unexpected error");
-        } finally {
-            readLock.unlock();
         }
         return false;
     }
@@ -248,17 +237,9 @@ public class JWTPermissionsServiceImpl implements PermissionsService {
             throw new UnauthorizedException(getUnauthorizedMessage(session));
         }
 
-        readLock.lock();
-        Set<String> teamIds;
-        try {
-            AccessMapping accessMapping = permissionsStore.getAccessMapping();
-            teamIds = accessMapping.getCollections().get(collectionId);
-
-            if (teamIds == null) {
-                teamIds = new HashSet<>();
-            }
-        } finally {
-            readLock.unlock();
+        Set<String> teamIds = permissionsStore.getCollectionTeams(collectionId);
+        if (teamIds == null) {
+            teamIds = new HashSet<>();
         }
 
         return java.util.Collections.unmodifiableSet(teamIds);
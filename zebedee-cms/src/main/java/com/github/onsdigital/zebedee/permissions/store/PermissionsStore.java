@@ -3,6 +3,7 @@ package com.github.onsdigital.zebedee.permissions.store;
 import com.github.onsdigital.zebedee.permissions.model.AccessMapping;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * @deprecated the files-on-disk access mapping is deprecated and will be removed once the migration of policy management
@@ -18,6 +19,14 @@ public interface PermissionsStore {
      */
     AccessMapping getAccessMapping() throws IOException;
 
+    /**
+     * @param collectionId the ID of the collection.
+     * @return the IDs of the teams with viewer access to the collection, empty if there are none. The set returned
+     * must not be modified.
+     * @throws IOException
+     */
+    Set<String> getCollectionTeams(String collectionId) throws IOException;
+
     /**
      * @param accessMapping
      * @throws IOException
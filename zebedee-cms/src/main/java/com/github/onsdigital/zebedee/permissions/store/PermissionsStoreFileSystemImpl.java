@@ -3,14 +3,16 @@ package com.github.onsdigital.zebedee.permissions.store;
 import com.github.davidcarboni.restolino.json.Serialiser;
 import com.github.onsdigital.zebedee.permissions.model.AccessMapping;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
 
@@ -29,7 +31,8 @@ public class PermissionsStoreFileSystemImpl implements PermissionsStore {
 
     private Path accessMappingPath;
     private Path accessMappingFilePath;
-    private ReadWriteLock accessMappingLock = new ReentrantReadWriteLock();
+    private final Lock accessMappingLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
 
     /**
      * Check if an {@link AccessMapping} json file exists in the permissions directory. If not a new empty instance
@@ -63,49 +66,104 @@ public class PermissionsStoreFileSystemImpl implements PermissionsStore {
 
     @Override
     public AccessMapping getAccessMapping() throws IOException {
-        AccessMapping result = null;
+        // Callers update the mapping they are given before saving it, so they get their own copy of the snapshot.
+        return copyOf(getSnapshot().accessMapping);
+    }
 
-        if (Files.exists(accessMappingFilePath)) {
+    @Override
+    public Set<String> getCollectionTeams(String collectionId) throws IOException {
+        Set<String> teams = getSnapshot().collectionTeams.get(collectionId);
+        return teams != null ? teams : Collections.emptySet();
+    }
 
-            // Read the configuration
-            accessMappingLock.readLock().lock();
-            try (InputStream input = Files.newInputStream(accessMappingFilePath)) {
-                result = Serialiser.deserialise(input, AccessMapping.class);
-            } finally {
-                accessMappingLock.readLock().unlock();
+    @Override
+    public void saveAccessMapping(AccessMapping accessMapping) throws IOException {
+        accessMappingLock.lock();
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            Serialiser.serialise(json, accessMapping);
+            Files.write(accessMappingFilePath, json.toByteArray());
+
+            // Read the snapshot back from the json written so it holds exactly what the file does.
+            try (InputStream input = new ByteArrayInputStream(json.toByteArray())) {
+                snapshot = new Snapshot(Serialiser.deserialise(input, AccessMapping.class));
             }
+        } finally {
+            accessMappingLock.unlock();
+        }
+    }
 
-            // Initialise any missing objects:
-            if (result.getAdministrators() == null) {
-                result.setAdministrators(new HashSet<>());
-            }
-            if (result.getDigitalPublishingTeam() == null) {
-                result.setDigitalPublishingTeam(new HashSet<>());
-            }
-            if (result.getCollections() == null) {
-                result.setCollections(new HashMap<>());
+    private Snapshot getSnapshot() throws IOException {
+        Snapshot result = snapshot;
+        if (result == null) {
+            accessMappingLock.lock();
+            try {
+                result = snapshot;
+                if (result == null) {
+                    result = new Snapshot(readAccessMapping());
+                    snapshot = result;
+                }
+            } finally {
+                accessMappingLock.unlock();
             }
+        }
+        return result;
+    }
 
-        } else {
-
+    private AccessMapping readAccessMapping() throws IOException {
+        if (!Files.exists(accessMappingFilePath)) {
             // Or generate a new one:
-            result = new AccessMapping();
-            result.setAdministrators(new HashSet<>());
-            result.setDigitalPublishingTeam(new HashSet<>());
-            result.setCollections(new HashMap<>());
+            AccessMapping result = new AccessMapping();
             saveAccessMapping(result);
+            return result;
         }
 
-        return result;
+        try (InputStream input = Files.newInputStream(accessMappingFilePath)) {
+            return Serialiser.deserialise(input, AccessMapping.class);
+        }
     }
 
-    @Override
-    public void saveAccessMapping(AccessMapping accessMapping) throws IOException {
-        accessMappingLock.writeLock().lock();
-        try (OutputStream output = Files.newOutputStream(accessMappingFilePath)) {
-            Serialiser.serialise(output, accessMapping);
-        } finally {
-            accessMappingLock.writeLock().unlock();
+    private static AccessMapping copyOf(AccessMapping accessMapping) {
+        AccessMapping copy = new AccessMapping();
+        copy.setAdministrators(new HashSet<>(accessMapping.getAdministrators()));
+        copy.setDigitalPublishingTeam(new HashSet<>(accessMapping.getDigitalPublishingTeam()));
+
+        Map<String, Set<String>> collections = new HashMap<>();
+        accessMapping.getCollections().forEach((collectionId, teams) ->
+                collections.put(collectionId, teams != null ? new HashSet<>(teams) : null));
+        copy.setCollections(collections);
+        return copy;
+    }
+
+    /**
+     * Immutable in memory copy of the access mapping file, replaced as a whole each time the mapping is saved so it
+     * can be read without locking or I/O.
+     */
+    private static class Snapshot {
+
+        private final AccessMapping accessMapping;
+        private final Map<String, Set<String>> collectionTeams;
+
+        Snapshot(AccessMapping accessMapping) {
+            // Initialise any missing objects:
+            if (accessMapping.getAdministrators() == null) {
+                accessMapping.setAdministrators(new HashSet<>());
+            }
+            if (accessMapping.getDigitalPublishingTeam() == null) {
+                accessMapping.setDigitalPublishingTeam(new HashSet<>());
+            }
+            if (accessMapping.getCollections() == null) {
+                accessMapping.setCollections(new HashMap<>());
+            }
+            this.accessMapping = copyOf(accessMapping);
+
+            Map<String, Set<String>> teams = new HashMap<>();
+            accessMapping.getCollections().forEach((collectionId, collectionTeams) -> {
+                if (collectionTeams != null) {
+                    teams.put(collectionId, Collections.unmodifiableSet(new HashSet<>(collectionTeams)));
+                }
+            });
+            this.collectionTeams = Collections.unmodifiableMap(teams);
         }
     }
 }
@@ -5,6 +5,7 @@ import com.github.onsdigital.UserDataPayload;
 import com.github.onsdigital.exceptions.JWTDecodeException;
 import com.github.onsdigital.exceptions.JWTTokenExpiredException;
 import com.github.onsdigital.exceptions.JWTVerificationException;
+import com.github.onsdigital.zebedee.configuration.Configuration;
 import com.github.onsdigital.zebedee.model.ServiceAccount;
 import com.github.onsdigital.zebedee.service.ServiceStore;
 import com.github.onsdigital.zebedee.session.model.Session;
@@ -36,6 +37,7 @@ public class JWTSessionsServiceImpl implements Sessions {
     private static ThreadLocal<Session> store = new ThreadLocal<>();
     private JWTVerifier jwtVerifier;
     private ServiceStore serviceStore;
+    private VerifiedTokenCache verifiedTokens;
     private Gson gson;
 
     /**
@@ -44,8 +46,13 @@ public class JWTSessionsServiceImpl implements Sessions {
      * @param jwtVerifier the {@link JWTVerifier} implementation to use to verify JWTs
      */
     public JWTSessionsServiceImpl(JWTVerifier jwtVerifier, ServiceStore serviceStore) {
+        this(jwtVerifier, serviceStore, new VerifiedTokenCache(Configuration.getVerifiedTokenCacheSize()));
+    }
+
+    JWTSessionsServiceImpl(JWTVerifier jwtVerifier, ServiceStore serviceStore, VerifiedTokenCache verifiedTokens) {
         this.jwtVerifier = jwtVerifier;
         this.serviceStore = serviceStore;
+        this.verifiedTokens = verifiedTokens;
         this.gson = new Gson();
     }
 
@@ -90,7 +97,7 @@ public class JWTSessionsServiceImpl implements Sessions {
         if (StringUtils.contains(token, ".")) {
             // This is a user token
             try {
-                UserDataPayload jwtData = jwtVerifier.verify(token);
+                UserDataPayload jwtData = verify(token);
                 store.set(new Session(token, jwtData.getEmail(), jwtData.getGroups()));
             } catch (JWTTokenExpiredException e) {
                 throw new SessionsException(ACCESS_TOKEN_EXPIRED_ERROR);
@@ -115,6 +122,20 @@ public class JWTSessionsServiceImpl implements Sessions {
         }
     }
 
+    /**
+     * Verify a user token, skipping the signature check if the same token has already been verified and has not yet
+     * expired.
+     */
+    private UserDataPayload verify(String token) throws JWTVerificationException, JWTDecodeException,
+            JWTTokenExpiredException {
+        UserDataPayload jwtData = verifiedTokens.get(token);
+        if (jwtData == null) {
+            jwtData = jwtVerifier.verify(token);
+            verifiedTokens.put(token, jwtData);
+        }
+        return jwtData;
+    }
+
     private ServiceAccount getServiceAccount(String serviceToken) throws IOException {
         ServiceAccount serviceAccount = null;
         try {
@@ -0,0 +1,126 @@
+package com.github.onsdigital.zebedee.session.service;
+
+import com.github.onsdigital.UserDataPayload;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
+
+/**
+ * Bounded cache of the payloads of user access tokens that have already been verified, so the signature of a token
+ * sent with many consecutive requests is only checked once.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash and each entry expires at the expiry time of its own token, so an expired
+ * token is never returned and is verified (and rejected) again as usual. Entries are also dropped after
+ * {@link #MAX_AGE_MINUTES} regardless, so a token is checked against the current signing keys at least that often.
+ */
+class VerifiedTokenCache {
+
+    static final long MAX_AGE_MINUTES = 15;
+    private static final long STATS_LOG_INTERVAL = 10000;
+
+    private final Cache<String, VerifiedToken> cache;
+    private final AtomicLong lookups = new AtomicLong();
+
+    /**
+     * @param maxSize the maximum number of tokens to cache.
+     */
+    VerifiedTokenCache(long maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(MAX_AGE_MINUTES, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param token the access token.
+     * @return the payload of the token if it has been verified and has not expired, null otherwise.
+     */
+    UserDataPayload get(String token) {
+        if (lookups.incrementAndGet() % STATS_LOG_INTERVAL == 0) {
+            logStats();
+        }
+
+        String key = DigestUtils.sha256Hex(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= verified.expiresAt) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified.payload;
+    }
+
+    /**
+     * Cache the payload of a verified token until the token expires. Tokens without a readable expiry time are not
+     * cached.
+     *
+     * @param token   the access token, which must already have been verified.
+     * @param payload the payload of the token.
+     */
+    void put(String token, UserDataPayload payload) {
+        long expiresAt = getExpiresAt(token);
+        if (expiresAt > System.currentTimeMillis()) {
+            cache.put(DigestUtils.sha256Hex(token), new VerifiedToken(payload, expiresAt));
+        }
+    }
+
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    void logStats() {
+        CacheStats stats = stats();
+        info().data("size", size())
+                .data("hitRate", stats.hitRate())
+                .data("hits", stats.hitCount())
+                .data("misses", stats.missCount())
+                .data("evictions", stats.evictionCount())
+                .log("verified access token cache stats");
+    }
+
+    /**
+     * @return the expiry time of the token in milliseconds, taken from the exp claim of its payload, or 0 if it
+     * cannot be read.
+     */
+    static long getExpiresAt(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return 0;
+        }
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            JsonElement exp = JsonParser.parseString(json).getAsJsonObject().get("exp");
+            return exp == null ? 0 : TimeUnit.SECONDS.toMillis(exp.getAsLong());
+        } catch (RuntimeException ex) {
+            return 0;
+        }
+    }
+
+    private static class VerifiedToken {
+
+        private final UserDataPayload payload;
+        private final long expiresAt;
+
+        VerifiedToken(UserDataPayload payload, long expiresAt) {
+            this.payload = payload;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
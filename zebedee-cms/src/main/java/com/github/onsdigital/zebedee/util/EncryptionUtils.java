@@ -1,10 +1,13 @@
 package com.github.onsdigital.zebedee.util;
 
 import com.github.davidcarboni.cryptolite.Crypto;
+import com.github.davidcarboni.cryptolite.Keys;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 
 import javax.crypto.SecretKey;
 import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -13,6 +16,7 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
+import static com.github.onsdigital.logging.v2.event.SimpleEvent.warn;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
@@ -20,6 +24,13 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class EncryptionUtils {
 
+    /**
+     * The number of bytes encryption adds to any plaintext (the IV written ahead of the ciphertext), or -1 if the
+     * length of the ciphertext is not a fixed offset from the length of the plaintext. It is measured by encrypting
+     * sample plaintexts, so always matches the framing of the cipher in use.
+     */
+    private static final long CIPHERTEXT_OVERHEAD = measureCiphertextOverhead();
+
     /**
      * Get an output stream to write with encryption
      *
@@ -70,6 +81,55 @@ public class EncryptionUtils {
         return encryptionInputStream(Files.newInputStream(path), key);
     }
 
+    /**
+     * Get the length of the plaintext of an encrypted file. The length is calculated from the size of the file
+     * without decrypting it, unless the cipher in use does not add a fixed number of bytes to the plaintext.
+     *
+     * @param path a path to an encrypted file
+     * @param key the key the file was encrypted with
+     * @return the number of bytes the file decrypts to
+     * @throws IOException
+     */
+    public static long plaintextLength(Path path, SecretKey key) throws IOException {
+        long size = Files.size(path);
+        if (CIPHERTEXT_OVERHEAD >= 0 && size >= CIPHERTEXT_OVERHEAD) {
+            return size - CIPHERTEXT_OVERHEAD;
+        }
+        try (InputStream inputStream = encryptionInputStream(path, key)) {
+            return IOUtils.consume(inputStream);
+        }
+    }
+
+    static long getCiphertextOverhead() {
+        return CIPHERTEXT_OVERHEAD;
+    }
+
+    private static long measureCiphertextOverhead() {
+        long overhead = -1;
+        try {
+            SecretKey key = Keys.newSecretKey();
+            // lengths either side of a block boundary, so padding to a block size would show as a varying overhead.
+            for (int length : new int[]{0, 1, 15, 16, 17, 4096}) {
+                ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+                try (OutputStream outputStream = encryptionOutputStream(ciphertext, key)) {
+                    outputStream.write(new byte[length]);
+                }
+                long measured = ciphertext.size() - length;
+                if (overhead >= 0 && measured != overhead) {
+                    warn().log("ciphertext length is not a fixed offset from plaintext length, "
+                            + "encrypted content lengths will be calculated by decryption");
+                    return -1;
+                }
+                overhead = measured;
+            }
+        } catch (IOException | RuntimeException e) {
+            warn().exception(e).log("failed to measure ciphertext overhead, "
+                    + "encrypted content lengths will be calculated by decryption");
+            return -1;
+        }
+        return overhead;
+    }
+
     public static String createMD5Checksum(String value) {
         if (value == null){
             throw new IllegalArgumentException("Input value cannot be null");
@@ -94,6 +94,23 @@ public class ZebedeeTest extends ZebedeeTestBaseFixture {
         assertEquals(builder.collections.size(), releases.size());
     }
 
+    @Test
+    public void shouldLoadSeparateInstancesFromSharedList() throws IOException {
+
+        // Given
+        Zebedee zebedee = new Zebedee(new ZebedeeConfiguration(expectedPath));
+        List<Collection> listed = zebedee.getCollections().list();
+
+        // When
+        List<Collection> loaded = zebedee.getCollections().loadAll();
+
+        // Then
+        assertEquals(listed.size(), loaded.size());
+        for (Collection collection : loaded) {
+            assertThat(listed.stream().anyMatch(shared -> shared == collection), is(false));
+        }
+    }
+
     @Test
     public void shouldNotBeBeingEdited() throws IOException {
 
@@ -11,8 +11,18 @@ import com.github.onsdigital.zebedee.session.model.Session;
 import org.junit.Test;
 
 import java.io.IOException;
-
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Created by thomasridd on 1/25/16.
@@ -64,4 +74,125 @@ public class DataIndexTest extends ZebedeeTestBaseFixture {
         assertTrue(dataIndex.cdids().size() > 0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void dataIndex_givenContentAndIndexFile_persistsIndex() throws Exception {
+        // Given
+        // content and no index file
+        Path indexFile = Files.createTempDirectory("dataindex").resolve("data-index.tsv");
+
+        // When
+        // we build a DataIndex and then load a second one from its file
+        DataIndex built = new DataIndex(publishedReader, indexFile);
+        built.pauseUntilComplete(60);
+        DataIndex loaded = new DataIndex(publishedReader, indexFile);
+
+        // Then
+        // the second index is ready immediately with the same entries
+        assertTrue(Files.exists(indexFile));
+        assertTrue(loaded.isIndexBuilt());
+        assertEquals(built.cdids(), loaded.cdids());
+        for (String cdid : built.cdids()) {
+            assertEquals(built.getUriForCdid(cdid), loaded.getUriForCdid(cdid));
+        }
+    }
+
+    @Test
+    public void setUriForCdid_givenIndexFile_appendsEntry() throws Exception {
+        // Given
+        // an index loaded from a file
+        Path indexFile = Files.createTempDirectory("dataindex").resolve("data-index.tsv");
+        Files.write(indexFile, "abcd\t/economy/timeseries/abcd\n".getBytes(StandardCharsets.UTF_8));
+        DataIndex dataIndex = new DataIndex(publishedReader, indexFile);
+        dataIndex.whenRebuilt().get(60, TimeUnit.SECONDS);
+
+        // When
+        // an entry is changed
+        dataIndex.setUriForCdid("abcd", "/economy/timeseries/abcd/dataset");
+
+        // Then
+        // the change is written to the file the index is loaded from
+        assertEquals("/economy/timeseries/abcd/dataset", lastEntry(indexFile, "abcd"));
+    }
+
+    @Test
+    public void onPublish_givenDeletedUri_removesEntriesUnderIt() throws Exception {
+        // Given
+        // an index loaded from a file with two timeseries
+        Path indexFile = Files.createTempDirectory("dataindex").resolve("data-index.tsv");
+        DataIndex dataIndex = new DataIndex(publishedReader, indexFile);
+        dataIndex.pauseUntilComplete(60);
+        dataIndex.setUriForCdid("abcd", "/economy/timeseries/abcd");
+        dataIndex.setUriForCdid("efgh", "/economy/other/timeseries/efgh");
+
+        // When
+        // a publish deletes the content holding one of them
+        dataIndex.onPublish(Collections.emptyList(), Collections.singleton("/economy/timeseries"));
+
+        // Then
+        // its entry is removed, and stays removed in the file the index is loaded from
+        assertNull(dataIndex.getUriForCdid("abcd"));
+        assertEquals("/economy/other/timeseries/efgh", dataIndex.getUriForCdid("efgh"));
+        assertEquals("", lastEntry(indexFile, "abcd"));
+        assertEquals("/economy/other/timeseries/efgh", lastEntry(indexFile, "efgh"));
+    }
+
+    @Test
+    public void load_givenOutOfDateIndexFile_replacesEntriesFromContent() throws Exception {
+        // Given
+        // an index file with an entry for content that is not published and a wrong uri for one that is
+        Path indexFile = Files.createTempDirectory("dataindex").resolve("data-index.tsv");
+        DataIndex built = new DataIndex(publishedReader, indexFile);
+        built.pauseUntilComplete(60);
+        String cdid = built.cdids().iterator().next();
+        String uri = built.getUriForCdid(cdid);
+        Files.write(indexFile, ("abcd\t/economy/timeseries/abcd\n" + cdid + "\t/wrong/uri\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        // When
+        // the index is loaded and rebuilt in the background
+        DataIndex loaded = new DataIndex(publishedReader, indexFile);
+        assertTrue(loaded.isIndexBuilt());
+        loaded.whenRebuilt().get(60, TimeUnit.SECONDS);
+
+        // Then
+        // the entries match the published content again, in memory and in the file
+        assertNull(loaded.getUriForCdid("abcd"));
+        assertEquals(uri, loaded.getUriForCdid(cdid));
+        assertEquals(built.cdids(), loaded.cdids());
+        assertNull(lastEntry(indexFile, "abcd"));
+        assertEquals(uri, lastEntry(indexFile, cdid));
+    }
+
+    @Test
+    public void reindex_givenUncheckedException_shouldStillCompleteBuild() throws Exception {
+        // Given
+        // a content reader that fails with an unchecked exception
+        ContentReader failingReader = mock(ContentReader.class);
+        when(failingReader.getRootFolder()).thenThrow(new IllegalStateException("no content"));
+
+        // When
+        // the index is built
+        DataIndex dataIndex = new DataIndex(failingReader);
+
+        // Then
+        // the build completes, empty, rather than leaving callers waiting forever
+        dataIndex.whenBuilt().get(60, TimeUnit.SECONDS);
+        assertTrue(dataIndex.isIndexBuilt());
+        assertTrue(dataIndex.cdids().isEmpty());
+    }
+
+    /**
+     * @return the uri of the last entry for the cdid in the index file, which is the one the index loads, or null if
+     * there is none.
+     */
+    private static String lastEntry(Path indexFile, String cdid) throws IOException {
+        String uri = null;
+        List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.startsWith(cdid + "\t")) {
+                uri = line.substring(cdid.length() + 1);
+            }
+        }
+        return uri;
+    }
+}
@@ -16,6 +16,7 @@ import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.github.onsdigital.zebedee.keyring.KeyringException.formatExceptionMsg;
 import static com.github.onsdigital.zebedee.keyring.central.CollectionKeyCacheImpl.INVALID_COLLECTION_ID_ERR;
@@ -74,7 +75,7 @@ public class CollectionKeyCacheImplTest {
     public void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
 
-        this.cache = new HashMap<>();
+        this.cache = new ConcurrentHashMap<>();
         this.keyCache = new CollectionKeyCacheImpl(keyStore, cache);
     }
 
@@ -227,6 +228,25 @@ public class CollectionKeyCacheImplTest {
         verifyNoInteractions(keyStore);
     }
 
+    @Test
+    public void testGet_shouldRecordHitsAndMisses() throws Exception {
+        cache.put(TEST_COLLECTION_ID, secretKey);
+        when(keyStore.exists("abc123"))
+                .thenReturn(true);
+        when(keyStore.read("abc123"))
+                .thenReturn(secretKey);
+
+        keyCache.get(TEST_COLLECTION_ID);
+        keyCache.get("abc123");
+        keyCache.get("abc123");
+
+        CollectionKeyCacheImpl impl = (CollectionKeyCacheImpl) keyCache;
+        assertThat(impl.getHitCount(), equalTo(2L));
+        assertThat(impl.getMissCount(), equalTo(1L));
+        assertThat(impl.size(), equalTo(2));
+        verify(keyStore, times(1)).read("abc123");
+    }
+
     @Test
     public void testGet_keyNotInCacheOrStore_shouldThrowException() throws Exception {
         when(keyStore.exists(TEST_COLLECTION_ID))
@@ -0,0 +1,122 @@
+package com.github.onsdigital.zebedee.model;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class CollectionListCacheTest {
+
+    private static final FileTime AN_HOUR_AGO = FileTime.fromMillis(
+            System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+
+    @Rule
+    public TemporaryFolder rootDir = new TemporaryFolder();
+
+    @Mock
+    private Collection collection;
+
+    private Path collectionsPath;
+    private AtomicInteger loads;
+    private CollectionListCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        collectionsPath = rootDir.newFolder("collections").toPath();
+        createCollection("one");
+
+        loads = new AtomicInteger();
+        cache = new CollectionListCache(collectionsPath, p -> {
+            loads.incrementAndGet();
+            return collection;
+        });
+    }
+
+    @Test
+    public void list_unchangedDirectory_shouldNotReloadCollections() throws Exception {
+        List<Collection> first = cache.list();
+        List<Collection> second = cache.list();
+
+        assertThat(loads.get(), equalTo(1));
+        assertThat(second.size(), equalTo(1));
+        assertThat(second.get(0), sameInstance(first.get(0)));
+    }
+
+    @Test
+    public void list_shouldReturnIndependentCopies() throws Exception {
+        cache.list().clear();
+
+        assertThat(cache.list().size(), equalTo(1));
+    }
+
+    @Test
+    public void list_collectionAdded_shouldOnlyLoadNewCollection() throws Exception {
+        cache.list();
+
+        createCollection("two");
+        Files.setLastModifiedTime(collectionsPath, FileTime.fromMillis(AN_HOUR_AGO.toMillis() + 60000));
+
+        assertThat(cache.list().size(), equalTo(2));
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    public void list_afterInvalidate_shouldReloadCollection() throws Exception {
+        cache.list();
+
+        cache.invalidate(collectionsPath.resolve("one"));
+
+        assertThat(cache.list().size(), equalTo(1));
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    public void list_recentlyModifiedJson_shouldReloadCollection() throws Exception {
+        cache.list();
+
+        Path json = collectionsPath.resolve("one.json");
+        Files.write(json, "{\"name\":\"one\"}".getBytes());
+        Files.setLastModifiedTime(collectionsPath, FileTime.fromMillis(System.currentTimeMillis()));
+
+        cache.list();
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    public void list_collectionRemoved_shouldNotReturnIt() throws Exception {
+        cache.list();
+
+        Files.delete(collectionsPath.resolve("one.json"));
+        Files.delete(collectionsPath.resolve("one"));
+        Files.setLastModifiedTime(collectionsPath, AN_HOUR_AGO);
+        cache.invalidate(null);
+
+        assertThat(cache.list().isEmpty(), equalTo(true));
+    }
+
+    private void createCollection(String name) throws IOException {
+        Path dir = Files.createDirectory(collectionsPath.resolve(name));
+        Path json = Files.write(collectionsPath.resolve(name + ".json"), "{}".getBytes());
+
+        Files.setLastModifiedTime(json, AN_HOUR_AGO);
+        Files.setLastModifiedTime(dir, AN_HOUR_AGO);
+        Files.setLastModifiedTime(collectionsPath, AN_HOUR_AGO);
+    }
+}
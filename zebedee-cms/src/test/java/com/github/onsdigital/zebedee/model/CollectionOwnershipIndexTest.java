@@ -0,0 +1,125 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.ZebedeeTestBaseFixture;
+import com.github.onsdigital.zebedee.json.ContentDetail;
+import com.github.onsdigital.zebedee.json.PendingDelete;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static com.github.onsdigital.zebedee.Builder.COLLECTION_TWO_NAME;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class CollectionOwnershipIndexTest extends ZebedeeTestBaseFixture {
+
+    private static final String URI = "/economy/inflationandpriceindices/bulletins/consumerpriceinflation/data.json";
+
+    private CollectionOwnershipIndex index;
+    private Collection collection;
+
+    @Override
+    public void setUp() throws Exception {
+        index = zebedee.getCollections().getOwnershipIndex();
+        collection = zebedee.getCollections().getCollectionByName(COLLECTION_TWO_NAME);
+    }
+
+    @Test
+    public void findCollectionsContaining_contentOnDiskBeforeFirstUse_shouldReturnOwner() throws Exception {
+        builder.createInProgressFile(URI);
+
+        List<Collection> result = index.findCollectionsContaining(URI);
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getId(), equalTo(collection.getId()));
+    }
+
+    @Test
+    public void findCollectionsContaining_directoryUri_shouldReturnOwnerOfContentBeneathIt() throws Exception {
+        builder.createReviewedFile(URI);
+
+        List<Collection> result = index.findCollectionsContaining("/economy/inflationandpriceindices");
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getId(), equalTo(collection.getId()));
+    }
+
+    @Test
+    public void findCollectionsContaining_contentAddedAfterBuild_shouldReturnOwner() throws Exception {
+        index.rebuild();
+        assertThat(index.findCollectionsContaining(URI).isEmpty(), is(true));
+
+        builder.createInProgressFile(URI);
+        index.add(collection, URI);
+
+        List<Collection> result = index.findCollectionsContaining(URI);
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getId(), equalTo(collection.getId()));
+    }
+
+    @Test
+    public void findCollectionsContaining_contentRemovedFromDisk_shouldDropStaleEntry() throws Exception {
+        Path content = builder.createInProgressFile(URI);
+        index.rebuild();
+
+        Files.delete(content);
+
+        assertThat(index.findCollectionsContaining(URI).isEmpty(), is(true));
+    }
+
+    @Test
+    public void reconcile_contentDeleted_shouldRemoveEntry() throws Exception {
+        Path content = builder.createInProgressFile(URI);
+        index.rebuild();
+
+        Files.delete(content);
+        index.reconcile(collection, "/economy");
+
+        assertThat(index.findCollectionsContaining(URI).isEmpty(), is(true));
+    }
+
+    @Test
+    public void remove_shouldRemoveAllEntriesForCollection() throws Exception {
+        builder.createInProgressFile(URI);
+        index.rebuild();
+
+        index.remove(collection);
+
+        assertThat(index.findCollectionsContaining(URI).isEmpty(), is(true));
+    }
+
+    @Test
+    public void findCollectionWithDeleteMarker_uriBeneathPendingDelete_shouldReturnCollection() throws Exception {
+        index.rebuild();
+
+        ContentDetail root = new ContentDetail();
+        root.contentPath = "/economy/inflationandpriceindices";
+        collection.getDescription().getPendingDeletes().add(new PendingDelete("test@ons.gov.uk", root));
+        collection.save();
+        index.refreshDeleteMarkers(collection);
+
+        Optional<Collection> result = index.findCollectionWithDeleteMarker(URI);
+
+        assertThat(result.isPresent(), is(true));
+        assertThat(result.get().getId(), equalTo(collection.getId()));
+        assertThat(index.findCollectionWithDeleteMarker("/economy/data.json").isPresent(), is(false));
+    }
+
+    @Test
+    public void findCollectionWithDeleteMarker_markerCancelled_shouldReturnEmpty() throws Exception {
+        ContentDetail root = new ContentDetail();
+        root.contentPath = "/economy/inflationandpriceindices";
+        collection.getDescription().getPendingDeletes().add(new PendingDelete("test@ons.gov.uk", root));
+        collection.save();
+        index.rebuild();
+
+        collection.getDescription().getPendingDeletes().clear();
+        collection.save();
+
+        assertThat(index.findCollectionWithDeleteMarker(URI).isPresent(), is(false));
+    }
+}
@@ -1074,6 +1074,38 @@ public class CollectionsTest {
         verify(contentWriterMock, times(1)).write(in, uri.toString());
     }
 
+    @Test
+    public void shouldWriteValidatedContent() throws IOException, ZebedeeException, FileUploadException {
+        Path uri = rootDir.newFile("data.json").toPath();
+        InputStream in = mock(InputStream.class);
+
+        when(collectionReaderWriterFactoryMock.getWriter(zebedeeMock, collectionMock, sessionMock))
+                .thenReturn(collectionWriterMock);
+        when(collectionDescriptionMock.getApprovalStatus())
+                .thenReturn(ApprovalStatus.IN_PROGRESS);
+        when(collectionMock.find(uri.toString()))
+                .thenReturn(uri);
+        when(collectionMock.edit(sessionMock, uri.toString(), collectionWriterMock, false))
+                .thenReturn(true);
+        when(collectionMock.getInProgressPath(uri.toString()))
+                .thenReturn(uri);
+        when(collectionWriterMock.getInProgress())
+                .thenReturn(contentWriterMock);
+
+        collections.writeContent(collectionMock, uri.toString(), sessionMock, requestMock, in, false, true);
+
+        verify(collectionReaderWriterFactoryMock, times(1)).getWriter(zebedeeMock, collectionMock, sessionMock);
+        verify(collectionDescriptionMock, times(1)).getApprovalStatus();
+        verify(collectionMock, times(1)).find(uri.toString());
+        verify(collectionMock, times(1)).edit(sessionMock, uri.toString(), collectionWriterMock, false);
+        verify(collectionMock, times(1)).save();
+        verify(collectionMock, never()).create(any(Session.class), anyString());
+        verify(collectionMock, times(1)).getInProgressPath(uri.toString());
+        verify(collectionWriterMock, times(1)).getInProgress();
+        verify(contentWriterMock, times(1)).write(eq(in), eq(uri.toString()), any(ContentValidator.class));
+        verify(contentWriterMock, never()).write(in, uri.toString());
+    }
+
     @Test(expected = NotFoundException.class)
     public void shouldThrowNotFoundForDeletingNonexistentFile() throws IOException, ZebedeeException {
         String uri = "someURI";
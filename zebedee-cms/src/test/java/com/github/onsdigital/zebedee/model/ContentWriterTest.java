@@ -0,0 +1,82 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.exceptions.BadRequestException;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThrows;
+
+public class ContentWriterTest {
+
+    private static final String URI = "/economy/data.json";
+
+    @Rule
+    public TemporaryFolder rootDir = new TemporaryFolder();
+
+    private ContentWriter writer;
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        Path root = rootDir.newFolder("content").toPath();
+        writer = new ContentWriter(root);
+        file = root.resolve("economy").resolve("data.json");
+    }
+
+    @Test
+    public void write_givenValidContent_shouldReplaceExistingContent() throws Exception {
+        writer.write(stream("old"), URI);
+
+        writer.write(stream("new"), URI, input -> IOUtils.consume(input));
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), equalTo("new"));
+        assertThat(file.getParent().toFile().list(), arrayContaining("data.json"));
+    }
+
+    @Test
+    public void write_givenPartlyReadContent_shouldWriteAllContent() throws Exception {
+        writer.write(stream("new content"), URI, input -> input.read());
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), equalTo("new content"));
+    }
+
+    @Test
+    public void write_givenInvalidContent_shouldKeepExistingContent() throws Exception {
+        writer.write(stream("old"), URI);
+
+        assertThrows(BadRequestException.class, () -> writer.write(stream("new"), URI, input -> {
+            IOUtils.consume(input);
+            throw new BadRequestException("invalid");
+        }));
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), equalTo("old"));
+        assertThat(file.getParent().toFile().list(), arrayContaining("data.json"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void write_givenInvalidNewContent_shouldNotCreateDirectories() throws Exception {
+        assertThrows(BadRequestException.class, () -> writer.write(stream("new"), URI, input -> {
+            throw new BadRequestException("invalid");
+        }));
+
+        assertThat(Files.exists(file.getParent()), equalTo(false));
+        assertThat(rootDir.getRoot().toPath().resolve(".content.scratch").toFile().list(), emptyArray());
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.onsdigital.zebedee.model.approval;
+
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.model.Collection;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ApprovalQueueTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    public void submit_differentCollections_shouldApproveInParallel() throws Exception {
+        ApprovalQueue queue = new ApprovalQueue(2);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        Future<Boolean> first = queue.submit(task("one", null, () -> {
+            bothRunning.countDown();
+            return bothRunning.await(5, TimeUnit.SECONDS);
+        }));
+        Future<Boolean> second = queue.submit(task("two", null, () -> {
+            bothRunning.countDown();
+            return bothRunning.await(5, TimeUnit.SECONDS);
+        }));
+
+        assertThat(first.get(), equalTo(true));
+        assertThat(second.get(), equalTo(true));
+    }
+
+    @Test
+    public void submit_sameCollection_shouldApproveOneAtATime() throws Exception {
+        ApprovalQueue queue = new ApprovalQueue(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+
+        Future<Boolean> first = queue.submit(task("one", null, () -> {
+            running.incrementAndGet();
+            release.await();
+            return running.decrementAndGet() == 0;
+        }));
+        Future<Boolean> second = queue.submit(task("one", null, () -> running.incrementAndGet() == 1));
+
+        try {
+            second.get(200, TimeUnit.MILLISECONDS);
+            fail("expected the second approval to wait for the first");
+        } catch (TimeoutException e) {
+            // expected
+        }
+
+        release.countDown();
+        assertThat(first.get(), equalTo(true));
+        assertThat(second.get(), equalTo(true));
+        assertThat(queue.getQueueDepth(), equalTo(0));
+    }
+
+    @Test
+    public void submit_waitingCollections_shouldApproveNearestPublishDateFirst() throws Exception {
+        ApprovalQueue queue = new ApprovalQueue(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        long now = System.currentTimeMillis();
+
+        Future<Boolean> blocking = queue.submit(task("blocking", null, () -> {
+            release.await();
+            return true;
+        }));
+        List<Future<Boolean>> waiting = Arrays.asList(
+                queue.submit(task("manual", null, () -> order.add("manual"))),
+                queue.submit(task("tomorrow", new Date(now + 24 * HOUR), () -> order.add("tomorrow"))),
+                queue.submit(task("soon", new Date(now + HOUR), () -> order.add("soon"))));
+
+        release.countDown();
+        blocking.get();
+        for (Future<Boolean> future : waiting) {
+            future.get();
+        }
+
+        assertThat(order, equalTo(Arrays.asList("soon", "tomorrow", "manual")));
+        assertThat(queue.getAverageWaitMillis() >= 0, equalTo(true));
+    }
+
+    private ApproveTask task(String collectionId, Date publishDate, Approval approval) throws Exception {
+        CollectionDescription description = new CollectionDescription(collectionId, publishDate);
+        description.setId(collectionId);
+
+        Collection collection = mock(Collection.class);
+        when(collection.getDescription()).thenReturn(description);
+
+        ApproveTask task = mock(ApproveTask.class);
+        when(task.getCollection()).thenReturn(collection);
+        when(task.call()).thenAnswer(invocation -> approval.approve());
+        return task;
+    }
+
+    @FunctionalInterface
+    private interface Approval {
+        boolean approve() throws Exception;
+    }
+}
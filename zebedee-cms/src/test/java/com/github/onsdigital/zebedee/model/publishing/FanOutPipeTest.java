@@ -0,0 +1,151 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.fail;
+
+public class FanOutPipeTest {
+
+    private ExecutorService executor;
+    private byte[] data;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        data = new byte[FanOutPipe.PIPE_SIZE * 4 + 17];
+        new Random(1).nextBytes(data);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void write_shouldDeliverAllBytesToEveryReader() throws Exception {
+        FanOutPipe first = new FanOutPipe();
+        FanOutPipe second = new FanOutPipe();
+        Future<byte[]> firstRead = executor.submit(() -> readAll(first.input));
+        Future<byte[]> secondRead = executor.submit(() -> readAll(second.input));
+
+        writeAll(first, second);
+
+        assertThat(firstRead.get(), equalTo(data));
+        assertThat(secondRead.get(), equalTo(data));
+    }
+
+    @Test
+    public void write_readerClosed_shouldNotBlockOtherReaders() throws Exception {
+        FanOutPipe closed = new FanOutPipe();
+        FanOutPipe open = new FanOutPipe();
+        closed.input.close();
+        Future<byte[]> openRead = executor.submit(() -> readAll(open.input));
+
+        writeAll(closed, open);
+
+        assertThat(closed.write(data, 1), equalTo(false));
+        assertThat(openRead.get(), equalTo(data));
+    }
+
+    @Test
+    public void read_writerFailed_shouldThrowInsteadOfEndOfStream() throws Exception {
+        FanOutPipe pipe = new FanOutPipe();
+        Future<byte[]> read = executor.submit(() -> readAll(pipe.input));
+
+        pipe.write(data, 10);
+        pipe.input.fail(new IOException("decryption failed"));
+        pipe.close();
+
+        try {
+            read.get();
+            fail("expected the reader to fail");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    @Test
+    public void copy_sourceThrowsUncheckedException_shouldFailEveryReader() throws Exception {
+        FanOutPipe first = new FanOutPipe();
+        FanOutPipe second = new FanOutPipe();
+        Future<byte[]> firstRead = executor.submit(() -> readAll(first.input));
+        Future<byte[]> secondRead = executor.submit(() -> readAll(second.input));
+        InputStream source = new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                if (pos >= FanOutPipe.BUFFER_SIZE) {
+                    throw new IllegalStateException("decryption failed");
+                }
+                return super.read(b, off, len);
+            }
+        };
+
+        try {
+            FanOutPipe.copy(source, Arrays.asList(first, second));
+            fail("expected the copy to fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertReadFails(firstRead);
+        assertReadFails(secondRead);
+    }
+
+    @Test
+    public void fail_afterCopyCompleted_shouldNotAffectReaders() throws Exception {
+        FanOutPipe pipe = new FanOutPipe();
+        Future<byte[]> read = executor.submit(() -> readAll(pipe.input));
+
+        assertThat(FanOutPipe.copy(new ByteArrayInputStream(data), Collections.singletonList(pipe)), equalTo(true));
+        pipe.fail(new IOException("resource could not be closed"));
+
+        assertThat(read.get(), equalTo(data));
+    }
+
+    private static void assertReadFails(Future<byte[]> read) throws InterruptedException {
+        try {
+            read.get();
+            fail("expected the reader to fail");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    private void writeAll(FanOutPipe... pipes) {
+        int chunk = 8 * 1024;
+        byte[] buffer = new byte[chunk];
+        for (int offset = 0; offset < data.length; offset += chunk) {
+            int length = Math.min(chunk, data.length - offset);
+            System.arraycopy(data, offset, buffer, 0, length);
+            for (FanOutPipe pipe : pipes) {
+                pipe.write(buffer, length);
+            }
+        }
+        for (FanOutPipe pipe : pipes) {
+            pipe.close();
+        }
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        try (InputStream in = input) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
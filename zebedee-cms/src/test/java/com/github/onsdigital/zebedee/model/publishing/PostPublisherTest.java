@@ -165,6 +165,36 @@ public class PostPublisherTest {
         assertTrue("Expected file should exist", expected.exists());
     }
 
+    @Test
+    public void testCopyFilesToMasterAndArchiveReadsEachFileOnce() throws Exception {
+        Content publishedContent = mock(Content.class);
+        Path masterDir = Files.createTempDirectory("published");
+        Path archiveDir = Files.createTempDirectory("archive");
+        when(zebedee.getPublished()).thenReturn(publishedContent);
+        when(publishedContent.toPath("/some/content")).thenReturn(masterDir.resolve("some/content"));
+
+        Resource content = mock(Resource.class);
+        when(content.getData()).thenReturn(new ByteArrayInputStream("content".getBytes()));
+        when(collectionReader.getResource("/some/content")).thenReturn(content);
+
+        Resource versioned = mock(Resource.class);
+        when(versioned.getData()).thenReturn(new ByteArrayInputStream("versioned".getBytes()));
+        when(collectionReader.getResource("/some/previous/v1/data.json")).thenReturn(versioned);
+
+        List<String> uris = Arrays.asList("/some/content", "/some/previous/v1/data.json");
+        Method method = PostPublisher.class.getDeclaredMethod("copyFilesToMasterAndArchive", Zebedee.class,
+                Collection.class, CollectionReader.class, List.class, Path.class);
+        method.setAccessible(true);
+        method.invoke(null, zebedee, collection, collectionReader, uris, archiveDir);
+
+        verify(collectionReader, times(1)).getResource("/some/content");
+        verify(collectionReader, times(1)).getResource("/some/previous/v1/data.json");
+        assertEquals("content", new String(Files.readAllBytes(masterDir.resolve("some/content"))));
+        assertEquals("content", new String(Files.readAllBytes(archiveDir.resolve("some/content"))));
+        assertEquals("versioned", new String(Files.readAllBytes(archiveDir.resolve("some/previous/v1/data.json"))));
+        assertFalse(Files.exists(masterDir.resolve("some/previous/v1/data.json")));
+    }
+
     @Test
     public void testGetPublishedCollectionReadsJson() throws Exception {
         Path tempDir = Files.createTempDirectory("collection");
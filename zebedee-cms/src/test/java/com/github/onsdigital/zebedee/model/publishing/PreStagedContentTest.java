@@ -0,0 +1,87 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class PreStagedContentTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Map<String, Path> files;
+
+    @Before
+    public void setUp() throws Exception {
+        files = new LinkedHashMap<>();
+        files.put("/a/data.json", write("a.json", "a", System.currentTimeMillis() - HOUR));
+        files.put("/b/data.json", write("b.json", "b", System.currentTimeMillis() - HOUR));
+    }
+
+    @Test
+    public void getChangedFiles_nothingChanged_shouldReturnEmpty() throws Exception {
+        PreStagedContent preStaged = new PreStagedContent(files);
+
+        assertThat(preStaged.getChangedFiles(files).isEmpty(), equalTo(true));
+        assertThat(preStaged.getRemovedUris(files.keySet()), empty());
+    }
+
+    @Test
+    public void getChangedFiles_fileEdited_shouldReturnEditedFile() throws Exception {
+        PreStagedContent preStaged = new PreStagedContent(files);
+
+        write("b.json", "edited", System.currentTimeMillis() - HOUR / 2);
+
+        assertThat(preStaged.getChangedFiles(files).keySet(), contains("/b/data.json"));
+    }
+
+    @Test
+    public void getChangedFiles_fileAdded_shouldReturnAddedFile() throws Exception {
+        PreStagedContent preStaged = new PreStagedContent(files);
+
+        files.put("/c/data.json", write("c.json", "c", System.currentTimeMillis()));
+
+        assertThat(preStaged.getChangedFiles(files).keySet(), contains("/c/data.json"));
+    }
+
+    @Test
+    public void getChangedFiles_fileModifiedJustBeforeStaging_shouldReturnFile() throws Exception {
+        write("a.json", "a", System.currentTimeMillis());
+        PreStagedContent preStaged = new PreStagedContent(files);
+
+        assertThat(preStaged.getChangedFiles(files).keySet(), contains("/a/data.json"));
+    }
+
+    @Test
+    public void getRemovedUris_fileRemoved_shouldReturnRemovedUri() throws Exception {
+        PreStagedContent preStaged = new PreStagedContent(files);
+
+        assertThat(preStaged.getRemovedUris(new HashSet<>(Collections.singletonList("/a/data.json"))),
+                contains("/b/data.json"));
+        assertThat(preStaged.getUris(), equalTo(new HashSet<>(Arrays.asList("/a/data.json", "/b/data.json"))));
+    }
+
+    private Path write(String name, String content, long lastModified) throws Exception {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.write(path, content.getBytes());
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+        return path;
+    }
+}
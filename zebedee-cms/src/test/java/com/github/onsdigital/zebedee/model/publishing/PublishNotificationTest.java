@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
@@ -337,9 +338,12 @@ public class PublishNotificationTest {
         PublishNotification publishNotification = new PublishNotification(collection);
 
         try (MockedStatic<LegacyCacheApiClient> mockController = mockStatic(LegacyCacheApiClient.class)) {
+            mockController.when(() -> LegacyCacheApiClient.sendPayloadsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+
             publishNotification.sendNotification(EventType.APPROVED);
 
-            mockController.verify(() -> LegacyCacheApiClient.sendPayloads(any(), any(), any()));
+            mockController.verify(() -> LegacyCacheApiClient.sendPayloadsAsync(any(), any()));
         }
     }
 
@@ -348,9 +352,12 @@ public class PublishNotificationTest {
         PublishNotification publishNotification = new PublishNotification(collection);
 
         try (MockedStatic<LegacyCacheApiClient> mockController = mockStatic(LegacyCacheApiClient.class)) {
+            mockController.when(() -> LegacyCacheApiClient.sendPayloadsAsync(any(), any()))
+                    .thenReturn(CompletableFuture.completedFuture(null));
+
             publishNotification.sendNotification(EventType.UNLOCKED);
 
-            mockController.verify(() -> LegacyCacheApiClient.sendPayloads(any(), any(), any()));
+            mockController.verify(() -> LegacyCacheApiClient.sendPayloadsAsync(any(), any()));
         }
     }
 
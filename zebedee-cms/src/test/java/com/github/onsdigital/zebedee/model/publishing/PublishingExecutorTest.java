@@ -0,0 +1,67 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+
+public class PublishingExecutorTest {
+
+    private PublishingExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new PublishingExecutor("test-publishing", 1, 1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void submit_shouldRunTaskOnNamedThread() throws Exception {
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(name.get(), startsWith("test-publishing-"));
+    }
+
+    @Test
+    public void submit_queueFull_shouldRunTaskOnCallingThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            release.await();
+            return null;
+        });
+        executor.submit(() -> null);
+
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(name.get(), equalTo(Thread.currentThread().getName()));
+        assertThat(executor.getCallerRunsCount(), equalTo(1L));
+        assertThat(executor.getQueueDepth(), equalTo(1));
+
+        release.countDown();
+    }
+
+    @Test
+    public void submit_shouldRecordTaskTimes() throws Exception {
+        executor.submit(() -> {
+            Thread.sleep(20);
+            return null;
+        }).get();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertThat(executor.getAverageRunMillis(), greaterThanOrEqualTo(20.0));
+        assertThat(executor.getAverageQueueMillis(), greaterThanOrEqualTo(0.0));
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.onsdigital.zebedee.model.publishing;
+
+import com.github.davidcarboni.httpino.Host;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
+
+public class TrainHostLimiterTest {
+
+    private final Host hostOne = new Host("http://localhost:8084");
+    private final Host hostTwo = new Host("http://localhost:8085");
+
+    @Test(expected = IllegalArgumentException.class)
+    public void new_zeroPermits_shouldThrowException() {
+        new TrainHostLimiter(0);
+    }
+
+    @Test
+    public void acquire_shouldHoldAPermitForEachHostUntilClosed() throws Exception {
+        TrainHostLimiter limiter = new TrainHostLimiter(2);
+
+        try (TrainHostLimiter.Permits permits = limiter.acquire(Arrays.asList(hostOne, hostTwo))) {
+            assertThat(limiter.inFlight(hostOne), equalTo(1));
+            assertThat(limiter.inFlight(hostTwo), equalTo(1));
+        }
+
+        assertThat(limiter.inFlight(hostOne), equalTo(0));
+        assertThat(limiter.inFlight(hostTwo), equalTo(0));
+    }
+
+    @Test
+    public void acquire_hostAtLimit_shouldWaitForARelease() throws Exception {
+        TrainHostLimiter limiter = new TrainHostLimiter(1);
+        List<Host> hosts = Arrays.asList(hostOne, hostTwo);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            TrainHostLimiter.Permits first = limiter.acquire(hosts);
+            Future<?> second = executor.submit(() -> {
+                limiter.acquire(Arrays.asList(hostTwo, hostOne)).close();
+                return null;
+            });
+
+            try {
+                second.get(100, TimeUnit.MILLISECONDS);
+                fail("expected the second acquire to wait");
+            } catch (TimeoutException e) {
+                // expected
+            }
+
+            first.close();
+            second.get(1, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
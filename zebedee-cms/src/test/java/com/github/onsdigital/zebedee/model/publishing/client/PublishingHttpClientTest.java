@@ -0,0 +1,21 @@
+package com.github.onsdigital.zebedee.model.publishing.client;
+
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PublishingHttpClientTest {
+
+    @Test
+    public void testGetPoolStats_newClient() {
+        PublishingHttpClient client = new PublishingHttpClient(5, 10);
+
+        PoolStats stats = client.getPoolStats();
+
+        assertThat(stats.getMax(), equalTo(10));
+        assertThat(stats.getLeased(), equalTo(0));
+        assertThat(stats.getPending(), equalTo(0));
+    }
+}
@@ -1,10 +1,14 @@
 package com.github.onsdigital.zebedee.model.publishing.client;
 
+import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.hamcrest.core.IsNull;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -88,4 +92,27 @@ public class PublishingRequestBuilderImplTest {
         assertThat(getRequest.getUri().getQuery(), equalTo("transactionId=transactionId&uri=uri"));
         assertThat(getRequest.getFirstHeader("X-Request-Id"), is(IsNull.notNullValue()));
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateVerifyContentHashesRequest_hashesEmpty() throws Exception {
+        try {
+            requestBuilder.createVerifyContentHashesRequest("host", "transactionId", Collections.emptyMap());
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), equalTo("hashes required for createVerifyContentHashesRequest but none provided"));
+            throw ex;
+        }
+    }
+
+    @Test
+    public void testCreateVerifyContentHashesRequest_success() throws Exception {
+        HttpUriRequest postRequest = requestBuilder.createVerifyContentHashesRequest("http://localhost:8080",
+                "transactionId", Collections.singletonMap("uri", "abc"));
+
+        assertThat(postRequest.getMethod(), equalTo("POST"));
+        assertThat(postRequest.getUri().getHost(), equalTo("localhost"));
+        assertThat(postRequest.getUri().getPath(), equalTo("/contentHashes"));
+        assertThat(postRequest.getUri().getQuery(), equalTo("transactionId=transactionId"));
+        assertThat(EntityUtils.toString(((HttpPost) postRequest).getEntity()), equalTo("{\"hashes\":{\"uri\":\"abc\"}}"));
+        assertThat(postRequest.getFirstHeader("X-Request-Id"), is(IsNull.notNullValue()));
+    }
 }
@@ -18,7 +18,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -83,4 +87,62 @@ public class LegacyCacheApiClientTest {
 
         verify(httpMock, times(1)).put(any(), any(), any(), any());
     }
+
+    @Test
+    public void sendNotificationRetriesPUTOnServerErrorTest() throws IOException {
+        payloads.get(0).uriToUpdate = "/economy/inflationandprices/bulletins/latest";
+
+        Response<Object> error = new Response<>(503, "Service Unavailable", null);
+        Response<Object> ok = new Response<>(200, "OK", null);
+
+        when(httpMock.put(any(), any(), any(), any())).thenReturn(error, ok);
+
+        long failedBefore = LegacyCacheApiClient.getFailedCount();
+
+        LegacyCacheApiClient.sendPayloads(httpMock, host, payloads);
+
+        verify(httpMock, times(2)).put(any(), any(), any(), any());
+        assertEquals(failedBefore, LegacyCacheApiClient.getFailedCount());
+        assertEquals(0, LegacyCacheApiClient.getInFlightCount());
+    }
+
+    @Test
+    public void sendNotificationThrowsExceptionWhenEveryAttemptFailsTest() throws IOException {
+        payloads.get(0).uriToUpdate = "/economy/inflationandprices/bulletins/latest";
+
+        when(httpMock.put(any(), any(), any(), any())).thenThrow(new IOException("connection refused"));
+
+        long failedBefore = LegacyCacheApiClient.getFailedCount();
+
+        assertThrows(IOException.class, () -> LegacyCacheApiClient.sendPayloads(httpMock, host, payloads));
+
+        verify(httpMock, times(3)).put(any(), any(), any(), any());
+        assertEquals(failedBefore + 1, LegacyCacheApiClient.getFailedCount());
+    }
+
+    @Test
+    public void sendPayloadsAsyncSendsEveryPayloadAndClosesHttpTest() throws Exception {
+        payloads.get(0).uriToUpdate = "/economy/inflationandprices/bulletins/latest";
+
+        Response<Object> ok = new Response<>(200, "OK", null);
+        when(httpMock.put(any(), any(), any(), any())).thenReturn(ok);
+
+        LegacyCacheApiClient.sendPayloadsAsync(() -> httpMock, host, payloads).get(10, TimeUnit.SECONDS);
+
+        verify(httpMock, times(1)).put(any(), any(), any(), any());
+        verify(httpMock).close();
+    }
+
+    @Test
+    public void sendPayloadsAsyncCompletesExceptionallyWhenEveryAttemptFailsTest() throws Exception {
+        payloads.get(0).uriToUpdate = "/economy/inflationandprices/bulletins/latest";
+
+        when(httpMock.put(any(), any(), any(), any())).thenThrow(new IOException("connection refused"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> LegacyCacheApiClient.sendPayloadsAsync(() -> httpMock, host, payloads).get(10, TimeUnit.SECONDS));
+
+        assertTrue(e.getCause() instanceof IOException);
+        verify(httpMock).close();
+    }
 }
@@ -5,6 +5,7 @@ import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.model.Content;
 import com.github.onsdigital.zebedee.model.publishing.client.GetContentHashEntity;
 import com.github.onsdigital.zebedee.model.publishing.client.PublishingClient;
+import com.github.onsdigital.zebedee.model.publishing.client.VerifyContentHashesEntity;
 import com.github.onsdigital.zebedee.reader.CollectionReader;
 import com.github.onsdigital.zebedee.reader.Resource;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -17,13 +18,20 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashVerifierImplTest {
@@ -280,4 +288,85 @@ public class HashVerifierImplTest {
 
         hashVerifier.verifyTransactionContent(collection, reader);
     }
+
+    @Test
+    public void verifyTransactionContent_publishedHash_shouldNotReadCollectionContent() throws Exception {
+        String uri = "/a/b/c/data.json";
+        mockCollection("localhost", "666", uri);
+
+        when(publishingClient.getContentHash("localhost", "666", uri))
+                .thenReturn(new GetContentHashEntity(uri, "666", "abcdefg"));
+
+        hashVerifier.verifyTransactionContent(collection, reader, Collections.singletonMap(uri, "abcdefg"));
+
+        verify(reader, never()).getResource(anyString());
+    }
+
+    @Test
+    public void verifyTransactionContent_batchEnabled_shouldSendOneRequestPerBatchPerHost() throws Exception {
+        mockCollection("localhost", "666", "/a/data.json", "/b/data.json", "/c/data.json");
+        Map<String, String> hashes = new HashMap<>();
+        hashes.put("/a/data.json", "a");
+        hashes.put("/b/data.json", "b");
+        hashes.put("/c/data.json", "c");
+
+        when(publishingClient.verifyContentHashes(anyString(), anyString(), anyMap()))
+                .thenReturn(new VerifyContentHashesEntity("666", null));
+
+        new HashVerifierImpl(publishingClient, true, 2).verifyTransactionContent(collection, reader, hashes);
+
+        verify(publishingClient, times(2)).verifyContentHashes(anyString(), anyString(), anyMap());
+        verify(publishingClient, never()).getContentHash(anyString(), anyString(), anyString());
+        verify(reader, never()).getResource(anyString());
+    }
+
+    @Test(expected = HashVerificationException.class)
+    public void verifyTransactionContent_batchMismatch_ExceptionThrown() throws Exception {
+        String uri = "/a/b/c/data.json";
+        mockCollection("localhost", "666", uri);
+
+        when(publishingClient.verifyContentHashes(anyString(), anyString(), anyMap()))
+                .thenReturn(new VerifyContentHashesEntity("666", Collections.singletonMap(uri, "wrong")));
+
+        try {
+            new HashVerifierImpl(publishingClient, true, 1000)
+                    .verifyTransactionContent(collection, reader, Collections.singletonMap(uri, "abcdefg"));
+        } catch (HashVerificationException ex) {
+            assertTrue(ex.getMessage().contains("file content hash from remote server did not match the expected value "));
+            assertThat(ex.getHost(), equalTo("localhost"));
+            assertThat(ex.getTransactionId(), equalTo("666"));
+            assertThat(ex.getUri(), equalTo(uri));
+            throw ex;
+        }
+    }
+
+    @Test
+    public void verifyTransactionContent_givenUris_shouldOnlyVerifyThoseUris() throws Exception {
+        mockCollection("localhost", "666", "/a/data.json", "/b/data.json");
+
+        when(publishingClient.getContentHash("localhost", "666", "/b/data.json"))
+                .thenReturn(new GetContentHashEntity("/b/data.json", "666", "b"));
+
+        hashVerifier.verifyTransactionContent(collection, reader, Collections.singletonMap("/b/data.json", "b"),
+                Collections.singleton("/b/data.json"));
+
+        verify(publishingClient, times(1)).getContentHash(anyString(), anyString(), anyString());
+        verify(reviewed, never()).uris();
+    }
+
+    private void mockCollection(String host, String transactionId, String... uris) throws Exception {
+        when(collection.getId())
+                .thenReturn("666");
+
+        when(collection.getDescription())
+                .thenReturn(description);
+
+        when(description.getPublishTransactionIds())
+                .thenReturn(Collections.singletonMap(host, transactionId));
+
+        when(collection.getReviewed())
+                .thenReturn(reviewed);
+
+        when(reviewed.uris()).thenReturn(new ArrayList<>(Arrays.asList(uris)));
+    }
 }
@@ -29,6 +29,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -59,6 +60,10 @@ public class JWTPermissionsServiceImplTest {
         jwtPermissionsService = new JWTPermissionsServiceImpl(jwtPermissionStore);
 
         when(jwtPermissionStore.getAccessMapping()).thenReturn(accessMapping);
+        when(jwtPermissionStore.getCollectionTeams(anyString())).thenAnswer(invocation -> {
+            Map<String, Set<String>> collections = accessMapping.getCollections();
+            return collections == null ? null : collections.get(invocation.<String>getArgument(0));
+        });
     }
 
     @Test
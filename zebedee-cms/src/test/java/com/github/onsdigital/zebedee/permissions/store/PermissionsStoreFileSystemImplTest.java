@@ -10,6 +10,8 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
 
 import static com.github.onsdigital.zebedee.permissions.store.PermissionsStoreFileSystemImpl.PERMISSIONS_FILE;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -52,4 +54,29 @@ public class PermissionsStoreFileSystemImplTest {
         assertThat(Files.exists(accessMappingPath.toPath()), is(true));
         assertThat(new AccessMapping(), equalTo(store.getAccessMapping()));
     }
+
+    @Test
+    public void saveAccessMapping_ShouldWriteThroughToFileAndSnapshot() throws Exception {
+        PermissionsStoreFileSystemImpl.initialisePermissions(permissionsDir);
+        PermissionsStore store = new PermissionsStoreFileSystemImpl(permissionsDir);
+
+        AccessMapping accessMapping = store.getAccessMapping();
+        accessMapping.getCollections().put("collection", new HashSet<>(Arrays.asList("team1", "team2")));
+        store.saveAccessMapping(accessMapping);
+
+        assertThat(store.getCollectionTeams("collection"), equalTo(new HashSet<>(Arrays.asList("team1", "team2"))));
+        assertThat(store.getCollectionTeams("other").isEmpty(), is(true));
+        assertThat(new PermissionsStoreFileSystemImpl(permissionsDir).getAccessMapping(), equalTo(accessMapping));
+    }
+
+    @Test
+    public void getAccessMapping_ShouldNotExposeSnapshot() throws Exception {
+        PermissionsStoreFileSystemImpl.initialisePermissions(permissionsDir);
+        PermissionsStore store = new PermissionsStoreFileSystemImpl(permissionsDir);
+
+        store.getAccessMapping().getCollections().put("collection", new HashSet<>(Arrays.asList("team1")));
+
+        assertThat(store.getAccessMapping(), equalTo(new AccessMapping()));
+        assertThat(store.getCollectionTeams("collection").isEmpty(), is(true));
+    }
 }
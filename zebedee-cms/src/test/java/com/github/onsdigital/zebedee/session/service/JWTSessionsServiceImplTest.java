@@ -104,6 +104,34 @@ public class JWTSessionsServiceImplTest {
         assertTrue(actual.getGroups().contains("test"));
     }   
 
+    @Test
+    @RunInThread
+    public void set_ShouldVerifySignatureOnce_WhenTokenReused() throws Exception {
+        JWTVerifier verifier = Mockito.mock(JWTVerifier.class);
+        Mockito.when(verifier.verify(SIGNED_TOKEN)).thenAnswer(invocation -> jwtVerifier.verify(SIGNED_TOKEN));
+        JWTSessionsServiceImpl sessions = new JWTSessionsServiceImpl(verifier, serviceStore, new VerifiedTokenCache(10));
+
+        sessions.set(SIGNED_TOKEN);
+        sessions.set(SIGNED_TOKEN);
+
+        Mockito.verify(verifier, Mockito.times(1)).verify(SIGNED_TOKEN);
+        assertEquals(EMAIL, store.get().getEmail());
+        assertEquals(4, store.get().getGroups().size());
+    }
+
+    @Test
+    @RunInThread
+    public void set_ShouldNotCacheToken_WhenAccessTokenExpired() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        JWTSessionsServiceImpl sessions = new JWTSessionsServiceImpl(jwtVerifier, serviceStore, cache);
+
+        assertThrows(SessionsException.class, () -> sessions.set(TOKEN_EXPIRED_TIME));
+        assertThrows(SessionsException.class, () -> sessions.set(TOKEN_EXPIRED_TIME));
+
+        assertEquals(0, cache.size());
+        assertTrue(VerifiedTokenCache.getExpiresAt(TOKEN_EXPIRED_TIME) < System.currentTimeMillis());
+    }
+
     @Test
     @RunInThread
     public void set_ShouldThrowException_WhenAccessTokenBlank() throws Exception {
@@ -8,6 +8,7 @@ import org.junit.Test;
 
 import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -71,6 +72,25 @@ public class EncryptionUtilsTest {
         assertEquals(plain, value);
     }
 
+    @Test
+    public void plaintextLength_withEncryptedFile_returnsLengthOfPlaintext() throws IOException {
+        // Given
+        // a secret key
+        SecretKey key = Keys.newSecretKey();
+
+        for (int length : new int[]{0, 1, 26, 100000}) {
+            // When
+            // we encrypt plaintexts of different lengths
+            try (OutputStream outputStream = EncryptionUtils.encryptionOutputStream(path, key)) {
+                outputStream.write(new byte[length]);
+            }
+
+            // Then
+            // the plaintext length is calculated without decrypting
+            assertEquals(length, EncryptionUtils.plaintextLength(path, key));
+        }
+    }
+
     @Test
     public void givenValue_generatingChecksum_thenVerifying() {
         String input = "hello world";
@@ -12,10 +12,13 @@ import com.github.onsdigital.logging.v2.serializer.JacksonLogSerialiser;
 import com.github.onsdigital.logging.v2.serializer.LogSerialiser;
 import com.github.onsdigital.logging.v2.storage.LogStore;
 import com.github.onsdigital.logging.v2.storage.MDCLogStore;
+import com.github.onsdigital.zebedee.reader.api.bean.PublishedUriIndex;
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 
 @Priority(1)
@@ -49,6 +52,12 @@ public class ReaderInit implements Startup {
         info().log("loading zebedee reader configuration");
         ReaderConfiguration.get();
 
+        long refreshSeconds = ReaderConfiguration.get().getPublishedUriIndexRefreshSeconds();
+        info().data("refresh_seconds", refreshSeconds).log("building published uri index in the background");
+        PublishedUriIndex index = PublishedUriIndex.getInstance();
+        index.refresh();
+        index.refreshEvery(refreshSeconds, TimeUnit.SECONDS);
+
         info().log("Zebedee Reader initialised");
     }
 
@@ -31,6 +31,15 @@ public class TimeSeries extends StatisticalData implements Comparable<TimeSeries
     public TreeSet<TimeSeriesValue> quarters = new TreeSet<>();
     public TreeSet<TimeSeriesValue> months = new TreeSet<>();
 
+    /**
+     * Sort-key indexes of {@link #years}, {@link #quarters} and {@link #months} for finding date ranges, built when
+     * first needed and rebuilt if the values change size or are replaced. Held in addition to the sets, not
+     * serialised.
+     */
+    private transient TimeSeriesPeriodIndex yearsIndex;
+    private transient TimeSeriesPeriodIndex quartersIndex;
+    private transient TimeSeriesPeriodIndex monthsIndex;
+
     /**
      * Enables the raw CSV values to be scaled to match the units defined here.
      * <p>
@@ -82,6 +91,30 @@ public class TimeSeries extends StatisticalData implements Comparable<TimeSeries
         }
     }
 
+    /**
+     * @return a sort-key index of {@link #years}.
+     */
+    public TimeSeriesPeriodIndex getYearsIndex() {
+        yearsIndex = TimeSeriesPeriodIndex.of(years, yearsIndex);
+        return yearsIndex;
+    }
+
+    /**
+     * @return a sort-key index of {@link #quarters}.
+     */
+    public TimeSeriesPeriodIndex getQuartersIndex() {
+        quartersIndex = TimeSeriesPeriodIndex.of(quarters, quartersIndex);
+        return quartersIndex;
+    }
+
+    /**
+     * @return a sort-key index of {@link #months}.
+     */
+    public TimeSeriesPeriodIndex getMonthsIndex() {
+        monthsIndex = TimeSeriesPeriodIndex.of(months, monthsIndex);
+        return monthsIndex;
+    }
+
     public void setCdid(String cdid) {
         if (getDescription() == null) {
             setDescription(new PageDescription());
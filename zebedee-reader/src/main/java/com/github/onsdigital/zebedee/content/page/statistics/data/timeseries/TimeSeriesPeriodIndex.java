@@ -0,0 +1,105 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Read only sort-key index over the values of one frequency of a timeseries, so a range of periods can be found with
+ * a binary search instead of parsing the date of every value.
+ * <p>
+ * This is a cache held alongside the {@link java.util.TreeSet} of the timeseries, not a replacement for it, so it adds
+ * to the memory a timeseries uses: an array of references to the same {@link TimeSeriesValue} objects and an array of
+ * their period keys. It is only built for timeseries that are filtered by date range.
+ */
+public class TimeSeriesPeriodIndex {
+
+    private final SortedSet<TimeSeriesValue> source;
+    private final int sourceSize;
+    private final TimeSeriesValue[] values;
+    private final long[] periodKeys;
+
+    private TimeSeriesPeriodIndex(SortedSet<TimeSeriesValue> source) {
+        this.source = source;
+        this.sourceSize = source.size();
+        this.values = source.toArray(new TimeSeriesValue[sourceSize]);
+        this.periodKeys = new long[sourceSize];
+        for (int i = 0; i < sourceSize; i++) {
+            periodKeys[i] = values[i].getPeriodKey();
+        }
+    }
+
+    /**
+     * @param values the values of one frequency of a timeseries, in date order.
+     * @return an index of the values.
+     */
+    public static TimeSeriesPeriodIndex of(SortedSet<TimeSeriesValue> values) {
+        return new TimeSeriesPeriodIndex(values);
+    }
+
+    /**
+     * @return the cached index if it is still an index of the given values, otherwise a new index.
+     */
+    static TimeSeriesPeriodIndex of(SortedSet<TimeSeriesValue> values, TimeSeriesPeriodIndex cached) {
+        if (cached != null && cached.source == values && cached.sourceSize == values.size()) {
+            return cached;
+        }
+        return new TimeSeriesPeriodIndex(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public TimeSeriesValue get(int index) {
+        return values[index];
+    }
+
+    public long getPeriodKey(int index) {
+        return periodKeys[index];
+    }
+
+    /**
+     * @return the index of the first value with a period key greater than or equal to the given key.
+     */
+    public int lowerBound(long periodKey) {
+        int low = 0;
+        int high = periodKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (periodKeys[mid] < periodKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the first value with a period key greater than the given key.
+     */
+    public int upperBound(long periodKey) {
+        int low = 0;
+        int high = periodKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (periodKeys[mid] <= periodKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param fromIndex the index of the first value, inclusive.
+     * @param toIndex   the index after the last value, exclusive.
+     * @return a read only view of the values between the indexes.
+     */
+    public List<TimeSeriesValue> subList(int fromIndex, int toIndex) {
+        return Collections.unmodifiableList(Arrays.asList(values).subList(fromIndex, toIndex));
+    }
+}
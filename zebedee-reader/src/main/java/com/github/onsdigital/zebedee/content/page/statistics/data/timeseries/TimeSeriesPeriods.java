@@ -0,0 +1,45 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the period keys of timeseries dates.
+ * <p>
+ * Every timeseries uses the same few thousand period labels ("2015", "2015 Q1", "2015 JAN"...), so each label is only
+ * parsed once rather than for every value of every timeseries read. The number of labels cached is bounded, labels
+ * beyond the limit are parsed each time.
+ */
+class TimeSeriesPeriods {
+
+    static final int MAX_SIZE = 50000;
+
+    private static final Map<String, Long> periodKeys = new ConcurrentHashMap<>();
+
+    private TimeSeriesPeriods() {
+    }
+
+    /**
+     * @param date the date of a timeseries value.
+     * @return the start of the period in milliseconds.
+     * @throws RuntimeException if the date is not in a recognised format.
+     */
+    static long toPeriodKey(String date) {
+        if (date == null) {
+            return TimeSeriesValue.parseDate(date).getTime();
+        }
+
+        Long key = periodKeys.get(date);
+        if (key == null) {
+            key = TimeSeriesValue.parseDate(date).getTime();
+            if (periodKeys.size() < MAX_SIZE) {
+                periodKeys.put(date, key);
+            }
+        }
+        return key;
+    }
+
+    static int size() {
+        return periodKeys.size();
+    }
+}
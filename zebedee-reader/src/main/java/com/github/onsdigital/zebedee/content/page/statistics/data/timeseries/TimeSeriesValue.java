@@ -32,44 +32,64 @@ public class TimeSeriesValue implements Comparable<TimeSeriesValue> {
 	public Date updateDate;
 
 	/**
-	 * We don't want to serialise this, but it's useful to keep a cached copy
+	 * We don't want to serialise these, but it's useful to keep a cached copy
 	 * because the regex and Calendar work is expensive, particularly given the
 	 * amount of data we need to handle.
 	 */
 	private transient Date toDate;
+	private transient long periodKey;
+	private transient boolean periodKeyParsed;
 
 	/**
-	 * Calls {@link #toDate()} and returns {@link Date#hashCode()}.
+	 * Returns the hash code of the period key, which is the same as {@link Date#hashCode()} of {@link #toDate()}.
 	 */
 	@Override
 	public int hashCode() {
-		return toDate().hashCode();
+		return Long.hashCode(getPeriodKey());
 	}
 
 	/**
-	 * Calls {@link #toDate()} and uses {@link Date#equals(Object)}.
+	 * Compares the period keys, equivalent to {@link Date#equals(Object)} of {@link #toDate()}.
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		return obj != null && this.getClass().isAssignableFrom(obj.getClass()) && toDate().equals(((TimeSeriesValue) obj).toDate());
+		return obj != null && this.getClass().isAssignableFrom(obj.getClass()) && getPeriodKey() == ((TimeSeriesValue) obj).getPeriodKey();
 	}
 
 	/**
-	 * Calls {@link #toDate()} and returns {@link Date#compareTo(Date)}.
+	 * Compares the period keys, equivalent to {@link Date#compareTo(Date)} of {@link #toDate()}.
 	 */
 	@Override
 	public int compareTo(TimeSeriesValue o) {
-		return toDate().compareTo(o.toDate());
+		return Long.compare(getPeriodKey(), o.getPeriodKey());
+	}
+
+	/**
+	 * @return the start of the period of this value in milliseconds, which sorts values in date order.
+	 */
+	public long getPeriodKey() {
+		if (!periodKeyParsed) {
+			periodKey = TimeSeriesPeriods.toPeriodKey(date);
+			periodKeyParsed = true;
+		}
+		return periodKey;
 	}
 
 	public Date toDate() {
 		if (toDate == null) {
-			toDate = toDate(date);
+			toDate = new Date(getPeriodKey());
 		}
 		return toDate;
 	}
 
 	public static Date toDate(String date) {
+		return new Date(TimeSeriesPeriods.toPeriodKey(date));
+	}
+
+	/**
+	 * Parses a date without using the cache of {@link TimeSeriesPeriods}.
+	 */
+	static Date parseDate(String date) {
 		Date result;
 
 		try {
@@ -4,14 +4,22 @@ import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
 
@@ -24,6 +32,13 @@ import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
  */
 public class ContentUtil {
 
+    /**
+     * Gson instances are immutable and thread safe, and cache the reflective type adapters they build. They are
+     * created once per date pattern and shared rather than rebuilt on every call.
+     */
+    private static final ConcurrentMap<String, Gson> gsonByDatePattern = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Gson> pageGsonByDatePattern = new ConcurrentHashMap<>();
+
     /**
      * Returns json string for given object
      *
@@ -104,15 +119,70 @@ public class ContentUtil {
      */
     public static Page deserialiseContent(InputStream stream) {
         try (InputStreamReader inputStreamReader = new InputStreamReader(stream)) {
-            return createBuilder(ContentConstants.JSON_DATE_PATTERN)
-                    .registerTypeAdapter(Page.class, PageTypeResolver.getInstance())
-                    .create().fromJson(inputStreamReader, Page.class);
+            return pageGson(ContentConstants.JSON_DATE_PATTERN).fromJson(inputStreamReader, Page.class);
         } catch (IOException ex) {
             throw new RuntimeException(error().logException(ex, "Failed to close inputstream reader."));
         }
     }
 
 
+    /**
+     * Checks the given stream is json page content, reading it to the end a token at a time rather than deserialising
+     * it, so memory use does not depend on the size of the content. Only the json syntax and the page type are
+     * checked: the stream must hold a single json object (or nothing), and if it has a type that type must be one
+     * that can be deserialised.
+     *
+     * @param stream json stream
+     * @throws IOException        if the stream cannot be read or is not valid json.
+     * @throws JsonParseException if the json is not page content.
+     */
+    public static void validateContent(InputStream stream) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        // Gson parses leniently when deserialising, so the same json is accepted here.
+        reader.setLenient(true);
+
+        JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (EOFException e) {
+            return; // empty content deserialises to null.
+        }
+
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+        } else {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("type".equals(reader.nextName())) {
+                    PageTypeResolver.getInstance().checkPageType(readPageType(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("JSON document was not fully consumed.");
+        }
+    }
+
+    /**
+     * Read the type of a page as a string, the same way deserialising the page reads it: a number or boolean type is
+     * converted to a string. {@link JsonReader#nextString()} does not accept booleans, so they are read separately.
+     */
+    private static String readPageType(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            default:
+                throw new JsonParseException("Invalid page type");
+        }
+    }
+
     /**
      * Resolves page type and deserializes automatically to that implementation. Use if you do not need to know actual class implementation,
      *
@@ -121,7 +191,7 @@ public class ContentUtil {
      * @return
      */
     public static Page deserialiseContent(InputStream stream, String datePattern) {
-        return createBuilder(datePattern).registerTypeAdapter(Page.class, PageTypeResolver.getInstance()).create().fromJson(new InputStreamReader(stream), Page.class);
+        return pageGson(datePattern).fromJson(new InputStreamReader(stream), Page.class);
     }
 
 
@@ -132,7 +202,7 @@ public class ContentUtil {
      * @return
      */
     public static Page deserialiseContent(String json) {
-        return createBuilder(ContentConstants.JSON_DATE_PATTERN).registerTypeAdapter(Page.class, PageTypeResolver.getInstance()).create().fromJson(json, Page.class);
+        return pageGson(ContentConstants.JSON_DATE_PATTERN).fromJson(json, Page.class);
     }
 
     /**
@@ -143,7 +213,7 @@ public class ContentUtil {
      * @return
      */
     public static Page deserialiseContent(String json, String datePattern) {
-        return createBuilder(datePattern).registerTypeAdapter(Page.class, PageTypeResolver.getInstance()).create().fromJson(json, Page.class);
+        return pageGson(datePattern).fromJson(json, Page.class);
     }
 
     public static String hash(Content content) {
@@ -175,17 +245,22 @@ public class ContentUtil {
     }
 
     private static Gson gson(String datePattern) {
-        GsonBuilder builder = createBuilder(datePattern);
-        return builder.create();
+        return gsonByDatePattern.computeIfAbsent(resolveDatePattern(datePattern),
+                pattern -> createBuilder(pattern).create());
+    }
+
+    private static Gson pageGson(String datePattern) {
+        return pageGsonByDatePattern.computeIfAbsent(resolveDatePattern(datePattern),
+                pattern -> createBuilder(pattern)
+                        .registerTypeAdapter(Page.class, PageTypeResolver.getInstance())
+                        .create());
+    }
+
+    private static String resolveDatePattern(String datePattern) {
+        return StringUtils.isNotBlank(datePattern) ? datePattern : ContentConstants.JSON_DATE_PATTERN;
     }
 
     private static GsonBuilder createBuilder(String datePattern) {
-        GsonBuilder builder = new GsonBuilder();
-        if (StringUtils.isNotBlank(datePattern)) {
-            builder.registerTypeAdapter(Date.class, new IsoDateSerializer(datePattern));
-        } else {
-            builder.registerTypeAdapter(Date.class, new IsoDateSerializer(ContentConstants.JSON_DATE_PATTERN));
-        }
-        return builder;
+        return new GsonBuilder().registerTypeAdapter(Date.class, new IsoDateSerializer(datePattern));
     }
 }
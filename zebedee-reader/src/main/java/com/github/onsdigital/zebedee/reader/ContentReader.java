@@ -1,10 +1,13 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.data.filter.FilterUtil;
 
 import java.io.IOException;
 import java.net.URI;
@@ -16,6 +19,16 @@ import java.util.Map;
 public interface ContentReader {
     Page getContent(String path) throws ZebedeeException, IOException;
 
+    /**
+     * Get the content under the given path with the given filter applied.
+     *
+     * @param path   path of requested content under the root folder.
+     * @param filter the filter to apply, or null to get the whole page.
+     */
+    default Content getContent(String path, DataFilter filter) throws ZebedeeException, IOException {
+        return FilterUtil.filterPageData(getContent(path), filter);
+    }
+
     Page getLatestContent(String path) throws ZebedeeException, IOException;
 
     Resource getResource(String path) throws ZebedeeException, IOException;
@@ -1,7 +1,9 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.ContentNodeDetails;
 import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.content.page.base.PageDescription;
 import com.github.onsdigital.zebedee.content.page.statistics.document.figure.chart.Chart;
@@ -14,13 +16,17 @@ import com.github.onsdigital.zebedee.exceptions.ResourceDirectoryNotFileExceptio
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.data.filter.FilterUtil;
+import com.github.onsdigital.zebedee.reader.util.MimeTypeResolver;
 import com.github.onsdigital.zebedee.reader.util.ReleaseDateComparator;
+import com.github.onsdigital.zebedee.util.FileTimeUtils;
 import com.github.onsdigital.zebedee.util.PathUtils;
 import com.github.onsdigital.zebedee.util.URIUtils;
 import com.google.gson.JsonSyntaxException;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.tika.Tika;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.DirectoryStream;
@@ -30,6 +36,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -67,34 +74,41 @@ import io.opentelemetry.context.Scope;
 public class FileSystemContentReader implements ContentReader {
 
     private static final Path EMPTY_PATH = Paths.get("");
-    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
-
-    /**
-     * Apache TIKA is a library providing helper methods for determining the MIME type of files. Using this in place
-     * of {@link Files#probeContentType(Path)} due to known issues and bugs depending on the OS its used on.
-     */
-    private static Tika tika = new Tika();
 
     private final Path rootFolder;
+    private final PublishedContentCache contentCache;
     protected ContentLanguage language = ContentLanguage.ENGLISH;
     private Tracer tracer = GlobalOpenTelemetry.getTracer("zebedee-reader", "");
 
     public FileSystemContentReader(Path rootFolder) {
+        this(rootFolder, null);
+    }
+
+    /**
+     * Create a content reader that serves page json through the given cache. Only suitable for published content,
+     * where files are read from disk as is.
+     *
+     * @param rootFolder   the root content folder.
+     * @param contentCache the cache of page json files, or null to always read from disk.
+     */
+    public FileSystemContentReader(Path rootFolder, PublishedContentCache contentCache) {
         if (rootFolder == null || rootFolder.equals(EMPTY_PATH)) { 
             throw new NullPointerException("Root folder can not be null");
         }
         this.rootFolder = rootFolder;
+        this.contentCache = contentCache;
     }
 
     /**
-     * Determine the mime type of the file at the given path.
+     * Determine the mime type of the file at the given path, from its extension if it is a known one and by sniffing
+     * its content otherwise.
      *
      * @param path the file path of the content to check.
      * @return the MIME type for the file, (default is application/octet-stream).
      * @throws IOException error determining MIME type.
      */
     protected static String determineMimeType(Path path) throws IOException {
-        return StringUtils.defaultIfEmpty(tika.detect(path), DEFAULT_MIME_TYPE);
+        return MimeTypeResolver.resolve(path);
     }
 
     /**
@@ -115,8 +129,10 @@ public class FileSystemContentReader implements ContentReader {
             if (!isRootFolder(contentPath)) {
                 String parentPath = URIUtils.removeLastSegment(path);
                 try {
-                    Page latestContent = getLatestContent(parentPath);
-                    if (toRelativeUri(contentPath.getParent()).equals(latestContent.getUri())) {
+                    Path latest = resolveLatestEdition(parentPath);
+                    if (latest != null && toRelativeUri(contentPath.getParent()).equals(toRelativeUri(latest))) {
+                        Page latestContent = getPage(resolveDataFilePath(latest));
+                        setLatestRelease(parentPath, latestContent);
                         return latestContent;
                     }
                 } catch (Exception e) {
@@ -150,13 +166,49 @@ public class FileSystemContentReader implements ContentReader {
         return getPage(dataFile);
     }
 
+    /**
+     * Get the content under the given path with the given filter applied. When reading through the published content
+     * cache the series of a timeseries page is kept with the cached page file, so repeated requests for the same range
+     * (the sparklines on the website) are served without reading the page again until its file changes.
+     */
+    @Override
+    public Content getContent(String path, DataFilter filter) throws ZebedeeException, IOException {
+        if (contentCache == null || filter == null || filter.getType() != DataFilter.FilterType.SERIES) {
+            return FilterUtil.filterPageData(getContent(path), filter);
+        }
+
+        // the latest edition of a timeseries is read from its own data file, so the page file is the same either way.
+        Path dataFile = resolveContentPath(path);
+        assertExists(dataFile);
+        assertNotDirectory(dataFile);
+        PublishedContentCache.CachedFile cached = contentCache.get(dataFile);
+
+        // the series is kept serialised, so every request gets its own instance that it is free to modify.
+        String key = language.getId() + ":" + FilterUtil.getSeriesKey(filter.getParameters());
+        String json = (String) cached.getDerived(key);
+        if (json == null) {
+            Page page = getPage(dataFile, toResource(dataFile, cached));
+            if (page != null && page.getDescription() != null) {
+                page.getDescription().setLatestRelease(null);
+            }
+            Content series = FilterUtil.filterPageData(page, filter);
+            cached.putDerived(key, ContentUtil.serialise(series));
+            return series;
+        }
+        return ContentUtil.deserialise(json, Series.class);
+    }
+
     private Page getPage(Path dataFile) throws IOException, ZebedeeException {
+        return getPage(dataFile, getPageResource(dataFile));
+    }
+
+    private Page getPage(Path dataFile, Resource pageResource) throws IOException, ZebedeeException {
         Span span = tracer.spanBuilder("FileSystemContentReader.getPage()").startSpan();
         span.setAttribute("Path", dataFile.toString());
         Page page = null;
 
         try (Scope scope = span.makeCurrent()) {
-            try (Resource resource = getResource(dataFile)) {
+            try (Resource resource = pageResource) {
     //            checkJsonMime(resource, path);
                 page = deserialize(resource);
                 if (page == null) { //Contents without type is null when deserialised. There should not be no such data
@@ -176,6 +228,25 @@ public class FileSystemContentReader implements ContentReader {
         return page;
     }
 
+    private Resource getPageResource(Path dataFile) throws ZebedeeException, IOException {
+        if (contentCache == null) {
+            return getResource(dataFile);
+        }
+
+        assertExists(dataFile);
+        assertNotDirectory(dataFile);
+        return toResource(dataFile, contentCache.get(dataFile));
+    }
+
+    private Resource toResource(Path dataFile, PublishedContentCache.CachedFile cached) {
+        Resource resource = new Resource();
+        resource.setName(dataFile.getFileName().toString());
+        resource.setMimeType(cached.getMimeType());
+        resource.setUri(toRelativeUri(dataFile));
+        resource.setData(new ByteArrayInputStream(cached.getData()));
+        return resource;
+    }
+
     private URI resolveUri(String uriString, Page page) {
         URI uri;
         if (page instanceof Table || page instanceof Chart || page instanceof Image) {
@@ -197,12 +268,7 @@ public class FileSystemContentReader implements ContentReader {
             Path parent = contentPath.getParent();
             assertIsEditionsFolder(parent);
             page = resolveLatest(contentPath);
-            if (!path.contains(ReaderConfiguration.get().getTimeseriesFolderName())
-                    && StringUtils.isBlank(page.getDescription().getMigrationLink())) {
-                page.getDescription().setLatestRelease(true);
-            } else {
-                page.getDescription().setLatestRelease(null);
-            }
+            setLatestRelease(path, page);
         } catch (Throwable t) {
             span.recordException(t);
             throw t;
@@ -212,6 +278,15 @@ public class FileSystemContentReader implements ContentReader {
         return page;
     }
 
+    private void setLatestRelease(String path, Page page) {
+        if (!path.contains(ReaderConfiguration.get().getTimeseriesFolderName())
+                && StringUtils.isBlank(page.getDescription().getMigrationLink())) {
+            page.getDescription().setLatestRelease(true);
+        } else {
+            page.getDescription().setLatestRelease(null);
+        }
+    }
+
     /**
      * get resource
      *
@@ -353,15 +428,56 @@ public class FileSystemContentReader implements ContentReader {
         return nodes;
     }
 
+    //Resolves the latest edition directory of the series at the given path, null if it is not an edition series
+    private Path resolveLatestEdition(String seriesPath) throws ZebedeeException, IOException {
+        Path series = resolvePath(seriesPath);
+        if (!isEditionsFolder(series.getParent())) {
+            return null;
+        }
+        return resolveLatestEdition(series);
+    }
+
     private Page resolveLatest(Path path) throws ZebedeeException, IOException {
+        Path latest = resolveLatestEdition(path);
+        if (latest == null) {
+            return null;
+        }
+        return getPage(resolveDataFilePath(latest));
+    }
+
+    /**
+     * Find the edition directory with the most recent release date. Finding it means reading every edition, so when
+     * reading published content the result is kept until the series directory is modified (an edition is added or
+     * removed) or an edition of the series is published, and only the series directory is read to check it.
+     */
+    private Path resolveLatestEdition(Path path) throws ZebedeeException, IOException {
+        if (contentCache == null) {
+            return findLatestEdition(path);
+        }
+
+        FileTime seriesModified = Files.getLastModifiedTime(path);
+        if (FileTimeUtils.isRacy(seriesModified, System.currentTimeMillis())) {
+            return findLatestEdition(path);
+        }
 
+        PublishedContentCache.LatestEdition cached = contentCache.getLatestEdition(path, language, seriesModified);
+        if (cached != null) {
+            return cached.getPath();
+        }
+
+        Path latest = findLatestEdition(path);
+        contentCache.putLatestEdition(path, language, seriesModified, latest);
+        return latest;
+    }
+
+    private Path findLatestEdition(Path path) throws ZebedeeException, IOException {
         Map<URI, ContentNode> children = resolveChildren(path);
         if (children == null || children.isEmpty()) {
             return null;
         }
 
         Set<ContentNode> sortedSet = sortByDate(children.values());
-        return getPage(resolveDataFilePath(resolvePath(sortedSet.iterator().next().getUri().toString())));
+        return resolvePath(sortedSet.iterator().next().getUri().toString());
     }
 
     private Set<ContentNode> sortByDate(Collection<ContentNode> set) {
@@ -392,6 +508,7 @@ public class FileSystemContentReader implements ContentReader {
             resource.setMimeType(determineMimeType(path));
             resource.setUri(toRelativeUri(path));
             resource.setData(newInputStream(path));
+            resource.setFile(path);
         }
         catch(Throwable t) {
             span.recordException(t);
@@ -455,15 +572,26 @@ public class FileSystemContentReader implements ContentReader {
     private void assertIsEditionsFolder(Path path) throws ZebedeeException, IOException {
         assertExists(path);
         assertIsDirectory(path);
+        if (isEditionsFolderName(path)) {
+            return;
+        }
+        throw new BadRequestException("Latest uri can not be resolved for this content type");
+    }
+
+    private boolean isEditionsFolder(Path path) throws IOException {
+        return path != null && isEditionsFolderName(path) && isDirectory(path) && isChild(path);
+    }
+
+    private boolean isEditionsFolderName(Path path) {
+        if (path.getFileName() == null) {
+            return false;
+        }
         String fileName = path.getFileName().toString();
         ReaderConfiguration cfg = ReaderConfiguration.get();
-        if (cfg.getBulletinsFolderName().equals(fileName) ||
+        return cfg.getBulletinsFolderName().equals(fileName) ||
                 cfg.getArticlesFolderName().equals(fileName) ||
                 cfg.getCompendiumFolderName().equals(fileName) ||
-                cfg.getTimeseriesFolderName().equals(fileName)) {
-            return;
-        }
-        throw new BadRequestException("Latest uri can not be resolved for this content type");
+                cfg.getTimeseriesFolderName().equals(fileName);
     }
 
     private Path resolvePath(String path) {
@@ -0,0 +1,309 @@
+package com.github.onsdigital.zebedee.reader;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.reader.util.MimeTypeResolver;
+import com.github.onsdigital.zebedee.util.FileTimeUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Bounded in memory cache of the raw bytes of published page json files, used by {@link FileSystemContentReader} so
+ * that frequently requested pages such as the home page and taxonomy nodes are not re-read from disk and re-detected
+ * by Tika on every request. It is not a parsed page cache: each request still deserialises its own page from the
+ * cached bytes.
+ * <p>
+ * Entries are weighted by their size in bytes and the least recently used are evicted once the configured limit is
+ * reached. Every entry is checked against the modification time and size of its file before it is returned, so
+ * content replaced on disk is never served stale. The whole cache is also dropped when a collection is published.
+ * <p>
+ * The latest edition of each edition series (bulletins, articles, compendia and timeseries) is also held, so that
+ * resolving latest content reads a single page instead of every edition in the series. Each is checked against the
+ * modification time of the series directory, which changes when an edition is added or removed, and is invalidated
+ * when an edition of the series is published.
+ * <p>
+ * The raw file content is cached rather than the deserialised {@link com.github.onsdigital.zebedee.content.page.base.Page}
+ * as pages are mutable and are modified by callers (latest release flags, data filters), so each request must still
+ * get its own instance.
+ */
+public class PublishedContentCache {
+
+    private static final long MAX_LATEST_EDITIONS = 10000;
+
+    private static volatile PublishedContentCache instance = null;
+
+    private final Cache<Path, CachedFile> cache;
+    private final Cache<String, LatestEdition> latestEditions;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    PublishedContentCache(long maxBytes) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Path path, CachedFile file) -> file.data.length)
+                .removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        this.latestEditions = CacheBuilder.newBuilder()
+                .maximumSize(MAX_LATEST_EDITIONS)
+                .build();
+    }
+
+    public static PublishedContentCache getInstance() {
+        if (instance == null) {
+            synchronized (PublishedContentCache.class) {
+                if (instance == null) {
+                    long maxBytes = ReaderConfiguration.get().getPublishedContentCacheMaxBytes();
+                    info().data("max_bytes", maxBytes).log("initialising published content cache");
+                    instance = new PublishedContentCache(maxBytes);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Clear the cache, if it has been created, and log the cache and MIME type resolution stats. Called once the files
+     * of a collection have been published.
+     */
+    public static void dropCache() {
+        MimeTypeResolver.logStats();
+        PublishedContentCache current = instance;
+        if (current != null) {
+            info().data("hits", current.getHitCount())
+                    .data("misses", current.getMissCount())
+                    .data("evictions", current.getEvictionCount())
+                    .data("bytes", current.getWeight())
+                    .log("Clearing published content cache.");
+            current.cache.invalidateAll();
+            current.latestEditions.invalidateAll();
+        }
+    }
+
+    /**
+     * Clear the cached files and the latest editions of the series with published editions, if the cache has been
+     * created. Called once the files of a collection have been published.
+     *
+     * @param publishedUris the URIs of the files published.
+     */
+    public static void onPublish(Collection<String> publishedUris) {
+        MimeTypeResolver.logStats();
+        PublishedContentCache current = instance;
+        if (current != null) {
+            current.invalidatePublished(publishedUris);
+        }
+    }
+
+    void invalidatePublished(Collection<String> publishedUris) {
+        Set<String> seriesUris = new HashSet<>();
+        for (String uri : publishedUris) {
+            if (uri.endsWith(".json")) {
+                String editionUri = StringUtils.substringBeforeLast(uri, "/");
+                seriesUris.add(StringUtils.substringBeforeLast(editionUri, "/"));
+            }
+        }
+        seriesUris.remove("");
+
+        info().data("hits", getHitCount())
+                .data("misses", getMissCount())
+                .data("evictions", getEvictionCount())
+                .data("bytes", getWeight())
+                .data("series", seriesUris.size())
+                .log("Clearing published content cache.");
+        cache.invalidateAll();
+        latestEditions.asMap().keySet().removeIf(key -> seriesUris.stream().anyMatch(key::endsWith));
+    }
+
+    /**
+     * Get the content of the given file, reading it from disk if it is not cached or has changed since it was cached.
+     *
+     * @param path the file to read.
+     * @return the cached file content.
+     * @throws IOException problem reading the file.
+     */
+    CachedFile get(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+        CachedFile cached = cache.getIfPresent(path);
+        if (cached != null && cached.isValid(attributes)) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long readAt = System.currentTimeMillis();
+        CachedFile loaded = new CachedFile(attributes, readAt, FileSystemContentReader.determineMimeType(path),
+                Files.readAllBytes(path));
+
+        if (loaded.isRacy()) {
+            cache.invalidate(path);
+        } else {
+            cache.put(path, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Get the latest edition of an edition series, if it was resolved while the series directory had the same
+     * modification time as it has now and no edition of the series has been published since.
+     *
+     * @param seriesPath     the directory holding the editions.
+     * @param language       the language the editions were read in.
+     * @param seriesModified the current modification time of the series directory.
+     * @return the latest edition, or null if it is not known.
+     */
+    LatestEdition getLatestEdition(Path seriesPath, ContentLanguage language, FileTime seriesModified) {
+        LatestEdition latest = latestEditions.getIfPresent(latestEditionKey(seriesPath, language));
+        return latest != null && latest.seriesModified.equals(seriesModified) ? latest : null;
+    }
+
+    /**
+     * Record the latest edition of an edition series.
+     *
+     * @param seriesPath     the directory holding the editions.
+     * @param language       the language the editions were read in.
+     * @param seriesModified the modification time of the series directory when the latest was resolved.
+     * @param path           the latest edition directory, or null if the series has no editions.
+     */
+    void putLatestEdition(Path seriesPath, ContentLanguage language, FileTime seriesModified, Path path) {
+        latestEditions.put(latestEditionKey(seriesPath, language), new LatestEdition(seriesModified, path));
+    }
+
+    private static String latestEditionKey(Path seriesPath, ContentLanguage language) {
+        return language.getId() + ":" + seriesPath.toString();
+    }
+
+    /**
+     * Remove the given file from the cache.
+     *
+     * @param path the file to remove.
+     */
+    public void invalidate(Path path) {
+        cache.invalidate(path);
+    }
+
+    /**
+     * @return the number of reads served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of reads of files that were not cached, or had changed since they were cached.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of files evicted to keep the cache within its size limit.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the total size in bytes of the cached files.
+     */
+    public long getWeight() {
+        return cache.asMap().values().stream().mapToLong(file -> file.data.length).sum();
+    }
+
+    /**
+     * The content of a file along with the size and modification time it had when it was read.
+     */
+    static class CachedFile {
+
+        private static final int MAX_DERIVED = 64;
+
+        private final FileTime lastModified;
+        private final long size;
+        private final long readAt;
+        private final String mimeType;
+        private final byte[] data;
+        private final Map<String, Object> derived = new ConcurrentHashMap<>();
+
+        CachedFile(BasicFileAttributes attributes, long readAt, String mimeType, byte[] data) {
+            this.lastModified = attributes.lastModifiedTime();
+            this.size = attributes.size();
+            this.readAt = readAt;
+            this.mimeType = mimeType;
+            this.data = data;
+        }
+
+        String getMimeType() {
+            return mimeType;
+        }
+
+        byte[] getData() {
+            return data;
+        }
+
+        /**
+         * @return a value computed from the content of this file, such as a serialised series, or null if none has
+         * been stored under the key.
+         */
+        Object getDerived(String key) {
+            return derived.get(key);
+        }
+
+        /**
+         * Store an immutable value computed from the content of this file, as it is shared by every request. It is dropped along with the file, so it
+         * is never returned once the file has changed. Only a limited number of values are kept per file.
+         */
+        void putDerived(String key, Object value) {
+            if (derived.size() < MAX_DERIVED) {
+                derived.put(key, value);
+            }
+        }
+
+        private boolean isRacy() {
+            return FileTimeUtils.isRacy(lastModified, readAt);
+        }
+
+        private boolean isValid(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime())
+                    && size == attributes.size()
+                    && data.length == size;
+        }
+    }
+
+    /**
+     * The latest edition of an edition series and the modification time of the series directory it was resolved
+     * from.
+     */
+    static class LatestEdition {
+
+        private final FileTime seriesModified;
+        private final Path path;
+
+        LatestEdition(FileTime seriesModified, Path path) {
+            this.seriesModified = seriesModified;
+            this.path = path;
+        }
+
+        Path getPath() {
+            return path;
+        }
+    }
+}
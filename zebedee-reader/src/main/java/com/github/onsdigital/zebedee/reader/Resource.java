@@ -4,6 +4,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 
 /**
  * Created by bren on 30/07/15.
@@ -16,6 +17,7 @@ public class Resource implements Closeable {
     private String mimeType;
     private InputStream data;
     private URI uri;
+    private Path file;
 
     public String getName() {
         return name;
@@ -61,4 +63,16 @@ public class Resource implements Closeable {
     public void setUri(URI uri) {
         this.uri = uri;
     }
+
+    /**
+     * @return the file the data of this resource is read from as is, or null if the data is transformed as it is
+     * read (e.g. decrypted) or does not come from a file. A resource with a file can be sent straight from disk.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
 }
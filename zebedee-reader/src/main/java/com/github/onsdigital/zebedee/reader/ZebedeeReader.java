@@ -47,12 +47,16 @@ public class ZebedeeReader {
     }
 
     /**
-     * Create a zebedee reader using the default content dir and the given language
+     * Create a zebedee reader using the default content dir and the given language. Published pages are read through
+     * the {@link PublishedContentCache} unless its size is configured as 0.
      * 
      * @param language The language for this content reader
      */
     public ZebedeeReader(ContentLanguage language) {
-        this(Paths.get(ReaderConfiguration.get().getContentDir()));
+        ReaderConfiguration configuration = ReaderConfiguration.get();
+        PublishedContentCache contentCache = configuration.getPublishedContentCacheMaxBytes() > 0
+                ? PublishedContentCache.getInstance() : null;
+        publishedContentReader = new FileSystemContentReader(Paths.get(configuration.getContentDir()), contentCache);
         publishedContentReader.setLanguage(language);
     }
 
@@ -92,8 +96,7 @@ public class ZebedeeReader {
      * @throws IOException
      */
     public Content getPublishedContent(String path, DataFilter filter) throws ZebedeeException, IOException {
-        Content content = getPublishedContent(path);
-        return FilterUtil.filterPageData(content, filter);
+        return publishedContentReader.getContent(path, filter);
     }
 
     /**
@@ -17,6 +17,8 @@ public class PublishedIndexResponse {
     private int offset;
     @SerializedName("total_count")
     private int totalCount;
+    @SerializedName("next_cursor")
+    private String nextCursor;
 
     public PublishedIndexResponse(List<Item> items,  int offset,  int limit, int totalCount) {
         this.items = items;
@@ -45,6 +47,20 @@ public class PublishedIndexResponse {
         count = this.items.size();
     }
 
+    /**
+     * Adds a list of URIs to the response as Items.
+     *
+     * @param uris  List of URIs to add to response
+     */
+    public void addUris(List<String> uris) {
+        if (uris == null) {
+            return;
+        }
+        uris.forEach(uri -> this.items.add(new Item(uri)));
+
+        count = this.items.size();
+    }
+
     public int getCount() {
         return count;
     }
@@ -77,6 +93,14 @@ public class PublishedIndexResponse {
         this.totalCount = totalCount;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     /**
      * Sub-object representing an individual document returned by the PublishedIndex
      */
@@ -97,11 +121,11 @@ public class PublishedIndexResponse {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PublishedIndexResponse that = (PublishedIndexResponse) o;
-        return count == that.count && limit == that.limit && offset == that.offset && totalCount == that.totalCount && Objects.equals(items, that.items);
+        return count == that.count && limit == that.limit && offset == that.offset && totalCount == that.totalCount && Objects.equals(items, that.items) && Objects.equals(nextCursor, that.nextCursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(count, items, limit, offset, totalCount);
+        return Objects.hash(count, items, limit, offset, totalCount, nextCursor);
     }
 }
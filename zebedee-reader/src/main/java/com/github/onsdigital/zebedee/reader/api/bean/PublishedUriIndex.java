@@ -0,0 +1,392 @@
+package com.github.onsdigital.zebedee.reader.api.bean;
+
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.util.PathUtils.toRelativeUri;
+
+/**
+ * Sorted index of the URIs of all published content, i.e. every directory under the content root holding a
+ * data.json, excluding previous versions. Backs the <code>/publishedindex</code> endpoint so that a request does not
+ * walk the whole content tree.
+ * <p>
+ * The index is held as an immutable sorted snapshot that is replaced as a whole. It is built once on start up by
+ * walking the top level directories of the content tree in parallel, and then maintained incrementally: when a
+ * collection is published its deletes and published URIs are merged into a new snapshot without walking the tree.
+ * Content written to the tree by anything other than a publish from this process, such as the train on a web reader,
+ * is picked up by rebuilding the index in the background at a fixed interval, see {@link #refreshEvery}. Requests are
+ * always served from the current snapshot, and requests made before the start up build has completed wait for it
+ * rather than walking the tree themselves.
+ */
+public class PublishedUriIndex {
+
+    private static final String DATA_FILE_NAME = "data.json";
+    private static final String PREVIOUS_VERSIONS_DIR = "previous";
+
+    private static volatile PublishedUriIndex instance = null;
+
+    private final Path root;
+    private final ScheduledExecutorService rebuildExecutor;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final AtomicBoolean refreshRequested = new AtomicBoolean(false);
+    private volatile CompletableFuture<Snapshot> firstBuild = new CompletableFuture<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Changes published while the tree is being walked, applied to the result of the walk. Guarded by this.
+     */
+    private final List<Change> changesDuringBuild = new ArrayList<>();
+
+    PublishedUriIndex(Path root) {
+        this.root = root;
+        this.rebuildExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "published-uri-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static PublishedUriIndex getInstance() {
+        if (instance == null) {
+            synchronized (PublishedUriIndex.class) {
+                if (instance == null) {
+                    instance = new PublishedUriIndex(Paths.get(ReaderConfiguration.get().getContentDir()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add the given URIs to the index, if it has been created. Called once the files of a collection have been
+     * published.
+     *
+     * @param publishedUris the URIs of the files published.
+     */
+    public static void onPublish(Collection<String> publishedUris) {
+        onPublish(publishedUris, Collections.emptyList());
+    }
+
+    /**
+     * Remove the deleted URIs from the index and add the published URIs, if it has been created. Called once the
+     * files of a collection have been published.
+     *
+     * @param publishedUris the URIs of the files published.
+     * @param deletedUris   the URIs of the content deleted, along with all content under them.
+     */
+    public static void onPublish(Collection<String> publishedUris, Collection<String> deletedUris) {
+        PublishedUriIndex current = instance;
+        if (current != null) {
+            current.apply(new Change(
+                    publishedUris.stream()
+                            .filter(uri -> uri.endsWith("/" + DATA_FILE_NAME))
+                            .filter(uri -> !uri.contains("/" + PREVIOUS_VERSIONS_DIR + "/"))
+                            .map(PublishedUriIndex::toContentUri)
+                            .collect(Collectors.toCollection(TreeSet::new)),
+                    deletedUris.stream()
+                            .map(uri -> StringUtils.removeEnd(uri, "/" + DATA_FILE_NAME))
+                            .map(PublishedUriIndex::toContentUri)
+                            .collect(Collectors.toList())));
+        }
+    }
+
+    private static String toContentUri(String uri) {
+        String contentUri = StringUtils.removeEnd(StringUtils.removeEnd(uri, DATA_FILE_NAME), "/");
+        return contentUri.isEmpty() ? "/" : contentUri;
+    }
+
+    /**
+     * @return the current snapshot of the index, waiting for it to be built if it has not been yet.
+     * @throws IOException problem reading the content tree.
+     */
+    public Snapshot snapshot() throws IOException {
+        Snapshot current = this.snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        CompletableFuture<Snapshot> building = firstBuild;
+        if (started.compareAndSet(false, true)) {
+            requestRebuild();
+        }
+        try {
+            return building.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted waiting for published uri index");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Rebuild the index in the background by walking the content tree. If a rebuild is already running another is
+     * run once it completes.
+     */
+    public void refresh() {
+        started.set(true);
+        requestRebuild();
+    }
+
+    /**
+     * Rebuild the index in the background at a fixed interval. Does nothing if the interval is not positive or
+     * refreshes are already scheduled.
+     *
+     * @param interval the time between the end of one rebuild request and the next.
+     * @param unit     the unit of the interval.
+     */
+    public void refreshEvery(long interval, TimeUnit unit) {
+        if (interval > 0 && scheduled.compareAndSet(false, true)) {
+            rebuildExecutor.scheduleWithFixedDelay(this::refresh, interval, interval, unit);
+        }
+    }
+
+    private void requestRebuild() {
+        refreshRequested.set(true);
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.submit(this::rebuildWhileRequested);
+        }
+    }
+
+    private void rebuildWhileRequested() {
+        try {
+            while (refreshRequested.getAndSet(false)) {
+                try {
+                    synchronized (this) {
+                        changesDuringBuild.clear();
+                    }
+                    Snapshot rebuilt = build();
+                    synchronized (this) {
+                        for (Change change : changesDuringBuild) {
+                            rebuilt = rebuilt.apply(change);
+                        }
+                        changesDuringBuild.clear();
+                        this.snapshot = rebuilt;
+                    }
+                    firstBuild.complete(rebuilt);
+                } catch (Exception e) {
+                    error().logException(e, "failed to rebuild published uri index");
+                    if (this.snapshot == null) {
+                        // let the next request try again rather than wait for a build that will never complete.
+                        CompletableFuture<Snapshot> failed = firstBuild;
+                        firstBuild = new CompletableFuture<>();
+                        started.set(false);
+                        failed.completeExceptionally(e);
+                    }
+                }
+            }
+        } finally {
+            rebuilding.set(false);
+        }
+
+        if (refreshRequested.get() && rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.submit(this::rebuildWhileRequested);
+        }
+    }
+
+    synchronized void apply(Change change) {
+        if (rebuilding.get()) {
+            changesDuringBuild.add(change);
+        }
+        Snapshot current = this.snapshot;
+        if (current != null) {
+            this.snapshot = current.apply(change);
+        }
+    }
+
+    synchronized void add(Collection<String> uris) {
+        apply(new Change(new TreeSet<>(uris), Collections.emptyList()));
+    }
+
+    private Snapshot build() throws IOException {
+        long start = System.currentTimeMillis();
+
+        List<Path> topLevel = new ArrayList<>();
+        List<String> uris = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path path : stream) {
+                if (Files.isDirectory(path)) {
+                    if (isNotPreviousVersion(path)) {
+                        topLevel.add(path);
+                    }
+                } else if (isDataFile(path)) {
+                    uris.add(toRelativeUri(root, root).toString());
+                }
+            }
+        }
+
+        try {
+            uris.addAll(topLevel.parallelStream()
+                    .flatMap(dir -> scan(dir).stream())
+                    .collect(Collectors.toList()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        String[] sorted = uris.stream().sorted().distinct().toArray(String[]::new);
+
+        info().data("uris", sorted.length)
+                .data("timeTaken", System.currentTimeMillis() - start)
+                .log("published uri index built");
+        return new Snapshot(sorted);
+    }
+
+    private List<String> scan(Path dir) {
+        List<String> uris = new ArrayList<>();
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) {
+                    return isNotPreviousVersion(path) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && isDataFile(path)) {
+                        uris.add(toRelativeUri(root, path.getParent()).toString());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return uris;
+    }
+
+    private static boolean isDataFile(Path path) {
+        return path.getFileName().toString().endsWith(DATA_FILE_NAME);
+    }
+
+    private static boolean isNotPreviousVersion(Path path) {
+        return !PREVIOUS_VERSIONS_DIR.equals(path.getFileName().toString());
+    }
+
+    /**
+     * An immutable, sorted list of published URIs.
+     */
+    public static class Snapshot {
+
+        private final String[] uris;
+
+        Snapshot(String[] uris) {
+            this.uris = uris;
+        }
+
+        public int size() {
+            return uris.length;
+        }
+
+        /**
+         * @return a new snapshot with the deletes of the change applied and then its additions, merged in a single
+         * pass over the sorted URIs.
+         */
+        Snapshot apply(Change change) {
+            if (change.added.isEmpty() && change.deleted.isEmpty()) {
+                return this;
+            }
+
+            List<String> merged = new ArrayList<>(uris.length + change.added.size());
+            Iterator<String> added = change.added.iterator();
+            String next = added.hasNext() ? added.next() : null;
+            for (String uri : uris) {
+                while (next != null && next.compareTo(uri) < 0) {
+                    merged.add(next);
+                    next = added.hasNext() ? added.next() : null;
+                }
+                if (next != null && next.equals(uri)) {
+                    merged.add(next);
+                    next = added.hasNext() ? added.next() : null;
+                } else if (!change.isDeleted(uri)) {
+                    merged.add(uri);
+                }
+            }
+            while (next != null) {
+                merged.add(next);
+                next = added.hasNext() ? added.next() : null;
+            }
+            return new Snapshot(merged.toArray(new String[0]));
+        }
+
+        /**
+         * @param offset the index of the first URI to return.
+         * @param limit  the maximum number of URIs to return.
+         * @return the URIs in the given range.
+         */
+        public List<String> page(int offset, int limit) {
+            int from = Math.min(Math.max(offset, 0), uris.length);
+            int to = (int) Math.min((long) from + limit, uris.length);
+            return Collections.unmodifiableList(Arrays.asList(uris).subList(from, to));
+        }
+
+        /**
+         * @param after the last URI of the previous page, all URIs sorting after it are returned.
+         * @param limit the maximum number of URIs to return.
+         * @return the URIs after the given URI.
+         */
+        public List<String> pageAfter(String after, int limit) {
+            return page(indexAfter(after), limit);
+        }
+
+        /**
+         * @return the position of the first URI sorting after the given URI.
+         */
+        public int indexAfter(String after) {
+            int index = Arrays.binarySearch(uris, after);
+            return index >= 0 ? index + 1 : -(index + 1);
+        }
+    }
+
+    /**
+     * The URIs published and deleted by a publish.
+     */
+    static class Change {
+
+        private final SortedSet<String> added;
+        private final List<String> deleted;
+
+        Change(SortedSet<String> added, List<String> deleted) {
+            this.added = added;
+            this.deleted = deleted;
+        }
+
+        boolean isDeleted(String uri) {
+            for (String delete : deleted) {
+                if (uri.equals(delete) || uri.startsWith(delete.endsWith("/") ? delete : delete + "/")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -51,7 +51,7 @@ public class Data {
         try {
             ReaderResponseResponseUtils.sendResponse(
                     new ReadRequestHandler(getRequestedLanguage(request))
-                            .findContent(request, extractFilter(request)), response);
+                            .findContent(request, extractFilter(request)), request, response);
         } catch (NotFoundException exception) {
             ReaderResponseResponseUtils.sendNotFound(exception, request, response);
         }
@@ -44,7 +44,7 @@ public class PublishedData {
         try {
             ReaderResponseResponseUtils.sendResponse(
                     new ReadRequestHandler(getRequestedLanguage(request))
-                            .findPublishedContent(request, extractFilter(request)), response);
+                            .findPublishedContent(request, extractFilter(request)), request, response);
         } catch (NotFoundException exception) {
             ReaderResponseResponseUtils.sendNotFound(exception, request, response);
         }
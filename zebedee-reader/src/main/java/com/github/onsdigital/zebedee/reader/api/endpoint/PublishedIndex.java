@@ -1,43 +1,92 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.davidcarboni.restolino.framework.Api;
-import com.github.onsdigital.zebedee.reader.api.bean.Document;
-import com.github.onsdigital.zebedee.reader.api.bean.FileScanner;
+import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.reader.api.bean.PublishedIndexResponse;
+import com.github.onsdigital.zebedee.reader.api.bean.PublishedUriIndex;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.GET;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 @Api
 public class PublishedIndex {
 
+    static final String OFFSET_PARAM = "offset";
+    static final String LIMIT_PARAM = "limit";
+    static final String CURSOR_PARAM = "cursor";
+
     /**
      * Retrieves list of content for endpoint <code>/publishedindex</code>
      * <p>
-     * This endpoint returns a list of URIs for all the published content served by zebedee
+     * This endpoint returns a list of URIs for all the published content served by zebedee, sorted by URI. Results
+     * can be paged using <code>limit</code> with either <code>offset</code> or <code>cursor</code>. The cursor is
+     * returned as <code>next_cursor</code> when there are more results, and continues from the last URI returned, so
+     * content published or removed between requests never causes a URI to be returned twice. If no limit is given all
+     * published URIs are returned.
      *
      * @param request  No authentication headers are required due to this only serving published content
      * @param response Servlet response
      * @return
-     * @throws IOException If an error occurs in processing data, typically to the filesystem, but also on the HTTP connection.
+     * @throws IOException         If an error occurs in processing data, typically to the filesystem, but also on the HTTP connection.
+     * @throws BadRequestException If the paging parameters are invalid.
      */
     @GET
-    public PublishedIndexResponse read(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    public PublishedIndexResponse read(HttpServletRequest request, HttpServletResponse response) throws IOException,
+            BadRequestException {
+
+        PublishedUriIndex.Snapshot snapshot = PublishedUriIndex.getInstance().snapshot();
+
+        int limit = getIntParameter(request, LIMIT_PARAM, snapshot.size());
+        String cursor = request.getParameter(CURSOR_PARAM);
+        int offset = StringUtils.isNotEmpty(cursor)
+                ? snapshot.indexAfter(decodeCursor(cursor))
+                : getIntParameter(request, OFFSET_PARAM, 0);
 
-        List<Document> docs = new FileScanner().scan();
+        List<String> uris = snapshot.page(offset, limit);
 
-        /*  Paging is not currently implemented (there would be complications involving ensuring that duplicates or
-            omissions of documents added or removed between pages) so for now the endpoint always returns all published
-            documents and ignores any supplied parameters
-        */
         PublishedIndexResponse publishedIndexResponse = new PublishedIndexResponse();
-        publishedIndexResponse.addDocuments(docs);
-        publishedIndexResponse.setOffset(0);
-        publishedIndexResponse.setLimit(docs.size());
-        publishedIndexResponse.setTotalCount(docs.size());
+        publishedIndexResponse.addUris(uris);
+        publishedIndexResponse.setOffset(offset);
+        publishedIndexResponse.setLimit(limit);
+        publishedIndexResponse.setTotalCount(snapshot.size());
+        if (!uris.isEmpty() && offset + uris.size() < snapshot.size()) {
+            publishedIndexResponse.setNextCursor(encodeCursor(uris.get(uris.size() - 1)));
+        }
         return publishedIndexResponse;
     }
+
+    private int getIntParameter(HttpServletRequest request, String name, int defaultValue) throws BadRequestException {
+        String value = request.getParameter(name);
+        String errorMessage = name + " must be a positive value";
+        if (StringUtils.isEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value);
+            if (result < 0) {
+                throw new BadRequestException(errorMessage);
+            }
+            return result;
+        } catch (NumberFormatException nfe) {
+            throw new BadRequestException(errorMessage);
+        }
+    }
+
+    static String encodeCursor(String uri) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(uri.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeCursor(String cursor) throws BadRequestException {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("cursor is invalid");
+        }
+    }
 }
@@ -51,9 +51,18 @@ public class ReaderConfiguration {
     // how many seconds for Max_Age for cache
     private static final int DEFAULT_CACHE_CONTROL_SECONDS = 1800;
 
+    private static final String PUBLISHED_CONTENT_CACHE_MAX_BYTES_KEY = "PUBLISHED_CONTENT_CACHE_MAX_BYTES";
+    private static final long DEFAULT_PUBLISHED_CONTENT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+
+    // how often the published uri index is rebuilt from the content tree, 0 to only update it on publish.
+    private static final String PUBLISHED_URI_INDEX_REFRESH_SECONDS_KEY = "PUBLISHED_URI_INDEX_REFRESH_SECONDS";
+    private static final long DEFAULT_PUBLISHED_URI_INDEX_REFRESH_SECONDS = 60;
+
     private String zebedeeRootDir;
     private String collectionsDir;
     private int cacheControl;
+    private long publishedContentCacheMaxBytes;
+    private long publishedUriIndexRefreshSeconds;
     private String contentDir;
     private String inProgressDirName;
     private String completeDirName;
@@ -130,6 +139,8 @@ public class ReaderConfiguration {
         this.compendiumDirName = COMPENDIUM_FOLDER_NAME;
         this.timeseriesDirName = TIMESERIES_FOLDER_NAME;
         this.cacheControl = DEFAULT_CACHE_CONTROL_SECONDS;
+        this.publishedContentCacheMaxBytes = parsePublishedContentCacheMaxBytes();
+        this.publishedUriIndexRefreshSeconds = parsePublishedUriIndexRefreshSeconds();
 
         this.datasetImportEnabled = Boolean.valueOf(getVariableValue(ENABLE_DATASET_IMPORT));
 
@@ -159,6 +170,8 @@ public class ReaderConfiguration {
                 .data("compendium_dir", compendiumDirName)
                 .data("dataset_import_enabled", datasetImportEnabled)
                 .data("cache_control", cacheControl)
+                .data("published_content_cache_max_bytes", publishedContentCacheMaxBytes)
+                .data("published_uri_index_refresh_seconds", publishedUriIndexRefreshSeconds)
                 .log("zebedee reader configuration");
     }
 
@@ -174,11 +187,52 @@ public class ReaderConfiguration {
         return value;
     }
 
+    private long parsePublishedContentCacheMaxBytes() {
+        String value = getVariableValue(PUBLISHED_CONTENT_CACHE_MAX_BYTES_KEY);
+        if (StringUtils.isBlank(value)) {
+            return DEFAULT_PUBLISHED_CONTENT_CACHE_MAX_BYTES;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            throw new UncheckedReaderConfigException(format("reader config invalid expected a number of bytes for " +
+                    "{0} but found {1}", PUBLISHED_CONTENT_CACHE_MAX_BYTES_KEY, value));
+        }
+    }
+
+    private long parsePublishedUriIndexRefreshSeconds() {
+        String value = getVariableValue(PUBLISHED_URI_INDEX_REFRESH_SECONDS_KEY);
+        if (StringUtils.isBlank(value)) {
+            return DEFAULT_PUBLISHED_URI_INDEX_REFRESH_SECONDS;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            throw new UncheckedReaderConfigException(format("reader config invalid expected a number of seconds for " +
+                    "{0} but found {1}", PUBLISHED_URI_INDEX_REFRESH_SECONDS_KEY, value));
+        }
+    }
+
     public String getCollectionsDir() {
         return collectionsDir;
     }
     public int getSecondsForCacheControl() {return cacheControl;}
 
+    /**
+     * @return the maximum number of bytes of published page json held in memory, 0 to read every page and resolve
+     * every latest edition from disk without a cache.
+     */
+    public long getPublishedContentCacheMaxBytes() {
+        return publishedContentCacheMaxBytes;
+    }
+
+    /**
+     * @return the number of seconds between rebuilds of the published uri index, 0 to only update it on publish.
+     */
+    public long getPublishedUriIndexRefreshSeconds() {
+        return publishedUriIndexRefreshSeconds;
+    }
+
     public String getContentDir() {
         return contentDir;
     }
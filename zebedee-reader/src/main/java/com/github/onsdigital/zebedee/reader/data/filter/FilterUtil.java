@@ -7,21 +7,22 @@ import com.github.onsdigital.zebedee.content.dynamic.timeseries.Point;
 import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesPeriodIndex;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 
-import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 public class FilterUtil {
 
+    private static final String[] SERIES_PARAMETERS = {"frequency", "fromYear", "fromMonth", "fromQuarter", "toYear",
+            "toMonth", "toQuarter"};
 
     /**
      * Filters page data with given ContentFilter
@@ -71,72 +72,70 @@ public class FilterUtil {
         String frequency = getValue(parameters, "frequency");
         frequency = frequency == null ? "" : StringUtils.lowerCase(frequency);
 
-        Set<TimeSeriesValue> set = null;
+        TimeSeriesPeriodIndex values = null;
 
         switch (frequency) {
             case "years":
-                set = timeSeries.years;
+                values = timeSeries.getYearsIndex();
                 break;
             case "months":
-                set = timeSeries.months;
+                values = timeSeries.getMonthsIndex();
                 break;
             case "quarters":
-                set = timeSeries.quarters;
+                values = timeSeries.getQuartersIndex();
                 break;
             default:
                 if (timeSeries.months.size() > 0) {
-                    set = timeSeries.months;
+                    values = timeSeries.getMonthsIndex();
                 } else if (timeSeries.quarters.size() > 0) {
-                    set = timeSeries.quarters;
+                    values = timeSeries.getQuartersIndex();
                 } else if (timeSeries.years.size() > 0) {
-                    set = timeSeries.years;
+                    values = timeSeries.getYearsIndex();
                 }
                 break;
         }
 
-        if (set == null) {
+        if (values == null) {
             throw new NotFoundException("Time series does not contain any series data");
         }
 
-        set = applyRange(set, toDate(filterRequest.from), toDate(filterRequest.to));
-
         Series series = new Series();
         series.setUri(page.getUri());
         series.setDescription(page.getDescription());
-        for (TimeSeriesValue timeSeriesValue : set) {
+        for (TimeSeriesValue timeSeriesValue : applyRange(values, toDate(filterRequest.from), toDate(filterRequest.to))) {
             series.add(new Point(isNotEmpty(timeSeriesValue.label) ? timeSeriesValue.label : timeSeriesValue.date, timeSeriesValue.value));
         }
         return series;
     }
 
-    //applies filter, migrated code from the Alpha
-    private static Set<TimeSeriesValue> applyRange(Set<TimeSeriesValue> set, Date from, Date to) {
-        if (from == null && to == null) {
-            return set;
-        }
-
-        Set<TimeSeriesValue> result = new TreeSet<>();
-
-        boolean add = false;
-        for (TimeSeriesValue timeSeriesValue : set) {
-            Date date = timeSeriesValue.toDate();
-            // Start adding if no from date has been specified:
-            if ((!add && from == null) || date.equals(from) || date.after(from)) {
-                info().data("from", date.toString()).log("applying date range");
-                add = true;
-            }
-            if (add) {
-                result.add(timeSeriesValue);
-            }
-            if (date.equals(to)) {
-                info().data("to", date.toString()).log("applying date range");
-                break;
+    /**
+     * Applies the range, migrated from the Alpha: values from the first on or after the from date are included, up
+     * to and including the value on the to date. If no value falls on the to date every later value is included.
+     * The bounds are found with a binary search over the period keys of the values.
+     */
+    static List<TimeSeriesValue> applyRange(TimeSeriesPeriodIndex values, Date from, Date to) {
+        int fromIndex = from == null ? 0 : values.lowerBound(from.getTime());
+        int toIndex = values.size();
+
+        if (to != null) {
+            int index = values.lowerBound(to.getTime());
+            if (index < values.size() && values.getPeriodKey(index) == to.getTime()) {
+                toIndex = Math.max(fromIndex, index + 1);
             }
         }
-
-        return result;
+        return values.subList(fromIndex, toIndex);
     }
 
+    /**
+     * @return a key identifying the series requested by the given filter parameters, used to cache the result.
+     */
+    public static String getSeriesKey(Map<String, String[]> parameters) {
+        StringBuilder key = new StringBuilder();
+        for (String name : SERIES_PARAMETERS) {
+            key.append(StringUtils.defaultString(StringUtils.lowerCase(getValue(parameters, name)))).append('|');
+        }
+        return key.toString();
+    }
 
     private static String getValue(Map<String, String[]> parameters, String paramName) {
         if (parameters == null) {
@@ -0,0 +1,73 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.util.FileTimeUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * ETags of files sent from disk, the SHA-1 hash of their content, so the same file has the same ETag on every host
+ * serving it. The ETag of a file is kept for as long as its modification time and size are unchanged, so a file is
+ * only read to hash it once.
+ * <p>
+ * A file modified within the racy window of {@link FileTimeUtils#isRacy} may be modified again without its
+ * timestamp changing, so it has no ETag until the window has passed and is not hashed until then.
+ */
+class FileEtags {
+
+    private static final long MAX_SIZE = 50000;
+
+    private static final Cache<Path, FileEtag> etags = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    private FileEtags() {
+    }
+
+    /**
+     * @param file       the file.
+     * @param attributes the current attributes of the file.
+     * @return the SHA-1 hash of the content of the file, or null if it was modified too recently to have an ETag.
+     * @throws IOException if the file cannot be read.
+     */
+    static String get(Path file, BasicFileAttributes attributes) throws IOException {
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        FileEtag cached = etags.getIfPresent(file);
+        if (cached != null && cached.lastModified == lastModified && cached.size == size) {
+            return cached.etag;
+        }
+
+        if (FileTimeUtils.isRacy(attributes.lastModifiedTime(), System.currentTimeMillis())) {
+            etags.invalidate(file);
+            return null;
+        }
+
+        String etag;
+        try (InputStream stream = Files.newInputStream(file)) {
+            etag = DigestUtils.sha1Hex(stream);
+        }
+        etags.put(file, new FileEtag(lastModified, size, etag));
+        return etag;
+    }
+
+    private static class FileEtag {
+
+        private final long lastModified;
+        private final long size;
+        private final String etag;
+
+        FileEtag(long lastModified, long size, String etag) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tika.Tika;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Resolves the MIME type of content files.
+ * <p>
+ * The MIME type of a file with one of the extensions the site serves is known from its extension alone, without
+ * opening the file. Files with any other extension are sniffed by Tika, and the result is cached for as long as the
+ * modification time of the file is unchanged.
+ */
+public class MimeTypeResolver {
+
+    public static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private static final long MAX_SIZE = 10000;
+
+    /**
+     * Apache TIKA is a library providing helper methods for determining the MIME type of files. Using this in place
+     * of {@link Files#probeContentType(Path)} due to known issues and bugs depending on the OS its used on.
+     */
+    private static final Tika tika = new Tika();
+
+    /**
+     * The MIME types Tika detects for files with these extensions.
+     */
+    private static final Map<String, String> extensions = new HashMap<>();
+
+    static {
+        extensions.put("json", "application/json");
+        extensions.put("html", "text/html");
+        extensions.put("htm", "text/html");
+        extensions.put("css", "text/css");
+        extensions.put("js", "application/javascript");
+        extensions.put("txt", "text/plain");
+        extensions.put("csv", "text/csv");
+        extensions.put("tsv", "text/tab-separated-values");
+        extensions.put("xml", "application/xml");
+        extensions.put("png", "image/png");
+        extensions.put("jpg", "image/jpeg");
+        extensions.put("jpeg", "image/jpeg");
+        extensions.put("gif", "image/gif");
+        extensions.put("svg", "image/svg+xml");
+        extensions.put("pdf", "application/pdf");
+        extensions.put("zip", "application/zip");
+        extensions.put("xls", "application/vnd.ms-excel");
+        extensions.put("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        extensions.put("doc", "application/msword");
+        extensions.put("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    }
+
+    private static final Cache<Path, SniffedMimeType> sniffed = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .build();
+
+    private static final LongAdder extensionHits = new LongAdder();
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder sniffs = new LongAdder();
+
+    private MimeTypeResolver() {
+    }
+
+    /**
+     * @param path the file.
+     * @return the MIME type of the file.
+     * @throws IOException problem reading the file.
+     */
+    public static String resolve(Path path) throws IOException {
+        String mimeType = byExtension(path);
+        if (mimeType != null) {
+            extensionHits.increment();
+            return mimeType;
+        }
+
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        SniffedMimeType cached = sniffed.getIfPresent(path);
+        if (cached != null && cached.lastModified == lastModified) {
+            cacheHits.increment();
+            return cached.mimeType;
+        }
+
+        sniffs.increment();
+        mimeType = StringUtils.defaultIfEmpty(tika.detect(path), DEFAULT_MIME_TYPE);
+        sniffed.put(path, new SniffedMimeType(lastModified, mimeType));
+        return mimeType;
+    }
+
+    /**
+     * Resolve the MIME type of a file from its name only, for files whose content cannot be sniffed, such as
+     * encrypted files.
+     *
+     * @param path the file.
+     * @return the MIME type of the file.
+     */
+    public static String resolveByName(Path path) {
+        String mimeType = byExtension(path);
+        if (mimeType != null) {
+            extensionHits.increment();
+            return mimeType;
+        }
+        return StringUtils.defaultIfEmpty(tika.detect(path.getFileName().toString()), DEFAULT_MIME_TYPE);
+    }
+
+    private static String byExtension(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        return extensions.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the number of MIME types resolved from the file extension.
+     */
+    public static long getExtensionHitCount() {
+        return extensionHits.sum();
+    }
+
+    /**
+     * @return the number of MIME types resolved from a previous sniff of an unchanged file.
+     */
+    public static long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * @return the number of files sniffed to resolve their MIME type.
+     */
+    public static long getSniffCount() {
+        return sniffs.sum();
+    }
+
+    /**
+     * Log how the MIME types resolved so far were found. Called once the files of a collection have been published,
+     * alongside the published content cache stats.
+     */
+    public static void logStats() {
+        info().data("extension_hits", getExtensionHitCount())
+                .data("cache_hits", getCacheHitCount())
+                .data("sniffs", getSniffCount())
+                .data("sniffed_cached", sniffed.size())
+                .log("MIME type resolution stats.");
+    }
+
+    private static class SniffedMimeType {
+
+        private final long lastModified;
+        private final String mimeType;
+
+        SniffedMimeType(long lastModified, String mimeType) {
+            this.lastModified = lastModified;
+            this.mimeType = mimeType;
+        }
+    }
+}
@@ -6,13 +6,23 @@ import com.github.onsdigital.zebedee.content.util.ContentUtil;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.reader.Resource;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 
@@ -22,21 +32,83 @@ import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 public class ReaderResponseResponseUtils {
 
     public static void sendResponse(Object content, HttpServletResponse response) throws IOException {
-        response.setStatus(HttpServletResponse.SC_OK);
-        response.setContentType(MediaType.APPLICATION_JSON);
-        if (content instanceof Content) {
-            response.setHeader("Etag", ContentUtil.hash((Content) content));
-        }
+        sendResponse(content, null, response);
+    }
 
+    /**
+     * Send the given content as json. The content is serialised once, and the ETag of {@link Content} is the SHA-1
+     * hash of that json. If the request has a matching If-None-Match header a 304 is sent instead of the content.
+     *
+     * @param content  the content to send.
+     * @param request  the request, or null to always send the content.
+     * @param response the response to write to.
+     */
+    public static void sendResponse(Object content, HttpServletRequest request, HttpServletResponse response) throws IOException {
         if (content instanceof Page) {
             Page page = (Page) content;
             response.setHeader("ONS-Page-Type", page.getType().getLabel());
         }
 
-        IOUtils.copy(new StringReader(ContentUtil.serialise(content)), response.getOutputStream());
+        byte[] body = ContentUtil.serialise(content).getBytes(StandardCharsets.UTF_8);
+        if (content instanceof Content) {
+            String etag = DigestUtils.sha1Hex(body);
+            if (isNotModified(request, etag)) {
+                sendNotModified(response, etag);
+                return;
+            }
+            response.setHeader("Etag", etag);
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * @return true if the If-None-Match header of the request matches the given ETag.
+     */
+    static boolean isNotModified(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request == null ? null : request.getHeader("If-None-Match");
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = StringUtils.removeStart(candidate.trim(), "W/");
+            if (value.equals("*") || StringUtils.strip(value, "\"").equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sendNotModified(HttpServletResponse response, String etag) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader("Etag", etag);
     }
 
     public static void sendResponse(Resource resource, HttpServletResponse response, String encoding) throws IOException {
+        sendResponse(resource, null, response, encoding);
+    }
+
+    /**
+     * Send the given resource. A resource read as is from a file is sent straight from disk in constant memory, with
+     * support for If-None-Match and single byte Range requests. Its ETag is the SHA-1 hash of its content, cached by
+     * {@link FileEtags} while the file is unchanged. Any other resource is read into memory and hashed before it is
+     * sent.
+     *
+     * @param resource the resource to send.
+     * @param request  the request, or null to always send the whole resource.
+     * @param response the response to write to.
+     * @param encoding the character encoding of the resource, or null if it is not text.
+     */
+    public static void sendResponse(Resource resource, HttpServletRequest request, HttpServletResponse response,
+                                    String encoding) throws IOException {
+        if (resource.getFile() != null) {
+            sendFile(resource, request, response, encoding);
+            return;
+        }
+
         byte[] bytes = IOUtils.toByteArray(resource.getData());
         response.setStatus(HttpServletResponse.SC_OK);
         response.setContentType(resource.getMimeType());
@@ -51,9 +123,121 @@ public class ReaderResponseResponseUtils {
 
 
     public static void sendResponse(Resource resource, HttpServletResponse response) throws IOException {
-        sendResponse(resource, response, null);
+        sendResponse(resource, null, response, null);
     }
 
+    public static void sendResponse(Resource resource, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        sendResponse(resource, request, response, null);
+    }
+
+    private static void sendFile(Resource resource, HttpServletRequest request, HttpServletResponse response,
+                                 String encoding) throws IOException {
+        Path file = resource.getFile();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        String etag = FileEtags.get(file, attributes);
+
+        if (etag != null && isNotModified(request, etag)) {
+            sendNotModified(response, etag);
+            return;
+        }
+
+        response.setContentType(resource.getMimeType());
+        if (encoding != null) {
+            response.setCharacterEncoding(encoding);
+        }
+        response.setHeader("Content-Disposition", "inline; filename=\"" + resource.getName() + "\"");
+        if (etag != null) {
+            response.setHeader("Etag", etag);
+        }
+        response.setHeader("Accept-Ranges", "bytes");
+
+        long start = 0;
+        long end = size - 1;
+        long[] range = getRange(request, etag, size);
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        } else if (range.length == 0) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader("Content-Range", "bytes */" + size);
+            return;
+        } else {
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + size);
+        }
+        response.setContentLengthLong(end - start + 1);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break; // the file has been truncated since its size was read.
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Get the byte range requested by the Range header of the request. Only a single range is supported, requests
+     * for multiple ranges are sent the whole file, as are requests with an If-Range header that is not the current
+     * ETag of the file.
+     *
+     * @return the first and last byte of the range, an empty array if the range cannot be satisfied, or null if the
+     * whole file should be sent.
+     */
+    static long[] getRange(HttpServletRequest request, String etag, long size) {
+        String range = request == null ? null : request.getHeader("Range");
+        if (StringUtils.isBlank(range) || !range.startsWith("bytes=") || range.contains(",")) {
+            return null;
+        }
+
+        String ifRange = request.getHeader("If-Range");
+        if (StringUtils.isNotBlank(ifRange) && !StringUtils.strip(ifRange.trim(), "\"").equals(etag)) {
+            return null;
+        }
+
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // suffix range: the last n bytes.
+                long length = Long.parseLong(last);
+                if (length <= 0 || size == 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, size - length);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return null; // invalid ranges are ignored.
+                }
+                if (start >= size) {
+                    return new long[0];
+                }
+                end = Math.min(end, size - 1);
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
     public static void sendNotFound(NotFoundException exception, HttpServletRequest request, HttpServletResponse response) throws IOException {
         info().data("uri", request.getRequestURI() + "?" + request.getQueryString())
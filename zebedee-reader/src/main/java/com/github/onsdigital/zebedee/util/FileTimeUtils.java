@@ -0,0 +1,28 @@
+package com.github.onsdigital.zebedee.util;
+
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Checks on file modification times used to decide whether state derived from a file is still current.
+ */
+public class FileTimeUtils {
+
+    /**
+     * File systems only record modification times to a limited precision, so a file modified within this window of
+     * the time it was read may be modified again without its timestamp changing.
+     */
+    public static final long RACY_WINDOW_MS = 2000;
+
+    private FileTimeUtils() {
+    }
+
+    /**
+     * @param lastModified the modification time of the file when it was read.
+     * @param readAt       the time the file was read, in milliseconds.
+     * @return true if the file may have been modified again without its timestamp changing, so anything derived from
+     * it must not be trusted to still be current.
+     */
+    public static boolean isRacy(FileTime lastModified, long readAt) {
+        return readAt - lastModified.toMillis() < RACY_WINDOW_MS;
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.not;
+
+public class TimeSeriesPeriodIndexTest {
+
+    @Test
+    public void getPeriodKey_shouldMatchParsedDate() {
+        for (String date : new String[]{"2015", "2015 JAN", "2015 01", "2015 Q2", "2014-15", "2014/15", "YE Mar 15"}) {
+            assertThat(date, value(date, "1").toDate(), equalTo(TimeSeriesValue.parseDate(date)));
+            assertThat(date, TimeSeriesValue.toDate(date), equalTo(TimeSeriesValue.parseDate(date)));
+        }
+    }
+
+    @Test
+    public void of_shouldHoldValuesInDateOrder() {
+        TimeSeries series = new TimeSeries();
+        series.add(value("2015 MAR", "3"));
+        series.add(value("2015 JAN", "1"));
+        series.add(value("2015 FEB", "x"));
+
+        TimeSeriesPeriodIndex months = series.getMonthsIndex();
+
+        assertThat(months.size(), equalTo(3));
+        assertThat(months.get(0).date, equalTo("2015 JAN"));
+        assertThat(months.get(2).date, equalTo("2015 MAR"));
+        assertThat(months.getPeriodKey(0) < months.getPeriodKey(1), equalTo(true));
+    }
+
+    @Test
+    public void lowerBoundAndUpperBound_shouldFindRange() {
+        TimeSeries series = new TimeSeries();
+        for (String month : new String[]{"JAN", "FEB", "MAR", "APR", "MAY"}) {
+            series.add(value("2015 " + month, "1"));
+        }
+        TimeSeriesPeriodIndex months = series.getMonthsIndex();
+
+        long from = TimeSeriesValue.toDate("2015 FEB").getTime();
+        long to = TimeSeriesValue.toDate("2015 APR").getTime();
+
+        assertThat(months.lowerBound(from), equalTo(1));
+        assertThat(months.upperBound(to), equalTo(4));
+        assertThat(months.subList(months.lowerBound(from), months.upperBound(to)).size(), equalTo(3));
+        assertThat(months.lowerBound(Long.MIN_VALUE), equalTo(0));
+        assertThat(months.upperBound(Long.MAX_VALUE), equalTo(5));
+    }
+
+    @Test
+    public void getMonthsIndex_shouldRebuildWhenValuesChange() {
+        TimeSeries series = new TimeSeries();
+        series.add(value("2015 JAN", "1"));
+        TimeSeriesPeriodIndex first = series.getMonthsIndex();
+
+        assertThat(series.getMonthsIndex(), sameInstance(first));
+
+        series.add(value("2015 FEB", "2"));
+
+        assertThat(series.getMonthsIndex(), not(sameInstance(first)));
+        assertThat(series.getMonthsIndex().size(), equalTo(2));
+    }
+
+    @Test
+    public void serialise_shouldNotIncludeIndex() {
+        TimeSeries series = new TimeSeries();
+        series.add(value("2015 JAN", "1"));
+        String before = ContentUtil.serialise(series);
+
+        series.getMonthsIndex();
+
+        assertThat(ContentUtil.serialise(series), equalTo(before));
+        TimeSeries read = ContentUtil.deserialise(before, TimeSeries.class);
+        assertThat(read.months.first().toDate(), equalTo(new Date(read.getMonthsIndex().getPeriodKey(0))));
+    }
+
+    private static TimeSeriesValue value(String date, String value) {
+        TimeSeriesValue result = new TimeSeriesValue();
+        result.date = date;
+        result.value = value;
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting and range filtering a long monthly timeseries held as a {@link TreeSet} of
+ * {@link TimeSeriesValue}, parsing the date of each value once as it was before period keys were cached, with the
+ * cached period keys and a {@link TimeSeriesPeriodIndex}. Only time is measured: the index is held in addition to the
+ * set, so it does not reduce the memory a timeseries uses.
+ * <p>
+ * Not a unit test, run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValuesBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSeriesValuesBenchmark {
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT",
+            "NOV", "DEC"};
+
+    private List<TimeSeriesValue> unsorted;
+    private TreeSet<TimeSeriesValue> months;
+    private TimeSeriesPeriodIndex monthsIndex;
+    private Date from;
+    private Date to;
+
+    @Setup
+    public void setUp() {
+        unsorted = new ArrayList<>();
+        for (int year = 2019; year >= 1960; year--) {
+            for (String month : MONTHS) {
+                TimeSeriesValue value = new TimeSeriesValue();
+                value.date = year + " " + month;
+                value.value = String.valueOf(year % 100 + 0.5);
+                unsorted.add(value);
+            }
+        }
+
+        months = new TreeSet<>(unsorted);
+        monthsIndex = TimeSeriesPeriodIndex.of(months);
+        from = TimeSeriesValue.toDate("2015 JAN");
+        to = TimeSeriesValue.toDate("2019 DEC");
+    }
+
+    @Benchmark
+    public TreeSet<TimeSeriesValue> sortParsingEachValue() {
+        Map<TimeSeriesValue, Date> parsed = new IdentityHashMap<>();
+        TreeSet<TimeSeriesValue> result = new TreeSet<>(
+                Comparator.comparing(value -> parsed.computeIfAbsent(value, v -> TimeSeriesValue.parseDate(v.date))));
+        for (TimeSeriesValue value : unsorted) {
+            result.add(copy(value));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public TimeSeriesPeriodIndex sortWithPeriodKeys() {
+        TreeSet<TimeSeriesValue> result = new TreeSet<>();
+        for (TimeSeriesValue value : unsorted) {
+            result.add(copy(value));
+        }
+        return TimeSeriesPeriodIndex.of(result);
+    }
+
+    @Benchmark
+    public TreeSet<TimeSeriesValue> rangeByIteration() {
+        TreeSet<TimeSeriesValue> result = new TreeSet<>();
+        for (TimeSeriesValue value : months) {
+            Date date = value.toDate();
+            if (date.compareTo(from) >= 0 && date.compareTo(to) <= 0) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TimeSeriesValue> rangeByBinarySearch() {
+        return monthsIndex.subList(monthsIndex.lowerBound(from.getTime()),
+                monthsIndex.upperBound(to.getTime()));
+    }
+
+    private static TimeSeriesValue copy(TimeSeriesValue value) {
+        TimeSeriesValue copy = new TimeSeriesValue();
+        copy.date = value.date;
+        copy.value = value.value;
+        return copy;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TimeSeriesValuesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
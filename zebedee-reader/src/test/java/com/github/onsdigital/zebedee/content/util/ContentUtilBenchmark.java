@@ -0,0 +1,180 @@
+package com.github.onsdigital.zebedee.content.util;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import com.github.onsdigital.zebedee.content.page.statistics.dataset.Dataset;
+import com.github.onsdigital.zebedee.content.page.statistics.dataset.DownloadSection;
+import com.github.onsdigital.zebedee.content.page.statistics.document.bulletin.Bulletin;
+import com.github.onsdigital.zebedee.content.partial.Link;
+import com.github.onsdigital.zebedee.content.partial.markdown.MarkdownSection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialising and deserialising bulletin, timeseries and dataset pages with the shared {@link ContentUtil}
+ * Gson instances, as the reader does for every page it serves.
+ * <p>
+ * Not a unit test, run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.onsdigital.zebedee.content.util.ContentUtilBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentUtilBenchmark {
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT",
+            "NOV", "DEC"};
+
+    private Bulletin bulletin;
+    private TimeSeries timeSeries;
+    private Dataset dataset;
+    private String bulletinJson;
+    private String timeSeriesJson;
+    private String datasetJson;
+
+    @Setup
+    public void setUp() {
+        bulletin = bulletin();
+        timeSeries = timeSeries();
+        dataset = dataset();
+
+        bulletinJson = ContentUtil.serialise(bulletin);
+        timeSeriesJson = ContentUtil.serialise(timeSeries);
+        datasetJson = ContentUtil.serialise(dataset);
+    }
+
+    @Benchmark
+    public String serialiseBulletin() {
+        return ContentUtil.serialise(bulletin);
+    }
+
+    @Benchmark
+    public Page deserialiseBulletin() {
+        return ContentUtil.deserialiseContent(bulletinJson);
+    }
+
+    @Benchmark
+    public String serialiseTimeSeries() {
+        return ContentUtil.serialise(timeSeries);
+    }
+
+    @Benchmark
+    public Page deserialiseTimeSeries() {
+        return ContentUtil.deserialiseContent(timeSeriesJson);
+    }
+
+    @Benchmark
+    public String serialiseDataset() {
+        return ContentUtil.serialise(dataset);
+    }
+
+    @Benchmark
+    public Page deserialiseDataset() {
+        return ContentUtil.deserialiseContent(datasetJson);
+    }
+
+    private static Bulletin bulletin() {
+        Bulletin bulletin = new Bulletin();
+        bulletin.setUri(URI.create("/economy/grossdomesticproductgdp/bulletins/gdpfirstquarterlyestimateuk/2019"));
+        bulletin.setDescription(description("GDP first quarterly estimate, UK"));
+
+        List<MarkdownSection> sections = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            MarkdownSection section = new MarkdownSection();
+            section.setTitle("Section " + i);
+            section.setMarkdown("UK gross domestic product (GDP) is estimated to have grown by 0." + i
+                    + "% in the quarter, slowing from growth in the previous quarter. ");
+            sections.add(section);
+        }
+        bulletin.setSections(sections);
+
+        List<Link> related = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            related.add(new Link(URI.create("/economy/grossdomesticproductgdp/timeseries/abm" + i + "/qna")));
+        }
+        bulletin.setRelatedData(related);
+        return bulletin;
+    }
+
+    private static TimeSeries timeSeries() {
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.setUri(URI.create("/economy/grossdomesticproductgdp/timeseries/abmi/qna"));
+        timeSeries.setDescription(description("Gross Domestic Product: chained volume measures: Seasonally adjusted"));
+        timeSeries.setCdid("ABMI");
+
+        for (int year = 1960; year <= 2019; year++) {
+            timeSeries.years.add(value(String.valueOf(year), year, null, null));
+            for (int quarter = 1; quarter <= 4; quarter++) {
+                timeSeries.quarters.add(value(year + " Q" + quarter, year, null, "Q" + quarter));
+            }
+            for (String month : MONTHS) {
+                timeSeries.months.add(value(year + " " + month, year, month, null));
+            }
+        }
+        return timeSeries;
+    }
+
+    private static TimeSeriesValue value(String date, int year, String month, String quarter) {
+        TimeSeriesValue value = new TimeSeriesValue();
+        value.date = date;
+        value.value = String.valueOf(year % 100 + 0.5);
+        value.year = String.valueOf(year);
+        value.month = month;
+        value.quarter = quarter;
+        return value;
+    }
+
+    private static Dataset dataset() {
+        Dataset dataset = new Dataset();
+        dataset.setUri(URI.create("/economy/grossdomesticproductgdp/datasets/quarterlynationalaccounts/current"));
+        dataset.setDescription(description("Quarterly national accounts"));
+
+        List<DownloadSection> downloads = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            DownloadSection download = new DownloadSection();
+            download.setTitle("Table " + i);
+            download.setFile("qna" + i + ".xlsx");
+            download.setCdids(Arrays.asList("ABMI", "ABMM", "IHYQ", "IHYR", "YBHA"));
+            downloads.add(download);
+        }
+        dataset.setDownloads(downloads);
+        return dataset;
+    }
+
+    private static PageDescription description(String title) {
+        PageDescription description = new PageDescription();
+        description.setTitle(title);
+        description.setSummary("Summary of " + title);
+        description.setKeywords(Arrays.asList("gdp", "economy", "growth"));
+        description.setReleaseDate(new Date());
+        description.setNextRelease("28 June 2019");
+        return description;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContentUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.onsdigital.zebedee.content.util;
+
+import com.github.onsdigital.zebedee.content.page.statistics.document.bulletin.Bulletin;
+import com.google.gson.JsonParseException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ContentUtilTest {
+
+    private static final Date EPOCH = new Date(0);
+
+    @Test
+    public void serialise_defaultDatePattern_shouldUseIsoFormat() {
+        assertThat(ContentUtil.serialise(new Dated(EPOCH)), equalTo("{\"date\":\"1970-01-01T00:00:00.000Z\"}"));
+    }
+
+    @Test
+    public void serialise_customDatePattern_shouldNotAffectDefault() {
+        assertThat(ContentUtil.serialise(new Dated(EPOCH), "yyyy"), equalTo("{\"date\":\"1970\"}"));
+        assertThat(ContentUtil.serialise(new Dated(EPOCH), "dd/MM/yyyy"), equalTo("{\"date\":\"01/01/1970\"}"));
+        assertThat(ContentUtil.serialise(new Dated(EPOCH)), equalTo("{\"date\":\"1970-01-01T00:00:00.000Z\"}"));
+    }
+
+    @Test
+    public void deserialise_shouldRoundTrip() {
+        String json = ContentUtil.serialise(new Dated(EPOCH), "dd/MM/yyyy");
+
+        Dated result = ContentUtil.deserialise(json, Dated.class, "dd/MM/yyyy");
+
+        assertThat(result.date, equalTo(EPOCH));
+    }
+
+    @Test
+    public void validateContent_givenObjectWithoutType_shouldReadToEnd() throws IOException {
+        InputStream stream = stream("{\"description\": {\"title\": \"a\", \"keywords\": [1, 2]}}  ");
+
+        ContentUtil.validateContent(stream);
+
+        assertThat(stream.read(), equalTo(-1));
+    }
+
+    @Test
+    public void validateContent_givenEmptyContent_shouldAccept() throws IOException {
+        ContentUtil.validateContent(stream(""));
+    }
+
+    @Test(expected = IOException.class)
+    public void validateContent_givenInvalidJson_shouldThrow() throws IOException {
+        ContentUtil.validateContent(stream("{\"description\": {\"title\": }"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void validateContent_givenArray_shouldThrow() throws IOException {
+        ContentUtil.validateContent(stream("[{}]"));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void validateContent_givenTrailingContent_shouldThrow() throws IOException {
+        ContentUtil.validateContent(stream("{} {}"));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void validateContent_givenObjectType_shouldThrow() throws IOException {
+        ContentUtil.validateContent(stream("{\"type\": {}}"));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void validateContent_givenBooleanType_shouldThrowJsonParseException() throws IOException {
+        ContentUtil.validateContent(stream("{\"type\": true}"));
+    }
+
+    @Test
+    public void validateContent_givenKnownType_shouldAccept() throws IOException {
+        ContentUtil.validateContent(stream("{\"type\": \"bulletin\", \"sections\": []}"));
+    }
+
+    @Test
+    public void serialise_page_shouldWriteTypeAfterPageContent() {
+        Bulletin bulletin = new Bulletin();
+        bulletin.setSections(new ArrayList<>());
+
+        String json = ContentUtil.serialise(bulletin);
+
+        // PageTypeResolver relies on this: a resolver buffering until the type would buffer the whole page.
+        assertThat(json.indexOf("\"type\"") > json.indexOf("\"sections\""), equalTo(true));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class Dated {
+        private Date date;
+
+        Dated(Date date) {
+            this.date = date;
+        }
+    }
+}
@@ -215,6 +215,29 @@ public class ContentReaderTest {
         assertEquals(false, latestContent.getDescription().isLatestRelease());
     }
 
+    @Test
+    public void testGetLatestContentWithContentCache() throws ZebedeeException, IOException {
+        ContentReader cachedReader = new FileSystemContentReader(Paths.get(CONTENT_DIR), new PublishedContentCache(1024 * 1024));
+
+        Page first = cachedReader.getLatestContent("/economy/environmentalaccounts/bulletins/ukenvironmentalaccounts");
+        Page second = cachedReader.getLatestContent("/economy/environmentalaccounts/bulletins/ukenvironmentalaccounts");
+
+        assertEquals("2015", first.getDescription().getEdition());
+        assertEquals("2015", second.getDescription().getEdition());
+        assertEquals(true, second.getDescription().isLatestRelease());
+    }
+
+    @Test
+    public void testGetContentForLatestEditionWithContentCache() throws ZebedeeException, IOException {
+        ContentReader cachedReader = new FileSystemContentReader(Paths.get(CONTENT_DIR), new PublishedContentCache(1024 * 1024));
+        Page latest = cachedReader.getLatestContent("/economy/environmentalaccounts/bulletins/ukenvironmentalaccounts");
+
+        Page content = cachedReader.getContent(latest.getUri().toString());
+
+        assertEquals(latest.getUri(), content.getUri());
+        assertEquals(true, content.getDescription().isLatestRelease());
+    }
+
     @Test(expected = BadRequestException.class)
     public void testGetLatestForNonEditionsFolder() throws ZebedeeException, IOException {
         contentReader.getLatestContent("/economy/environmentalaccounts/datasets");
@@ -1,16 +1,29 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Point;
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class FileSystemContentReaderTest {
@@ -61,6 +74,42 @@ public class FileSystemContentReaderTest {
         assertFileMimeType("test.png", "image/png");
     }
 
+    @Test
+    public void getContent_givenCachedSeries_shouldReturnNewInstanceForEachRequest() throws Exception {
+        String uri = "/economy/grossdomesticproductgdp/timeseries/abmi";
+        Path dataFile = temporaryFolder.getRoot().toPath().resolve(uri.substring(1)).resolve("data.json");
+        Files.createDirectories(dataFile.getParent());
+        Files.write(dataFile, ContentUtil.serialise(timeSeries(uri)).getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+
+        FileSystemContentReader reader = new FileSystemContentReader(temporaryFolder.getRoot().toPath(),
+                new PublishedContentCache(1024 * 1024));
+        DataFilter filter = new DataFilter(DataFilter.FilterType.SERIES, new HashMap<>());
+
+        Series first = (Series) reader.getContent(uri, filter);
+        first.add(new Point("2020", "1.0"));
+        Series second = (Series) reader.getContent(uri, filter);
+        Series third = (Series) reader.getContent(uri, filter);
+
+        assertThat(second, not(sameInstance(third)));
+        assertThat(second.getSeries().size(), equalTo(2));
+        assertThat(ContentUtil.serialise(second), equalTo(ContentUtil.serialise(third)));
+    }
+
+    private static TimeSeries timeSeries(String uri) {
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.setUri(URI.create(uri));
+        timeSeries.setCdid("ABMI");
+        for (String year : new String[]{"2018", "2019"}) {
+            TimeSeriesValue value = new TimeSeriesValue();
+            value.date = year;
+            value.year = year;
+            value.value = "1.5";
+            timeSeries.years.add(value);
+        }
+        return timeSeries;
+    }
+
     void assertFileMimeType(String filename, String expectedMimeType) throws Exception {
         File f = temporaryFolder.newFile(filename);
         try {
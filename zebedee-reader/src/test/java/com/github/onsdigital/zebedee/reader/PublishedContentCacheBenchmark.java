@@ -0,0 +1,109 @@
+package com.github.onsdigital.zebedee.reader;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.document.bulletin.Bulletin;
+import com.github.onsdigital.zebedee.content.partial.markdown.MarkdownSection;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the latest edition of a bulletin through {@link FileSystemContentReader} with and without a
+ * {@link PublishedContentCache}, to show what the cache saves on top of deserialising the page.
+ * <p>
+ * Not a unit test, run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.onsdigital.zebedee.reader.PublishedContentCacheBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishedContentCacheBenchmark {
+
+    private static final String SERIES_URI = "/economy/grossdomesticproductgdp/bulletins/gdpfirstquarterlyestimateuk";
+    private static final String[] EDITIONS = {"2017", "2018", "2019"};
+
+    private Path root;
+    private FileSystemContentReader uncached;
+    private FileSystemContentReader cached;
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("published-content-cache-benchmark");
+        FileTime anHourAgo = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        for (String edition : EDITIONS) {
+            Path dataFile = root.resolve(SERIES_URI.substring(1)).resolve(edition).resolve("data.json");
+            Files.createDirectories(dataFile.getParent());
+            Files.write(dataFile, ContentUtil.serialise(bulletin(edition)).getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(dataFile, anHourAgo);
+        }
+        Files.setLastModifiedTime(root.resolve(SERIES_URI.substring(1)), anHourAgo);
+
+        uncached = new FileSystemContentReader(root);
+        cached = new FileSystemContentReader(root, new PublishedContentCache(64L * 1024 * 1024));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(root.toFile());
+    }
+
+    @Benchmark
+    public Page readLatestUncached() throws Exception {
+        return uncached.getLatestContent(SERIES_URI);
+    }
+
+    @Benchmark
+    public Page readLatestCached() throws Exception {
+        return cached.getLatestContent(SERIES_URI);
+    }
+
+    private static Bulletin bulletin(String edition) {
+        Bulletin bulletin = new Bulletin();
+        bulletin.setUri(URI.create(SERIES_URI + "/" + edition));
+        PageDescription description = new PageDescription();
+        description.setTitle("GDP first quarterly estimate, UK");
+        description.setEdition(edition);
+        bulletin.setDescription(description);
+
+        List<MarkdownSection> sections = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            MarkdownSection section = new MarkdownSection();
+            section.setTitle("Section " + i);
+            section.setMarkdown("UK gross domestic product (GDP) is estimated to have grown by 0." + i
+                    + "% in the quarter, slowing from growth in the previous quarter. ");
+            sections.add(section);
+        }
+        bulletin.setSections(sections);
+        return bulletin;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PublishedContentCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.onsdigital.zebedee.reader;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PublishedContentCacheTest {
+
+    private static final FileTime AN_HOUR_AGO = FileTime.fromMillis(
+            System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+
+    @Rule
+    public TemporaryFolder rootDir = new TemporaryFolder();
+
+    private Path dataFile;
+    private PublishedContentCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        dataFile = rootDir.newFile("data.json").toPath();
+        write(dataFile, "{\"type\":\"home_page\"}", AN_HOUR_AGO);
+
+        cache = new PublishedContentCache(1024 * 1024);
+    }
+
+    @Test
+    public void get_unchangedFile_shouldReturnCachedContent() throws Exception {
+        PublishedContentCache.CachedFile first = cache.get(dataFile);
+        PublishedContentCache.CachedFile second = cache.get(dataFile);
+
+        assertThat(second, sameInstance(first));
+        assertThat(new String(second.getData()), equalTo("{\"type\":\"home_page\"}"));
+        assertThat(cache.getHitCount(), equalTo(1L));
+        assertThat(cache.getMissCount(), equalTo(1L));
+    }
+
+    @Test
+    public void get_fileReplaced_shouldReadNewContent() throws Exception {
+        cache.get(dataFile);
+
+        write(dataFile, "{\"type\":\"taxonomy_landing_page\"}", FileTime.fromMillis(AN_HOUR_AGO.toMillis() + 60000));
+
+        assertThat(new String(cache.get(dataFile).getData()), equalTo("{\"type\":\"taxonomy_landing_page\"}"));
+        assertThat(cache.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void get_recentlyModifiedFile_shouldNotBeCached() throws Exception {
+        write(dataFile, "{\"type\":\"bulletin\"}", FileTime.fromMillis(System.currentTimeMillis()));
+
+        cache.get(dataFile);
+        cache.get(dataFile);
+
+        assertThat(cache.getHitCount(), equalTo(0L));
+        assertThat(cache.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void get_fileLargerThanCache_shouldNotBeCached() throws Exception {
+        cache = new PublishedContentCache(0);
+
+        cache.get(dataFile);
+        cache.get(dataFile);
+
+        assertThat(cache.getHitCount(), equalTo(0L));
+        assertThat(cache.getWeight(), equalTo(0L));
+    }
+
+    @Test
+    public void invalidate_shouldRemoveFile() throws Exception {
+        cache.get(dataFile);
+
+        cache.invalidate(dataFile);
+        cache.get(dataFile);
+
+        assertThat(cache.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void getLatestEdition_shouldOnlyReturnEditionResolvedAtSameSeriesModifiedTime() throws Exception {
+        Path series = rootDir.newFolder("economy", "bulletins", "series").toPath();
+        Path edition = series.resolve("2015");
+        cache.putLatestEdition(series, ContentLanguage.ENGLISH, AN_HOUR_AGO, edition);
+
+        assertThat(cache.getLatestEdition(series, ContentLanguage.ENGLISH, AN_HOUR_AGO).getPath(), equalTo(edition));
+        assertThat(cache.getLatestEdition(series, ContentLanguage.ENGLISH,
+                FileTime.fromMillis(AN_HOUR_AGO.toMillis() + 1)), nullValue());
+        assertThat(cache.getLatestEdition(series, ContentLanguage.WELSH, AN_HOUR_AGO), nullValue());
+    }
+
+    @Test
+    public void invalidatePublished_shouldRemoveLatestEditionOfPublishedSeriesOnly() throws Exception {
+        Path series = rootDir.newFolder("economy", "bulletins", "series").toPath();
+        Path other = rootDir.newFolder("economy", "bulletins", "other").toPath();
+        cache.putLatestEdition(series, ContentLanguage.ENGLISH, AN_HOUR_AGO, series.resolve("2015"));
+        cache.putLatestEdition(other, ContentLanguage.ENGLISH, AN_HOUR_AGO, other.resolve("2015"));
+
+        cache.invalidatePublished(Collections.singletonList("/economy/bulletins/series/2016/data.json"));
+
+        assertThat(cache.getLatestEdition(series, ContentLanguage.ENGLISH, AN_HOUR_AGO), nullValue());
+        assertThat(cache.getLatestEdition(other, ContentLanguage.ENGLISH, AN_HOUR_AGO).getPath(),
+                equalTo(other.resolve("2015")));
+    }
+
+    private static void write(Path path, String content, FileTime lastModified) throws Exception {
+        Files.write(path, content.getBytes());
+        Files.setLastModifiedTime(path, lastModified);
+    }
+}
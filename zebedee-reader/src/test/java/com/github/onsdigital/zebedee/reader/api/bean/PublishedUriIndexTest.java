@@ -0,0 +1,111 @@
+package com.github.onsdigital.zebedee.reader.api.bean;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class PublishedUriIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path root;
+    private PublishedUriIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.getRoot().toPath();
+        createDataFile("");
+        createDataFile("economy");
+        createDataFile("economy/inflation");
+        createDataFile("economy/inflation/previous/v1");
+        createDataFile("about");
+        Files.createDirectories(root.resolve("economy/empty"));
+
+        index = new PublishedUriIndex(root);
+    }
+
+    @Test
+    public void snapshot_shouldContainSortedUrisExcludingPreviousVersions() throws Exception {
+        PublishedUriIndex.Snapshot snapshot = index.snapshot();
+
+        assertEquals(4, snapshot.size());
+        assertEquals(Arrays.asList("/", "/about", "/economy", "/economy/inflation"), snapshot.page(0, 10));
+    }
+
+    @Test
+    public void page_shouldReturnRequestedRange() throws Exception {
+        PublishedUriIndex.Snapshot snapshot = index.snapshot();
+
+        assertEquals(Arrays.asList("/about", "/economy"), snapshot.page(1, 2));
+        assertEquals(Collections.singletonList("/economy/inflation"), snapshot.page(3, 2));
+        assertEquals(Collections.emptyList(), snapshot.page(10, 2));
+    }
+
+    @Test
+    public void pageAfter_shouldContinueFromGivenUri() throws Exception {
+        PublishedUriIndex.Snapshot snapshot = index.snapshot();
+
+        assertEquals(Arrays.asList("/economy", "/economy/inflation"), snapshot.pageAfter("/about", 2));
+        assertEquals(Arrays.asList("/economy", "/economy/inflation"), snapshot.pageAfter("/abv", 2));
+    }
+
+    @Test
+    public void add_shouldIncludeUrisInNewSnapshotOnly() throws Exception {
+        PublishedUriIndex.Snapshot before = index.snapshot();
+
+        index.add(Collections.singletonList("/business"));
+
+        assertEquals(4, before.size());
+        assertEquals(Arrays.asList("/about", "/business"), index.snapshot().page(1, 2));
+    }
+
+    @Test
+    public void apply_shouldRemoveDeletedContentBeforeAddingPublishedUris() throws Exception {
+        index.snapshot();
+
+        index.apply(new PublishedUriIndex.Change(new TreeSet<>(Arrays.asList("/economy/prices", "/business")),
+                Collections.singletonList("/economy")));
+
+        assertEquals(Arrays.asList("/", "/about", "/business", "/economy/prices"), index.snapshot().page(0, 10));
+    }
+
+    @Test
+    public void snapshot_givenRefreshInProgress_shouldWaitForIt() throws Exception {
+        index.refresh();
+
+        PublishedUriIndex.Snapshot snapshot = index.snapshot();
+
+        assertEquals(4, snapshot.size());
+    }
+
+    @Test
+    public void refreshEvery_shouldPickUpContentWrittenToTheTree() throws Exception {
+        assertEquals(4, index.snapshot().size());
+        createDataFile("business");
+
+        index.refreshEvery(50, TimeUnit.MILLISECONDS);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (index.snapshot().size() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(Arrays.asList("/", "/about", "/business", "/economy", "/economy/inflation"),
+                index.snapshot().page(0, 10));
+    }
+
+    private void createDataFile(String dir) throws Exception {
+        Path directory = Files.createDirectories(root.resolve(dir));
+        Files.write(directory.resolve("data.json"), "{}".getBytes());
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
+import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.api.bean.PublishedIndexResponse;
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
@@ -11,8 +12,12 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class PublishedIndexTest {
 
@@ -36,4 +41,43 @@ public class PublishedIndexTest {
         // Then
         assertNotNull(actual);
     }
+
+    @Test
+    public void readWithLimitReturnsPageAndCursor() throws ZebedeeException, IOException {
+        // Given
+        when(request.getParameter(PublishedIndex.LIMIT_PARAM)).thenReturn("2");
+
+        // When
+        PublishedIndexResponse firstPage = publishedIndex.read(request, response);
+
+        when(request.getParameter(PublishedIndex.CURSOR_PARAM)).thenReturn(firstPage.getNextCursor());
+        PublishedIndexResponse secondPage = publishedIndex.read(request, response);
+
+        // Then
+        assertEquals(2, firstPage.getCount());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(2, secondPage.getOffset());
+        assertNotEquals(firstPage.getItems().get(1).getUri(), secondPage.getItems().get(0).getUri());
+        assertEquals(firstPage.getTotalCount(), secondPage.getTotalCount());
+    }
+
+    @Test
+    public void readWithoutLimitReturnsAllDocuments() throws ZebedeeException, IOException {
+
+        // When
+        PublishedIndexResponse actual = publishedIndex.read(request, response);
+
+        // Then
+        assertEquals(actual.getTotalCount(), actual.getCount());
+        assertNull(actual.getNextCursor());
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void readWithNegativeLimitThrowsBadRequest() throws ZebedeeException, IOException {
+        // Given
+        when(request.getParameter(PublishedIndex.LIMIT_PARAM)).thenReturn("-1");
+
+        // When
+        publishedIndex.read(request, response);
+    }
 }
@@ -0,0 +1,98 @@
+package com.github.onsdigital.zebedee.reader.data.filter;
+
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesPeriodIndex;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class FilterUtilTest {
+
+    private TimeSeries timeSeries;
+    private TimeSeriesPeriodIndex months;
+
+    @Before
+    public void setUp() {
+        timeSeries = new TimeSeries();
+        timeSeries.setCdid("abcd");
+        for (String month : new String[]{"JAN", "FEB", "MAR", "APR", "MAY", "JUN"}) {
+            TimeSeriesValue value = new TimeSeriesValue();
+            value.date = "2015 " + month;
+            value.value = "1";
+            timeSeries.add(value);
+        }
+        months = timeSeries.getMonthsIndex();
+    }
+
+    @Test
+    public void applyRange_noDates_shouldReturnAllValues() {
+        assertThat(FilterUtil.applyRange(months, null, null).size(), equalTo(6));
+    }
+
+    @Test
+    public void applyRange_fromAndTo_shouldIncludeBoth() {
+        List<TimeSeriesValue> result = FilterUtil.applyRange(months, TimeSeriesValue.toDate("2015 FEB"),
+                TimeSeriesValue.toDate("2015 APR"));
+
+        assertThat(result.size(), equalTo(3));
+        assertThat(result.get(0).date, equalTo("2015 FEB"));
+        assertThat(result.get(2).date, equalTo("2015 APR"));
+    }
+
+    @Test
+    public void applyRange_onlyTo_shouldIncludeValuesUpToTo() {
+        List<TimeSeriesValue> result = FilterUtil.applyRange(months, null, TimeSeriesValue.toDate("2015 MAR"));
+
+        assertThat(result.size(), equalTo(3));
+    }
+
+    @Test
+    public void applyRange_toNotInSeries_shouldIncludeEveryLaterValue() {
+        List<TimeSeriesValue> result = FilterUtil.applyRange(months, TimeSeriesValue.toDate("2015 MAY"),
+                TimeSeriesValue.toDate("2016 JAN"));
+
+        assertThat(result.size(), equalTo(2));
+    }
+
+    @Test
+    public void applyRange_toBeforeFrom_shouldReturnNoValues() {
+        List<TimeSeriesValue> result = FilterUtil.applyRange(months, TimeSeriesValue.toDate("2015 APR"),
+                TimeSeriesValue.toDate("2015 FEB"));
+
+        assertThat(result.size(), equalTo(0));
+    }
+
+    @Test
+    public void filterPageData_seriesFilter_shouldReturnPointsInRange() throws Exception {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("frequency", new String[]{"months"});
+        parameters.put("fromYear", new String[]{"2015"});
+        parameters.put("fromMonth", new String[]{"Mar"});
+
+        Series series = (Series) FilterUtil.filterPageData(timeSeries,
+                new DataFilter(DataFilter.FilterType.SERIES, parameters));
+
+        assertThat(series.getSeries().size(), equalTo(4));
+    }
+
+    @Test
+    public void getSeriesKey_shouldIgnoreCaseAndUnrelatedParameters() {
+        Map<String, String[]> first = new HashMap<>();
+        first.put("frequency", new String[]{"Months"});
+        first.put("fromYear", new String[]{"2015"});
+        Map<String, String[]> second = new HashMap<>();
+        second.put("frequency", new String[]{"months"});
+        second.put("fromYear", new String[]{"2015"});
+        second.put("uri", new String[]{"/economy"});
+
+        assertThat(FilterUtil.getSeriesKey(first), equalTo(FilterUtil.getSeriesKey(second)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class MimeTypeResolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void resolve_givenKnownExtension_shouldNotReadFile() throws Exception {
+        long sniffs = MimeTypeResolver.getSniffCount();
+
+        // the file does not exist, so it could not have been read.
+        assertThat(MimeTypeResolver.resolve(Paths.get("missing", "data.json")), equalTo("application/json"));
+        assertThat(MimeTypeResolver.resolve(Paths.get("missing", "TABLE.XLSX")),
+                equalTo("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+        assertThat(MimeTypeResolver.getSniffCount(), equalTo(sniffs));
+    }
+
+    @Test
+    public void resolve_givenUnknownExtension_shouldSniffOnceUntilModified() throws Exception {
+        Path file = temporaryFolder.newFile("series.csdb").toPath();
+        Files.write(file, "some text".getBytes(StandardCharsets.UTF_8));
+        long sniffs = MimeTypeResolver.getSniffCount();
+
+        String mimeType = MimeTypeResolver.resolve(file);
+        assertThat(MimeTypeResolver.resolve(file), equalTo(mimeType));
+        assertThat(MimeTypeResolver.getSniffCount(), equalTo(sniffs + 1));
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        MimeTypeResolver.resolve(file);
+        assertThat(MimeTypeResolver.getSniffCount(), equalTo(sniffs + 2));
+    }
+
+    @Test
+    public void resolveByName_givenUnknownFile_shouldNotReadFile() {
+        assertThat(MimeTypeResolver.resolveByName(Paths.get("missing", "data")),
+                equalTo(MimeTypeResolver.DEFAULT_MIME_TYPE));
+        assertThat(MimeTypeResolver.resolveByName(Paths.get("missing", "chart.png")), equalTo("image/png"));
+    }
+}
@@ -0,0 +1,261 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import com.github.onsdigital.zebedee.reader.Resource;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReaderResponseResponseUtilsTest {
+
+    private static final String FILE_CONTENT = "0123456789";
+    private static final FileTime AN_HOUR_AGO = FileTime.fromMillis(
+            System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private ServletOutputStream output;
+    private Series content;
+
+    @Before
+    public void setUp() throws IOException {
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        output = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(output);
+
+        content = new Series();
+        content.setUri(URI.create("/economy/timeseries/abcd"));
+    }
+
+    @Test
+    public void sendResponse_shouldSetHashOfContentAsEtag() throws IOException {
+        ReaderResponseResponseUtils.sendResponse(content, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response).setHeader("Etag", ContentUtil.hash(content));
+        verify(output).write(any(byte[].class));
+    }
+
+    @Test
+    public void sendResponse_givenMatchingIfNoneMatch_shouldSendNotModified() throws IOException {
+        when(request.getHeader("If-None-Match")).thenReturn("\"" + ContentUtil.hash(content) + "\"");
+
+        ReaderResponseResponseUtils.sendResponse(content, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void sendResponse_givenOtherIfNoneMatch_shouldSendContent() throws IOException {
+        when(request.getHeader("If-None-Match")).thenReturn("\"other\"");
+
+        ReaderResponseResponseUtils.sendResponse(content, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(output).write(any(byte[].class));
+    }
+
+    @Test
+    public void sendResponse_givenContentChangedAfterSending_shouldSendNewContent() throws IOException {
+        String firstEtag = ContentUtil.hash(content);
+        ReaderResponseResponseUtils.sendResponse(content, request, mock(HttpServletResponse.class));
+
+        content.setUri(URI.create("/economy/timeseries/efgh"));
+        when(request.getHeader("If-None-Match")).thenReturn("\"" + firstEtag + "\"");
+        ReaderResponseResponseUtils.sendResponse(content, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response).setHeader("Etag", ContentUtil.hash(content));
+    }
+
+    @Test
+    public void isNotModified_shouldMatchAnyListedOrWeakEtag() {
+        when(request.getHeader("If-None-Match")).thenReturn("\"a\", W/\"b\"");
+
+        assertThat(ReaderResponseResponseUtils.isNotModified(request, "b"), equalTo(true));
+        assertThat(ReaderResponseResponseUtils.isNotModified(request, "c"), equalTo(false));
+        assertThat(ReaderResponseResponseUtils.isNotModified(null, "b"), equalTo(false));
+    }
+
+    @Test
+    public void sendResponse_givenFileResource_shouldStreamWholeFile() throws IOException {
+        ByteArrayOutputStream body = captureBody();
+        Resource resource = fileResource();
+
+        ReaderResponseResponseUtils.sendResponse(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response).setHeader("Etag", DigestUtils.sha1Hex(FILE_CONTENT));
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        verify(response).setContentLengthLong(FILE_CONTENT.length());
+        assertThat(body.toString(StandardCharsets.UTF_8.name()), equalTo(FILE_CONTENT));
+    }
+
+    @Test
+    public void sendResponse_givenRange_shouldStreamPartialContent() throws IOException {
+        ByteArrayOutputStream body = captureBody();
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        ReaderResponseResponseUtils.sendResponse(fileResource(), request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 2-5/10");
+        verify(response).setContentLengthLong(4);
+        assertThat(body.toString(StandardCharsets.UTF_8.name()), equalTo("2345"));
+    }
+
+    @Test
+    public void sendResponse_givenRangeForStaleIfRange_shouldStreamWholeFile() throws IOException {
+        ByteArrayOutputStream body = captureBody();
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+        when(request.getHeader("If-Range")).thenReturn("\"stale\"");
+
+        ReaderResponseResponseUtils.sendResponse(fileResource(), request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        assertThat(body.toString(StandardCharsets.UTF_8.name()), equalTo(FILE_CONTENT));
+    }
+
+    @Test
+    public void sendResponse_givenRangeBeyondFile_shouldSendNotSatisfiable() throws IOException {
+        when(request.getHeader("Range")).thenReturn("bytes=20-");
+
+        ReaderResponseResponseUtils.sendResponse(fileResource(), request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader("Content-Range", "bytes */10");
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void sendResponse_givenFileWithMatchingIfNoneMatch_shouldSendNotModified() throws IOException {
+        Resource resource = fileResource();
+        when(request.getHeader("If-None-Match")).thenReturn("\"" + DigestUtils.sha1Hex(FILE_CONTENT) + "\"");
+
+        ReaderResponseResponseUtils.sendResponse(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void sendResponse_givenFileJustModified_shouldSendContentWithoutEtag() throws IOException {
+        Resource resource = fileResource();
+        Files.setLastModifiedTime(resource.getFile(), FileTime.fromMillis(System.currentTimeMillis()));
+        when(request.getHeader("If-None-Match")).thenReturn("*");
+
+        ReaderResponseResponseUtils.sendResponse(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response, never()).setHeader(eq("Etag"), any());
+    }
+
+    @Test
+    public void fileEtag_givenFileChanged_shouldChange() throws IOException {
+        Resource resource = fileResource();
+        String before = fileEtag(resource);
+
+        Files.write(resource.getFile(), "0123".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(resource.getFile(), AN_HOUR_AGO);
+
+        assertThat(fileEtag(resource), not(equalTo(before)));
+    }
+
+    @Test
+    public void fileEtag_givenSameContentModifiedAtAnotherTime_shouldNotChange() throws IOException {
+        Resource resource = fileResource();
+        String before = fileEtag(resource);
+
+        Files.setLastModifiedTime(resource.getFile(), FileTime.fromMillis(AN_HOUR_AGO.toMillis() + 60000));
+
+        assertThat(fileEtag(resource), equalTo(before));
+    }
+
+    @Test
+    public void getRange_shouldParseSingleRanges() {
+        when(request.getHeader("Range")).thenReturn("bytes=-3");
+        assertThat(ReaderResponseResponseUtils.getRange(request, "etag", 10), equalTo(new long[]{7, 9}));
+
+        when(request.getHeader("Range")).thenReturn("bytes=4-");
+        assertThat(ReaderResponseResponseUtils.getRange(request, "etag", 10), equalTo(new long[]{4, 9}));
+
+        when(request.getHeader("Range")).thenReturn("bytes=4-100");
+        assertThat(ReaderResponseResponseUtils.getRange(request, "etag", 10), equalTo(new long[]{4, 9}));
+
+        when(request.getHeader("Range")).thenReturn("bytes=0-1,4-5");
+        assertThat(ReaderResponseResponseUtils.getRange(request, "etag", 10), equalTo(null));
+
+        when(request.getHeader("Range")).thenReturn("bytes=5-2");
+        assertThat(ReaderResponseResponseUtils.getRange(request, "etag", 10), equalTo(null));
+    }
+
+    private Resource fileResource() throws IOException {
+        Path file = folder.newFile("data.csv").toPath();
+        Files.write(file, FILE_CONTENT.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, AN_HOUR_AGO);
+
+        Resource resource = new Resource();
+        resource.setName("data.csv");
+        resource.setMimeType("text/csv");
+        resource.setData(Files.newInputStream(file));
+        resource.setFile(file);
+        return resource;
+    }
+
+    private static String fileEtag(Resource resource) throws IOException {
+        Path file = resource.getFile();
+        return FileEtags.get(file, Files.readAttributes(file, BasicFileAttributes.class));
+    }
+
+    private ByteArrayOutputStream captureBody() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+        return body;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.onsdigital.zebedee.util;
+
+import org.junit.Test;
+
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileTimeUtilsTest {
+
+    @Test
+    public void isRacy_givenModifiedWithinWindow_shouldBeTrue() {
+        long readAt = 1_000_000L;
+
+        assertTrue(FileTimeUtils.isRacy(FileTime.fromMillis(readAt), readAt));
+        assertTrue(FileTimeUtils.isRacy(FileTime.fromMillis(readAt - FileTimeUtils.RACY_WINDOW_MS + 1), readAt));
+    }
+
+    @Test
+    public void isRacy_givenModifiedBeforeWindow_shouldBeFalse() {
+        long readAt = 1_000_000L;
+
+        assertFalse(FileTimeUtils.isRacy(FileTime.fromMillis(readAt - FileTimeUtils.RACY_WINDOW_MS), readAt));
+    }
+}